@@ -30,6 +30,7 @@ import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 import walkingkooka.visit.Visiting;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -172,24 +173,34 @@ public final class Badge extends TextParentNode {
 
     @Override
     public Badge normalize() {
-        return this.setChildren(
-            this.normalizeChildren()
-        );
+        return this.normalize0()
+            .cast();
     }
 
     // toHtml...........................................................................................................
 
     @Override
     boolean buildHtml(final boolean shouldIndent,
+                      final HtmlOptions options,
                       final IndentingPrinter html) {
             this.buildChildNodesHtml(
                 true,
+                options,
                 html
             );
 
         return true;
     }
 
+    @Override
+    void buildMinifiedHtml(final HtmlOptions options,
+                           final Appendable html) throws IOException {
+        this.buildMinifiedChildNodesHtml(
+            options,
+            html
+        );
+    }
+
     // Visitor .........................................................................................................
 
     @Override
@@ -283,6 +294,16 @@ public final class Badge extends TextParentNode {
 
     // Object ..........................................................................................................
 
+    @Override //
+    Object structuralValue() {
+        return this.badgeText;
+    }
+
+    @Override //
+    int hashCode0() {
+        return this.badgeText.hashCode();
+    }
+
     @Override //
     boolean equals0(final TextNode other) {
         return this.equals1((Badge) other);
@@ -346,6 +367,6 @@ public final class Badge extends TextParentNode {
         );
     }
 
-    private final static String BADGE_TEXT = "badgeText";
+    final static String BADGE_TEXT = "badgeText";
     private final static JsonPropertyName BADGE_TEXT_PROPERTY = JsonPropertyName.with(BADGE_TEXT);
 }
@@ -17,8 +17,11 @@
 
 package walkingkooka.tree.text;
 
+import java.io.IOException;
+import java.util.Objects;
+
 /**
- * Defines a single method that provides a means to convert this object to HTML.
+ * Defines methods that provide a means to convert this object to HTML.
  */
 public interface HasHtml {
 
@@ -26,4 +29,16 @@ public interface HasHtml {
      * Returns the HTML equivalent of this value.
      */
     String toHtml();
+
+    /**
+     * Writes the HTML equivalent of this value to the given {@link Appendable}, formatted using the {@link HtmlOptions}.
+     * The default ignores the {@link HtmlOptions} and appends {@link #toHtml()}.
+     */
+    default void toHtml(final Appendable html,
+                        final HtmlOptions options) throws IOException {
+        Objects.requireNonNull(html, "html");
+        Objects.requireNonNull(options, "options");
+
+        html.append(this.toHtml());
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.text.printer.PrinterException;
+
+import java.io.IOException;
+
+/**
+ * A {@link Printer} that prints directly to an {@link Appendable}, so indented HTML may be streamed rather than first
+ * built into a {@link String}. Any {@link IOException} is wrapped in a {@link PrinterException}, and
+ * {@link #rethrow(PrinterException)} may be used to unwrap it. Closing does not close the {@link Appendable}.
+ */
+final class HtmlAppendablePrinter implements Printer {
+
+    static HtmlAppendablePrinter with(final Appendable html,
+                                      final LineEnding lineEnding) {
+        return new HtmlAppendablePrinter(
+            html,
+            lineEnding
+        );
+    }
+
+    private HtmlAppendablePrinter(final Appendable html,
+                                  final LineEnding lineEnding) {
+        this.html = html;
+        this.lineEnding = lineEnding;
+    }
+
+    @Override
+    public void print(final CharSequence chars) throws PrinterException {
+        try {
+            this.html.append(chars);
+        } catch (final IOException cause) {
+            throw new PrinterException(
+                cause.getMessage(),
+                cause
+            );
+        }
+    }
+
+    @Override
+    public LineEnding lineEnding() {
+        return this.lineEnding;
+    }
+
+    @Override
+    public void flush() {
+        // nop
+    }
+
+    @Override
+    public void close() {
+        // nop the Appendable belongs to the caller
+    }
+
+    /**
+     * Rethrows the {@link IOException} wrapped by {@link #print(CharSequence)}, otherwise rethrows the given
+     * {@link PrinterException}.
+     */
+    static void rethrow(final PrinterException cause) throws IOException {
+        final Throwable wrapped = cause.getCause();
+        if (wrapped instanceof IOException) {
+            throw (IOException) wrapped;
+        }
+        throw cause;
+    }
+
+    private final Appendable html;
+
+    private final LineEnding lineEnding;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.html.toString();
+    }
+}
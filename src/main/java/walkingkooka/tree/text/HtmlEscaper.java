@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.io.IOException;
+
+/**
+ * Escapes text so it may be included within HTML in a single pass, using a table of the entity for each ASCII
+ * character that must be escaped.
+ */
+final class HtmlEscaper {
+
+    /**
+     * Returns the entity for the given character or null if it does not need escaping.
+     */
+    static String entity(final char c) {
+        return c < ENTITIES.length ?
+            ENTITIES[c] :
+            null;
+    }
+
+    /**
+     * Escapes the given text, returning the same {@link String} if nothing needs escaping.
+     */
+    static String escape(final String text) {
+        final int length = text.length();
+
+        int i = 0;
+        while (i < length && null == entity(text.charAt(i))) {
+            i++;
+        }
+
+        final String escaped;
+        if (i == length) {
+            escaped = text;
+        } else {
+            final StringBuilder html = new StringBuilder(length + 16);
+            int run = 0;
+
+            for (; i < length; i++) {
+                final String entity = entity(text.charAt(i));
+                if (null != entity) {
+                    html.append(
+                        text,
+                        run,
+                        i
+                    );
+                    html.append(entity);
+                    run = i + 1;
+                }
+            }
+
+            html.append(
+                text,
+                run,
+                length
+            );
+            escaped = html.toString();
+        }
+
+        return escaped;
+    }
+
+    /**
+     * Escapes the given text writing directly to the {@link Appendable}, runs of characters that do not need escaping
+     * are appended together.
+     */
+    static void escape(final String text,
+                       final Appendable html) throws IOException {
+        final int length = text.length();
+        int run = 0;
+
+        for (int i = 0; i < length; i++) {
+            final String entity = entity(text.charAt(i));
+            if (null != entity) {
+                html.append(
+                    text,
+                    run,
+                    i
+                );
+                html.append(entity);
+                run = i + 1;
+            }
+        }
+
+        html.append(
+            text,
+            run,
+            length
+        );
+    }
+
+    /**
+     * The entity for each character below the table length, or null when the character is not escaped.
+     */
+    private final static String[] ENTITIES = new String['>' + 1];
+
+    static {
+        ENTITIES[' '] = "&nbsp;";
+        ENTITIES['"'] = "&quot;";
+        ENTITIES['&'] = "&amp;";
+        ENTITIES['<'] = "&lt;";
+        ENTITIES['>'] = "&gt;";
+    }
+
+    private HtmlEscaper() {
+        throw new UnsupportedOperationException();
+    }
+}
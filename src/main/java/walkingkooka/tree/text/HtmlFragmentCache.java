@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the HTML rendered for each {@link TextNode}, keyed by the {@link TextNode} and {@link HtmlOptions}. Because
+ * {@link TextNode} are immutable and compared by value, rebuilding a parent around unchanged children reuses the HTML
+ * of those children. Fragments are only cached for {@link HtmlOptions#MINIFIED minified} children, as indented HTML
+ * depends on the depth of each node, with indented HTML only cached for the whole {@link TextNode}.
+ * <br>
+ * Each fragment is stored with a copy of its {@link TextNode} without a parent, so the cache never keeps an old tree
+ * reachable, at the cost of copying the subtree when a fragment is first cached. A hit compares the cached hashes of
+ * the {@link TextNode} and the copy without walking either, see {@link HtmlFragmentCacheKey}.
+ * <br>
+ * The total length of all fragments is kept below the memory budget, by discarding the least recently used fragments.
+ * Caching is opted into by setting a {@link HtmlFragmentCache} with {@link HtmlOptions#setFragmentCache(java.util.Optional)}.
+ */
+public final class HtmlFragmentCache {
+
+    /**
+     * Creates an empty {@link HtmlFragmentCache} which will hold fragments totalling no more than the given number of
+     * characters.
+     */
+    public static HtmlFragmentCache with(final int maxChars) {
+        if (maxChars <= 0) {
+            throw new IllegalArgumentException("Invalid maxChars " + maxChars + " <= 0");
+        }
+
+        return new HtmlFragmentCache(maxChars);
+    }
+
+    private HtmlFragmentCache(final int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Returns the HTML for the given {@link TextNode}, rendering and caching it if necessary.
+     */
+    String fragment(final TextNode node,
+                    final HtmlOptions options) throws IOException {
+        final HtmlFragmentCacheKey key = HtmlFragmentCacheKey.with(
+            node,
+            options
+        );
+
+        String html;
+        synchronized (this.fragments) {
+            html = this.fragments.get(key);
+        }
+
+        if (null == html) {
+            if (options.isMinified()) {
+                final StringBuilder b = new StringBuilder();
+                node.buildMinifiedHtml(
+                    options,
+                    b
+                );
+                html = b.toString();
+            } else {
+                html = node.buildIndentedHtml(options);
+            }
+
+            this.put(
+                key,
+                html
+            );
+        }
+
+        return html;
+    }
+
+    private void put(final HtmlFragmentCacheKey key,
+                     final String html) {
+        final int length = html.length();
+        final int maxChars = this.maxChars;
+
+        // too big to cache
+        if (length <= maxChars) {
+            final HtmlFragmentCacheKey detached = key.detach();
+
+            synchronized (this.fragments) {
+                final Map<HtmlFragmentCacheKey, String> fragments = this.fragments;
+
+                final String previous = fragments.put(
+                    detached,
+                    html
+                );
+
+                int chars = this.chars + length;
+                if (null != previous) {
+                    chars = chars - previous.length();
+                }
+
+                // discard the least recently used
+                final Iterator<String> eldest = fragments.values()
+                    .iterator();
+                while (chars > maxChars) {
+                    chars = chars - eldest.next()
+                        .length();
+                    eldest.remove();
+                }
+
+                this.chars = chars;
+            }
+        }
+    }
+
+    /**
+     * Removes all cached fragments.
+     */
+    public void clear() {
+        synchronized (this.fragments) {
+            this.fragments.clear();
+            this.chars = 0;
+        }
+    }
+
+    /**
+     * The number of cached fragments.
+     */
+    public int size() {
+        synchronized (this.fragments) {
+            return this.fragments.size();
+        }
+    }
+
+    /**
+     * The total length of all cached fragments.
+     */
+    public int chars() {
+        synchronized (this.fragments) {
+            return this.chars;
+        }
+    }
+
+    /**
+     * The memory budget, the total length of all cached fragments will not exceed this number of characters.
+     */
+    public int maxChars() {
+        return this.maxChars;
+    }
+
+    private final int maxChars;
+
+    /**
+     * Also used as the lock, an access ordered {@link LinkedHashMap} so the least recently used is first.
+     */
+    private final Map<HtmlFragmentCacheKey, String> fragments = new LinkedHashMap<>(
+        16,
+        0.75f,
+        true // accessOrder
+    );
+
+    private int chars;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        synchronized (this.fragments) {
+            return this.fragments.size() + " fragments " + this.chars + "/" + this.maxChars + " chars";
+        }
+    }
+}
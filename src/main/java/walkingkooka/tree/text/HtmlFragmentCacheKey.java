@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+/**
+ * The key for a fragment in a {@link HtmlFragmentCache}. The same {@link TextNode} renders different HTML for different
+ * {@link HtmlOptions}, so both are part of the key. Keys are {@link #detach() detached} before they are stored, so a
+ * cached fragment never keeps the tree holding its {@link TextNode} reachable through its parent.
+ */
+final class HtmlFragmentCacheKey {
+
+    static HtmlFragmentCacheKey with(final TextNode node,
+                                     final HtmlOptions options) {
+        return new HtmlFragmentCacheKey(
+            node,
+            options
+        );
+    }
+
+    private HtmlFragmentCacheKey(final TextNode node,
+                                 final HtmlOptions options) {
+        this.node = node;
+        this.options = options;
+    }
+
+    /**
+     * Returns a key holding a copy of the {@link TextNode} without a parent. Copying costs a walk of the subtree, but
+     * the hashes are computed first so the copy shares them rather than recomputing them.
+     */
+    HtmlFragmentCacheKey detach() {
+        final TextNode node = this.node;
+        node.hashCode();
+        node.structuralHash();
+
+        final TextNode detached = node.removeParent0();
+
+        return node == detached ?
+            this :
+            new HtmlFragmentCacheKey(
+                detached,
+                this.options
+            );
+    }
+
+    final TextNode node;
+
+    final HtmlOptions options;
+
+    // Object...........................................................................................................
+
+    /**
+     * {@link TextParentNode#hashCode()} is cached, so only the {@link HtmlOptions} is hashed for each lookup.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * this.node.hashCode() + this.options.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof HtmlFragmentCacheKey &&
+                this.equals0((HtmlFragmentCacheKey) other);
+    }
+
+    /**
+     * Nodes are compared using {@link TextNodeDiff#same(TextNode, TextNode)}, so parents are matched on their cached
+     * hashes without walking either subtree, even though stored nodes are detached copies.
+     */
+    private boolean equals0(final HtmlFragmentCacheKey other) {
+        return this.options.equals(other.options) &&
+            TextNodeDiff.same(
+                this.node,
+                other.node
+            );
+    }
+
+    @Override
+    public String toString() {
+        return this.node + " " + this.options;
+    }
+}
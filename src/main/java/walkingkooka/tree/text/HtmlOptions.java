@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.Indentation;
+import walkingkooka.text.LineEnding;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Options that control how {@link HasHtml#toHtml(Appendable, HtmlOptions)} writes HTML. {@link #MINIFIED} writes
+ * all tags on a single line without any indentation, while {@link #indented(Indentation, LineEnding)} matches the
+ * layout of {@link HasHtml#toHtml()}.
+ */
+public final class HtmlOptions {
+
+    /**
+     * Writes tags and text without any indentation or line endings.
+     */
+    public final static HtmlOptions MINIFIED = new HtmlOptions(
+        null,
+        null,
+        null,
+        null
+    );
+
+    /**
+     * The same layout as {@link HasHtml#toHtml()}.
+     */
+    public final static HtmlOptions INDENTED = new HtmlOptions(
+        Indentation.SPACES2,
+        LineEnding.SYSTEM,
+        null,
+        null
+    );
+
+    /**
+     * Factory that creates {@link HtmlOptions} that indents nested tags using the given {@link Indentation} and
+     * {@link LineEnding}.
+     */
+    public static HtmlOptions indented(final Indentation indentation,
+                                       final LineEnding lineEnding) {
+        return new HtmlOptions(
+            Objects.requireNonNull(indentation, "indentation"),
+            Objects.requireNonNull(lineEnding, "lineEnding"),
+            null,
+            null
+        );
+    }
+
+    private HtmlOptions(final Indentation indentation,
+                        final LineEnding lineEnding,
+                        final HtmlStyleClasses styleClasses,
+                        final HtmlFragmentCache fragmentCache) {
+        this.indentation = indentation;
+        this.lineEnding = lineEnding;
+        this.styleClasses = styleClasses;
+        this.fragmentCache = fragmentCache;
+    }
+
+    /**
+     * Returns true if no indentation or line endings are written.
+     */
+    public boolean isMinified() {
+        return null == this.indentation;
+    }
+
+    /**
+     * The {@link Indentation} for nested tags, which is empty when minified.
+     */
+    public Optional<Indentation> indentation() {
+        return Optional.ofNullable(this.indentation);
+    }
+
+    private final Indentation indentation;
+
+    /**
+     * The {@link LineEnding} written after nested tags, which is empty when minified.
+     */
+    public Optional<LineEnding> lineEnding() {
+        return Optional.ofNullable(this.lineEnding);
+    }
+
+    private final LineEnding lineEnding;
+
+    /**
+     * When present each {@link TextStyleNode} is written with a class name already assigned by the
+     * {@link HtmlStyleClasses} rather than an inline style.
+     */
+    public Optional<HtmlStyleClasses> styleClasses() {
+        return Optional.ofNullable(this.styleClasses);
+    }
+
+    /**
+     * Would be setter that returns a {@link HtmlOptions} with the given {@link HtmlStyleClasses}.
+     */
+    public HtmlOptions setStyleClasses(final Optional<HtmlStyleClasses> styleClasses) {
+        Objects.requireNonNull(styleClasses, "styleClasses");
+
+        final HtmlStyleClasses htmlStyleClasses = styleClasses.orElse(null);
+        return this.styleClasses == htmlStyleClasses ?
+            this :
+            new HtmlOptions(
+                this.indentation,
+                this.lineEnding,
+                htmlStyleClasses,
+                this.fragmentCache
+            );
+    }
+
+    /**
+     * Package private to avoid the {@link Optional} when rendering.
+     */
+    final HtmlStyleClasses styleClasses;
+
+    /**
+     * When present the HTML of each {@link TextNode} is cached and reused, by default nothing is cached.
+     */
+    public Optional<HtmlFragmentCache> fragmentCache() {
+        return Optional.ofNullable(this.fragmentCache);
+    }
+
+    /**
+     * Would be setter that returns a {@link HtmlOptions} with the given {@link HtmlFragmentCache}. Setting
+     * {@link Optional#empty()} opts out of caching.
+     */
+    public HtmlOptions setFragmentCache(final Optional<HtmlFragmentCache> fragmentCache) {
+        Objects.requireNonNull(fragmentCache, "fragmentCache");
+
+        final HtmlFragmentCache htmlFragmentCache = fragmentCache.orElse(null);
+        return this.fragmentCache == htmlFragmentCache ?
+            this :
+            new HtmlOptions(
+                this.indentation,
+                this.lineEnding,
+                this.styleClasses,
+                htmlFragmentCache
+            );
+    }
+
+    /**
+     * Package private to avoid the {@link Optional} when rendering.
+     */
+    final HtmlFragmentCache fragmentCache;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.indentation,
+            this.lineEnding,
+            this.styleClasses,
+            this.fragmentCache
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof HtmlOptions &&
+                this.equals0((HtmlOptions) other);
+    }
+
+    private boolean equals0(final HtmlOptions other) {
+        return Objects.equals(this.indentation, other.indentation) &&
+            Objects.equals(this.lineEnding, other.lineEnding) &&
+            this.styleClasses == other.styleClasses &&
+            this.fragmentCache == other.fragmentCache;
+    }
+
+    @Override
+    public String toString() {
+        String toString = this.isMinified() ?
+            "minified" :
+            "indented " +
+                CharSequences.quoteAndEscape(this.indentation.toString()) +
+                " " +
+                CharSequences.quoteAndEscape(this.lineEnding.toString());
+
+        final HtmlStyleClasses styleClasses = this.styleClasses;
+        if (null != styleClasses) {
+            toString = toString + " " + styleClasses;
+        }
+
+        final HtmlFragmentCache fragmentCache = this.fragmentCache;
+        if (null != fragmentCache) {
+            toString = toString + " " + fragmentCache;
+        }
+
+        return toString;
+    }
+}
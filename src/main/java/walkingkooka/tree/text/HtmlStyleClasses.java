@@ -0,0 +1,289 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Assigns a generated class name to each distinct {@link TextStyle}, so {@link TextStyleNode} may be written as
+ * <code>&lt;SPAN class="..."&gt;</code> with the CSS for each class written once in a <code>&lt;style&gt;</code> block,
+ * rather than repeating the same inline style on every SPAN. Class names are never reassigned, so the same instance may
+ * be used to render many batches, with a client caching the stylesheet and only receiving the rules for new classes.
+ * <br>
+ * At most the given maximum number of class names are assigned, after which any new {@link TextStyle} is written as an
+ * inline style. Rendering a {@link TextNode} with {@link HtmlOptions#styleClasses()} never assigns a class name, it only
+ * uses class names already assigned by {@link #toHtml(List, Appendable, HtmlOptions)}, which also writes their rules,
+ * or {@link #className(TextStyle)}, whose rules are available from {@link #styleSheet()}. Any other {@link TextStyle}
+ * is written as an inline style, so a class is never written without a rule.
+ */
+public final class HtmlStyleClasses {
+
+    /**
+     * Creates a new empty {@link HtmlStyleClasses}, where each class name is the prefix followed by a number, assigning
+     * at most maxClasses class names.
+     */
+    public static HtmlStyleClasses with(final String prefix,
+                                        final int maxClasses) {
+        CharPredicates.failIfNullOrEmptyOrInitialAndPartFalse(
+            prefix,
+            "prefix",
+            INITIAL,
+            PART
+        );
+        if (maxClasses <= 0) {
+            throw new IllegalArgumentException("Invalid maxClasses " + maxClasses + " <= 0");
+        }
+
+        return new HtmlStyleClasses(
+            prefix,
+            maxClasses
+        );
+    }
+
+    private final static CharPredicate INITIAL = CharPredicates.letter()
+        .and(
+            CharPredicates.ascii()
+        );
+
+    private final static CharPredicate PART = CharPredicates.letterOrDigit()
+        .and(
+            CharPredicates.ascii()
+        ).or(
+            CharPredicates.any("-_")
+        );
+
+    private HtmlStyleClasses(final String prefix,
+                             final int maxClasses) {
+        this.prefix = prefix;
+        this.maxClasses = maxClasses;
+    }
+
+    /**
+     * Returns the class name for the given {@link TextStyle}, assigning a new class name the first time a
+     * {@link TextStyle} is seen, or nothing if the maximum number of classes has been reached.
+     */
+    public Optional<String> className(final TextStyle style) {
+        Objects.requireNonNull(style, "style");
+
+        synchronized (this.classNames) {
+            return Optional.ofNullable(
+                this.className0(style)
+            );
+        }
+    }
+
+    private String className0(final TextStyle style) {
+        final Map<TextStyle, String> classNames = this.classNames;
+
+        String className = classNames.get(style);
+        if (null == className) {
+            final int size = classNames.size();
+            if (size < this.maxClasses) {
+                className = this.prefix + size;
+                classNames.put(
+                    style,
+                    className
+                );
+            }
+        }
+        return className;
+    }
+
+    /**
+     * Returns the class name previously assigned to the given {@link TextStyle}.
+     */
+    public Optional<String> get(final TextStyle style) {
+        Objects.requireNonNull(style, "style");
+
+        synchronized (this.classNames) {
+            return Optional.ofNullable(
+                this.classNames.get(style)
+            );
+        }
+    }
+
+    /**
+     * The number of classes assigned so far.
+     */
+    public int size() {
+        synchronized (this.classNames) {
+            return this.classNames.size();
+        }
+    }
+
+    /**
+     * Returns the CSS rules for all classes in the order they were assigned, which may be cached by a client.
+     */
+    public String styleSheet() {
+        final StringBuilder css = new StringBuilder();
+
+        synchronized (this.classNames) {
+            for (final Entry<TextStyle, String> styleAndClassName : this.classNames.entrySet()) {
+                rule(
+                    styleAndClassName.getValue(),
+                    styleAndClassName.getKey(),
+                    css
+                );
+            }
+        }
+
+        return css.toString();
+    }
+
+    /**
+     * Writes a single <code>&lt;style&gt;</code> block holding the rules for any {@link TextStyle} not seen by an
+     * earlier batch, followed by the HTML for each {@link TextNode} with class names replacing inline styles. The
+     * <code>&lt;style&gt;</code> block is omitted when all styles already have a class, or no more classes may be
+     * assigned.
+     */
+    public void toHtml(final List<TextNode> nodes,
+                       final Appendable html,
+                       final HtmlOptions options) throws IOException {
+        Objects.requireNonNull(nodes, "nodes");
+        Objects.requireNonNull(html, "html");
+        Objects.requireNonNull(options, "options");
+
+        final List<TextStyle> added = Lists.array();
+        final String css;
+
+        synchronized (this.classNames) {
+            this.collect(
+                nodes,
+                added
+            );
+
+            final StringBuilder b = new StringBuilder();
+            for (final TextStyle style : added) {
+                rule(
+                    this.classNames.get(style),
+                    style,
+                    b
+                );
+            }
+            css = b.toString();
+        }
+
+        if (false == added.isEmpty()) {
+            html.append("<style>");
+            html.append(css);
+            html.append("</style>");
+        }
+
+        final HtmlOptions withClasses = options.setStyleClasses(
+            Optional.of(this)
+        );
+        for (final TextNode node : nodes) {
+            node.toHtml(
+                html,
+                withClasses
+            );
+        }
+    }
+
+    /**
+     * Assigns class names to the {@link TextStyle} of every {@link TextStyleNode} in the order of the given
+     * {@link TextNode}, so the same nodes are always given the same class names. The rules for any new class are
+     * available from {@link #styleSheet()}.
+     */
+    void assign(final List<TextNode> nodes) {
+        synchronized (this.classNames) {
+            this.collect(
+                nodes,
+                Lists.array()
+            );
+        }
+    }
+
+    private void collect(final List<TextNode> nodes,
+                         final List<TextStyle> added) {
+        for (final TextNode node : nodes) {
+            this.collect(
+                node,
+                added
+            );
+        }
+    }
+
+    /**
+     * Assigns a class name to the {@link TextStyle} of every {@link TextStyleNode}, recording those that are new. Once
+     * the maximum is reached new {@link TextStyle} are not assigned or recorded.
+     */
+    private void collect(final TextNode node,
+                         final List<TextStyle> added) {
+        if (node.isStyle()) {
+            final TextStyle style = node.textStyle();
+            final int size = this.classNames.size();
+
+            this.className0(style);
+            if (size != this.classNames.size()) {
+                added.add(style);
+            }
+        }
+
+        for (final TextNode child : node.children()) {
+            this.collect(
+                child,
+                added
+            );
+        }
+    }
+
+    private static void rule(final String className,
+                             final TextStyle style,
+                             final StringBuilder css) {
+        css.append('.')
+            .append(className)
+            .append(" {")
+            .append(style.text())
+            .append('}');
+    }
+
+    /**
+     * The prefix of every generated class name.
+     */
+    private final String prefix;
+
+    /**
+     * The maximum number of class names that will be assigned, bounding the size of {@link #classNames}.
+     */
+    private final int maxClasses;
+
+    /**
+     * Also used as the lock, which is held while assigning class names.
+     */
+    private final Map<TextStyle, String> classNames = Maps.ordered();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        synchronized (this.classNames) {
+            return this.classNames.toString();
+        }
+    }
+}
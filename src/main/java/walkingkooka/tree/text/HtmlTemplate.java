@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The HTML of a {@link TextNode} rendered once, with holes for each {@link TextPlaceholderNode}. Rendering then only
+ * joins the fixed segments with the escaped value for each hole. The output is identical to replacing each
+ * {@link TextPlaceholderNode} with a {@link Text} holding the value and calling {@link TextNode#toHtml()}.
+ */
+public final class HtmlTemplate {
+
+    /**
+     * Renders the given {@link TextNode} into a {@link HtmlTemplate}.
+     */
+    public static HtmlTemplate with(final TextNode textNode) {
+        Objects.requireNonNull(textNode, "textNode");
+
+        final List<TextPlaceholderName> holes = Lists.array();
+
+        // placeholders are leaves so are visited in the same order they appear in the html
+        final String html = textNode.transform(
+            (n) -> {
+                TextNode node = n;
+                if (n.isPlaceholder()) {
+                    holes.add(
+                        n.<TextPlaceholderNode>cast()
+                            .value()
+                    );
+                    node = Text.with(HOLE);
+                }
+                return node;
+            }
+        ).toHtml();
+
+        final List<String> segments = Lists.array();
+        int start = 0;
+
+        for (; ; ) {
+            final int hole = html.indexOf(HOLE, start);
+            if (-1 == hole) {
+                break;
+            }
+            segments.add(
+                html.substring(
+                    start,
+                    hole
+                )
+            );
+            start = hole + HOLE.length();
+        }
+        segments.add(
+            html.substring(start)
+        );
+
+        final int holeCount = holes.size();
+        if (segments.size() != holeCount + 1) {
+            throw new IllegalArgumentException("TextNode contains reserved characters " + CharSequences.quoteAndEscape(HOLE));
+        }
+
+        return new HtmlTemplate(
+            segments.toArray(new String[holeCount + 1]),
+            holes.toArray(new TextPlaceholderName[holeCount]),
+            html.length() - holeCount * HOLE.length()
+        );
+    }
+
+    /**
+     * Marks the position of a hole in the rendered HTML, the characters are not escaped and are not valid text.
+     */
+    private final static String HOLE = "\u0000\uFFFF";
+
+    private HtmlTemplate(final String[] segments,
+                         final TextPlaceholderName[] holes,
+                         final int segmentsLength) {
+        this.segments = segments;
+        this.holes = holes;
+        this.segmentsLength = segmentsLength;
+    }
+
+    /**
+     * Renders the HTML with each hole replaced by the escaped value returned by the given {@link Function}.
+     * An {@link IllegalArgumentException} is thrown if a value is missing.
+     */
+    public String render(final Function<TextPlaceholderName, String> values) {
+        Objects.requireNonNull(values, "values");
+
+        final String[] segments = this.segments;
+        final TextPlaceholderName[] holes = this.holes;
+        final int count = holes.length;
+
+        final String[] escaped = new String[count];
+        int length = this.segmentsLength;
+
+        for (int i = 0; i < count; i++) {
+            final TextPlaceholderName placeholderName = holes[i];
+            final String value = values.apply(placeholderName);
+            if (null == value) {
+                throw new IllegalArgumentException("Missing value for placeholder " + placeholderName);
+            }
+
+            final String html = HtmlEscaper.escape(value);
+            escaped[i] = html;
+            length += html.length();
+        }
+
+        final StringBuilder html = new StringBuilder(length);
+        for (int i = 0; i < count; i++) {
+            html.append(segments[i]);
+            html.append(escaped[i]);
+        }
+        html.append(segments[count]);
+
+        return html.toString();
+    }
+
+    /**
+     * The fixed HTML before, between and after each hole, there is always one more segment than holes.
+     */
+    private final String[] segments;
+
+    /**
+     * The {@link TextPlaceholderName} for each hole, a name may appear more than once.
+     */
+    private final TextPlaceholderName[] holes;
+
+    /**
+     * The sum of the length of all segments, used to size the {@link StringBuilder} in {@link #render(Function)}.
+     */
+    private final int segmentsLength;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+
+        final String[] segments = this.segments;
+        final TextPlaceholderName[] holes = this.holes;
+        final int count = holes.length;
+
+        for (int i = 0; i < count; i++) {
+            b.append(segments[i]);
+            b.append("${");
+            b.append(holes[i]);
+            b.append('}');
+        }
+        b.append(segments[count]);
+
+        return b.toString();
+    }
+}
@@ -30,6 +30,7 @@ import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 import walkingkooka.visit.Visiting;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -160,9 +161,8 @@ public final class Hyperlink extends TextParentNode {
 
     @Override
     public Hyperlink normalize() {
-        return this.setChildren(
-            this.normalizeChildren()
-        );
+        return this.normalize0()
+            .cast();
     }
 
     // replace..........................................................................................................
@@ -181,6 +181,7 @@ public final class Hyperlink extends TextParentNode {
 
     @Override
     boolean buildHtml(final boolean shouldIndent,
+                      final HtmlOptions options,
                       final IndentingPrinter html) {
         if (shouldIndent) {
             html.lineStart();
@@ -198,6 +199,7 @@ public final class Hyperlink extends TextParentNode {
             html.print(">");
             this.buildChildNodesHtml(
                 true,
+                options,
                 html
             );
             html.print("</A>");
@@ -211,6 +213,25 @@ public final class Hyperlink extends TextParentNode {
         return true;
     }
 
+    @Override
+    void buildMinifiedHtml(final HtmlOptions options,
+                           final Appendable html) throws IOException {
+        html.append("<A href=\"");
+        html.append(this.url.toString());
+        html.append("\"");
+
+        if (this.children.isEmpty()) {
+            html.append("/>");
+        } else {
+            html.append(">");
+            this.buildMinifiedChildNodesHtml(
+                options,
+                html
+            );
+            html.append("</A>");
+        }
+    }
+
     // Visitor .........................................................................................................
 
     @Override
@@ -275,6 +296,16 @@ public final class Hyperlink extends TextParentNode {
 
     // Object ..........................................................................................................
 
+    @Override //
+    Object structuralValue() {
+        return this.url;
+    }
+
+    @Override //
+    int hashCode0() {
+        return this.url.hashCode();
+    }
+
     @Override //
     boolean equals0(final TextNode other) {
         return this.equals1((Hyperlink) other);
@@ -338,6 +369,6 @@ public final class Hyperlink extends TextParentNode {
         );
     }
 
-    private final static String URL = "url";
+    final static String URL = "url";
     private final static JsonPropertyName URL_PROPERTY = JsonPropertyName.with(URL);
 }
@@ -26,6 +26,7 @@ import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -96,8 +97,11 @@ public final class Text extends TextLeafNode<String> implements HasText {
     @Override
     void normalizeSiblings(final Iterator<TextNode> following,
                            final Consumer<TextNode> siblings) {
-        final StringBuilder text = new StringBuilder();
-        text.append(this.value);
+        // a StringBuilder is only created when two or more non empty Text need to be joined
+        Text first = this.isEmpty() ?
+            null :
+            this;
+        StringBuilder text = null;
 
         TextNode next = null;
 
@@ -107,15 +111,27 @@ public final class Text extends TextLeafNode<String> implements HasText {
                 break;
             }
 
-            text.append(
-                next.text()
-            );
+            if (false == next.isEmpty()) {
+                if (null == first) {
+                    first = next.cast();
+                } else {
+                    if (null == text) {
+                        text = new StringBuilder();
+                        text.append(first.value);
+                    }
+                    text.append(
+                        next.text()
+                    );
+                }
+            }
             next = null;
         }
 
-        if (text.length() > 0) {
+        if (null != first) {
             siblings.accept(
-                this.setText(text.toString())
+                null != text ?
+                    Text.with(text.toString()) :
+                    first
             );
         }
 
@@ -141,12 +157,21 @@ public final class Text extends TextLeafNode<String> implements HasText {
      */
     @Override
     public String toHtml() {
-        return this.text()
-            .replace("\"", "&quot;")
-            .replace("&", "&amp;")
-            .replace("<", "&lt;")
-            .replace(">", "&gt;")
-            .replace(" ", "&nbsp;");
+        return HtmlEscaper.escape(
+            this.text()
+        );
+    }
+
+    /**
+     * Escapes the text directly into the {@link Appendable} without creating an escaped {@link String}.
+     */
+    @Override //
+    void buildMinifiedHtml(final HtmlOptions options,
+                           final Appendable html) throws IOException {
+        HtmlEscaper.escape(
+            this.text(),
+            html
+        );
     }
 
     // JsonNodeContext..................................................................................................
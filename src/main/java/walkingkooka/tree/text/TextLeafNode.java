@@ -24,6 +24,7 @@ import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.text.printer.IndentingPrinter;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -61,7 +62,7 @@ abstract class TextLeafNode<V> extends TextNode implements HasValue<V> {
     final TextLeafNode<V> replaceValue(final V value) {
         final int index = this.index;
         return this.replace1(index, value)
-            .replaceChild(this.parent(), index)
+            .replaceChild(this.parentOrNull(), index)
             .cast();
     }
 
@@ -112,6 +113,30 @@ abstract class TextLeafNode<V> extends TextNode implements HasValue<V> {
         );
     }
 
+    // descendantNameBits...............................................................................................
+
+    @Override //
+    final int descendantNameBits() {
+        return 0;
+    }
+
+    // structuralHash...................................................................................................
+
+    /**
+     * Leaf values are small, so the hash is not cached.
+     */
+    @Override //
+    final long structuralHash() {
+        return this.structuralHash(this.value);
+    }
+
+    // nodeAtOffset.....................................................................................................
+
+    @Override //
+    final TextNode nodeAtOffset0(final int offset) {
+        return this;
+    }
+
     // attributes.......................................................................................................
 
     @Override
@@ -156,11 +181,18 @@ abstract class TextLeafNode<V> extends TextNode implements HasValue<V> {
 
     @Override //
     final boolean buildHtml(final boolean shouldIndent,
+                            final HtmlOptions options,
                             final IndentingPrinter html) {
         html.print(this.toHtml());
         return false;
     }
 
+    @Override //
+    void buildMinifiedHtml(final HtmlOptions options,
+                           final Appendable html) throws IOException {
+        html.append(this.toHtml());
+    }
+
     // Object ..........................................................................................................
 
     @Override
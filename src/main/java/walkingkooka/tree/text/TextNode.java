@@ -28,6 +28,8 @@ import walkingkooka.net.header.HasContentType;
 import walkingkooka.net.header.MediaType;
 import walkingkooka.text.HasText;
 import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.PrinterException;
+import walkingkooka.text.printer.Printers;
 import walkingkooka.text.printer.TreePrintable;
 import walkingkooka.tree.Node;
 import walkingkooka.tree.TraversableHasTextOffset;
@@ -38,14 +40,20 @@ import walkingkooka.tree.json.marshall.JsonNodeContext;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.select.NodeSelector;
 import walkingkooka.tree.select.parser.ExpressionNodeSelectorParserToken;
+import walkingkooka.visit.Visiting;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Base class that may be used to represent rich text, some nodes with styling textStyle and others with plain text.
@@ -85,12 +93,6 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
      */
     public final static Map<TextStylePropertyName<?>, Object> NO_ATTRIBUTES = Maps.empty();
 
-    /**
-     * Constant that represents no parent.
-     */
-    // must appear before EMPTY_TEXT otherwise EMPTY_TEXT.parent will be null (BAD)
-    private final static Optional<TextNode> NO_PARENT = Optional.empty();
-
     /**
      * Constant that holds a {@link Text} with no text.
      */
@@ -158,7 +160,6 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
      * Package private ctor to limit sub classing.
      */
     TextNode(final int index) {
-        this.parent = NO_PARENT;
         this.index = index;
     }
 
@@ -185,15 +186,15 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
 
     @Override
     public final Optional<TextNode> parent() {
-        return this.parent;
+        return Optional.ofNullable(this.parent);
     }
 
     /**
      * This setter is used to recreate the entire graph including parents of parents receiving new children.
      * It is only ever called by a parent node and is used to adopt new children.
      */
-    final TextNode setParent(final Optional<TextNode> parent, final int index) {
-        if (this.isBadge() && parent.isPresent()) {
+    final TextNode setParent(final TextNode parent, final int index) {
+        if (this.isBadge() && null != parent) {
             throw new IllegalArgumentException("Badges cannot have a parent");
         }
 
@@ -202,13 +203,24 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
         return copy;
     }
 
-    private Optional<TextNode> parent;
+    /**
+     * Returns the parent or null for a root, without creating the {@link Optional} returned by {@link #parent()}.
+     */
+    final TextNode parentOrNull() {
+        return this.parent;
+    }
+
+    /**
+     * The parent is kept without an {@link Optional} wrapper, which is only created by {@link #parent()}, a root has a null parent.
+     * It is only assigned by {@link #setParent(TextNode, int)} upon the new copy before it is returned.
+     */
+    private TextNode parent;
 
     /**
      * Sub classes should call this and cast.
      */
     final TextNode removeParent0() {
-        return this.isRoot() ?
+        return null == this.parent ?
             this :
             this.replace(NO_INDEX);
     }
@@ -223,11 +235,10 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
      * Only ever called after during the completion of a setChildren, basically used to recreate the parent graph
      * containing this child.
      */
-    final TextNode replaceChild(final Optional<TextNode> previousParent,
+    final TextNode replaceChild(final TextNode previousParent,
                                 final int childIndex) {
-        return previousParent.isPresent() ?
-            previousParent.get()
-                .setChild(this, childIndex)
+        return null != previousParent ?
+            previousParent.setChild(this, childIndex)
                 .children()
                 .get(childIndex) :
             this;
@@ -260,6 +271,61 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
     abstract void normalizeSiblings(final Iterator<TextNode> following,
                                     final Consumer<TextNode> siblings);
 
+    // HasTextOffset....................................................................................................
+
+    /**
+     * Uses the cached child offsets of each ancestor, rather than summing the text of all previous siblings.
+     */
+    @Override
+    public final int textOffset() {
+        return this.root()
+            .offsetOf(this);
+    }
+
+    /**
+     * Returns the leaf {@link TextNode} that contains the character at the given offset, or empty if the offset
+     * is past the end of the text. Nodes without text such as {@link Image} are never returned.
+     */
+    public final Optional<TextNode> nodeAtOffset(final int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid offset " + offset + " < 0");
+        }
+
+        return Optional.ofNullable(
+            offset < this.textLength() ?
+                this.nodeAtOffset0(offset) :
+                null
+        );
+    }
+
+    /**
+     * Sub-classes must return the node holding the given offset which has already been range checked.
+     */
+    abstract TextNode nodeAtOffset0(final int offset);
+
+    /**
+     * Returns the text offset of the given descendant relative to this {@link TextNode}. The given {@link TextNode}
+     * must have been retrieved from this node, an equal node from another tree will fail.
+     */
+    public final int offsetOf(final TextNode node) {
+        Objects.requireNonNull(node, "node");
+
+        int offset = 0;
+        TextNode current = node;
+
+        while (this != current) {
+            final TextParentNode parent = (TextParentNode) current.parentOrNull();
+            if (null == parent) {
+                throw new IllegalArgumentException("Node is not a descendant of " + this);
+            }
+
+            offset += parent.childTextOffsets()[current.index];
+            current = parent;
+        }
+
+        return offset;
+    }
+
     // setAttributes....................................................................................................
 
     /**
@@ -355,6 +421,85 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
         );
     }
 
+    // Styleable deep...................................................................................................
+
+    /**
+     * Merges the given {@link TextStyle} with every {@link TextStyleNode} in this tree, nodes without a style are
+     * not wrapped. If nothing changed this node is returned, even when it has a parent, otherwise the result is a root.
+     */
+    public final TextNode mergeDeep(final TextStyle textStyle) {
+        Objects.requireNonNull(textStyle, "textStyle");
+
+        return this.styleDeep(
+            (n) -> n.merge(textStyle)
+        );
+    }
+
+    /**
+     * Removes the given {@link TextStylePropertyName} from every {@link TextStyleNode} in this tree.
+     */
+    public final TextNode removeDeep(final TextStylePropertyName<?> propertyName) {
+        Objects.requireNonNull(propertyName, "propertyName");
+
+        return this.styleDeep(
+            (n) -> n.remove(propertyName)
+        );
+    }
+
+    /**
+     * Performs a {@link #removeIf(TextStylePropertyName, Object)} upon every {@link TextStyleNode} in this tree.
+     */
+    public final <T> TextNode removeIfDeep(final TextStylePropertyName<T> propertyName,
+                                           final T propertyValue) {
+        Objects.requireNonNull(propertyName, "propertyName");
+        Objects.requireNonNull(propertyValue, "propertyValue");
+
+        return this.styleDeep(
+            (n) -> (TextNode) n.removeIf(
+                propertyName,
+                propertyValue
+            )
+        );
+    }
+
+    /**
+     * Performs a {@link #replaceIf(TextStylePropertyName, Object, Object)} upon every {@link TextStyleNode} in this tree.
+     */
+    public final <T> TextNode replaceIfDeep(final TextStylePropertyName<T> propertyName,
+                                            final T oldPropertyValue,
+                                            final T newPropertyValue) {
+        Objects.requireNonNull(propertyName, "propertyName");
+        Objects.requireNonNull(oldPropertyValue, "oldPropertyValue");
+        Objects.requireNonNull(newPropertyValue, "newPropertyValue");
+
+        return this.styleDeep(
+            (n) -> (TextNode) n.replaceIf(
+                propertyName,
+                oldPropertyValue,
+                newPropertyValue
+            )
+        );
+    }
+
+    /**
+     * Walks like {@link #transform(Function)} to apply the given function to each {@link TextStyleNode} in a single
+     * pass, so each changed parent is only rebuilt once. If nothing changed this node is returned, even when it has a
+     * parent, otherwise the result is a root.
+     */
+    private TextNode styleDeep(final Function<TextNode, TextNode> style) {
+        final TextNode transformed = transform0(
+            this,
+            (n) -> n.isStyle() ?
+                style.apply(n) :
+                n,
+            Integer.MAX_VALUE
+        );
+
+        return this == transformed ?
+            this :
+            transformed.removeParent0();
+    }
+
     // is...............................................................................................................
 
     /**
@@ -411,8 +556,107 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
      * Internal method appends the HTML for this {@link TextNode}.
      */
     abstract boolean buildHtml(final boolean shouldIndent,
+                               final HtmlOptions options,
                                final IndentingPrinter html);
 
+    /**
+     * Writes the HTML for this {@link TextNode}. Minified HTML is streamed directly to the {@link Appendable}
+     * skipping the {@link IndentingPrinter}, while indented HTML is streamed through an {@link IndentingPrinter}
+     * wrapping the {@link Appendable}.
+     */
+    @Override
+    public final void toHtml(final Appendable html,
+                             final HtmlOptions options) throws IOException {
+        Objects.requireNonNull(html, "html");
+        Objects.requireNonNull(options, "options");
+
+        final HtmlFragmentCache fragmentCache = options.fragmentCache;
+        if (null != fragmentCache) {
+            html.append(
+                fragmentCache.fragment(
+                    this,
+                    options
+                )
+            );
+        } else if (options.isMinified()) {
+            this.buildMinifiedHtml(
+                options,
+                html
+            );
+        } else {
+            try (final IndentingPrinter printer = HtmlAppendablePrinter.with(
+                    html,
+                    options.lineEnding()
+                        .get()
+                ).indenting(
+                    options.indentation()
+                        .get()
+                )
+            ) {
+                this.buildHtml(
+                    false, // shouldIndent
+                    options,
+                    printer
+                );
+            } catch (final PrinterException cause) {
+                HtmlAppendablePrinter.rethrow(cause);
+            }
+        }
+    }
+
+    /**
+     * Builds the HTML for this {@link TextNode} using the indentation and line ending from the given indented
+     * {@link HtmlOptions}.
+     */
+    final String buildIndentedHtml(final HtmlOptions options) {
+        final StringBuilder html = new StringBuilder();
+
+        try (final IndentingPrinter printer = Printers.stringBuilder(
+                html,
+                options.lineEnding()
+                    .get()
+            ).indenting(
+                options.indentation()
+                    .get()
+            )
+        ) {
+            this.buildHtml(
+                false, // shouldIndent
+                options,
+                printer
+            );
+        }
+
+        return html.toString();
+    }
+
+    /**
+     * Internal method that writes the HTML for this {@link TextNode} without any indentation or line endings.
+     */
+    abstract void buildMinifiedHtml(final HtmlOptions options,
+                                    final Appendable html) throws IOException;
+
+    /**
+     * Writes the minified HTML for this {@link TextNode}, reusing any fragment in the {@link HtmlFragmentCache}.
+     */
+    final void buildMinifiedHtmlOrFragment(final HtmlOptions options,
+                                           final Appendable html) throws IOException {
+        final HtmlFragmentCache fragmentCache = options.fragmentCache;
+        if (null == fragmentCache) {
+            this.buildMinifiedHtml(
+                options,
+                html
+            );
+        } else {
+            html.append(
+                fragmentCache.fragment(
+                    this,
+                    options
+                )
+            );
+        }
+    }
+
     // helper............................................................................................................
 
     /**
@@ -427,19 +671,488 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
     @Override
     public abstract int hashCode();
 
+    /**
+     * The hash codes of {@link TextParentNode} are cached, so comparing them first avoids walking both trees when
+     * they are different.
+     */
     @Override
     public final boolean equals(final Object other) {
         return this == other ||
             null != other && this.getClass() == other.getClass() &&
+                this.hashCode() == other.hashCode() &&
                 this.equals0(Cast.to(other));
     }
 
     abstract boolean equals0(final TextNode other);
 
+    // descendantsNamed.................................................................................................
+
+    /**
+     * Returns all descendants with the given {@link TextNodeName} in pre-order. Subtrees that do not contain the
+     * name are skipped using the lazily computed {@link #descendantNameBits()}.
+     */
+    public final List<TextNode> descendantsNamed(final TextNodeName name) {
+        Objects.requireNonNull(name, "name");
+
+        return this.descendantsWithBit(
+            nameBit(name),
+            Integer.MAX_VALUE
+        );
+    }
+
+    /**
+     * Returns the first descendant in pre-order with the given {@link TextNodeName}.
+     */
+    public final Optional<TextNode> firstDescendantNamed(final TextNodeName name) {
+        Objects.requireNonNull(name, "name");
+
+        return this.firstDescendantWithBit(
+            nameBit(name)
+        );
+    }
+
+    /**
+     * Returns all descendants of the given {@link TextNode} sub-class in pre-order, eg all {@link TextPlaceholderNode}.
+     * Passing {@link TextNode} returns every descendant, and any other class that is not a {@link TextNode} sub-class
+     * from this package fails with an {@link IllegalArgumentException}.
+     */
+    public final <T extends TextNode> List<T> descendantsOfType(final Class<T> type) {
+        Objects.requireNonNull(type, "type");
+
+        return Cast.to(
+            this.descendantsWithBit(
+                typeBits(type),
+                Integer.MAX_VALUE
+            )
+        );
+    }
+
+    /**
+     * Returns the first descendant in pre-order of the given {@link TextNode} sub-class, eg the first {@link Image}.
+     * The accepted classes are the same as {@link #descendantsOfType(Class)}.
+     */
+    public final <T extends TextNode> Optional<T> firstDescendantOfType(final Class<T> type) {
+        Objects.requireNonNull(type, "type");
+
+        return Cast.to(
+            this.firstDescendantWithBit(
+                typeBits(type)
+            )
+        );
+    }
+
+    private Optional<TextNode> firstDescendantWithBit(final int bits) {
+        final List<TextNode> found = this.descendantsWithBit(
+            bits,
+            1
+        );
+
+        return Optional.ofNullable(
+            found.isEmpty() ?
+                null :
+                found.get(0)
+        );
+    }
+
+    private List<TextNode> descendantsWithBit(final int bits,
+                                              final int max) {
+        final List<TextNode> found = Lists.array();
+
+        if (0 != (this.descendantNameBits() & bits)) {
+            this.descendantsWithBit0(
+                bits,
+                max,
+                found
+            );
+        }
+
+        return Lists.readOnly(found);
+    }
+
+    /**
+     * Only children whose descendants include any of the bits are visited, returns false once max nodes have been found.
+     */
+    private boolean descendantsWithBit0(final int bits,
+                                        final int max,
+                                        final List<TextNode> found) {
+        boolean more = true;
+
+        for (final TextNode child : this.children()) {
+            if (0 != (bits & child.nameBit())) {
+                found.add(child);
+                more = found.size() < max;
+                if (false == more) {
+                    break;
+                }
+            }
+            if (0 != (child.descendantNameBits() & bits)) {
+                more = child.descendantsWithBit0(
+                    bits,
+                    max,
+                    found
+                );
+                if (false == more) {
+                    break;
+                }
+            }
+        }
+
+        return more;
+    }
+
+    /**
+     * Returns a bit mask with a bit set for the {@link TextNodeName} of every descendant.
+     */
+    abstract int descendantNameBits();
+
+    /**
+     * Returns the bit for this {@link TextNode}.
+     */
+    final int nameBit() {
+        return typeBit(this.getClass());
+    }
+
+    /**
+     * Maps the {@link TextNodeName} of each {@link TextNode} sub-class to a bit, unknown names return 0.
+     */
+    static int nameBit(final TextNodeName name) {
+        final int bit;
+
+        if (Text.NAME.equals(name)) {
+            bit = TEXT_BIT;
+        } else if (TextStyleNode.NAME.equals(name)) {
+            bit = TEXT_STYLE_NODE_BIT;
+        } else if (Hyperlink.NAME.equals(name)) {
+            bit = HYPERLINK_BIT;
+        } else if (Image.NAME.equals(name)) {
+            bit = IMAGE_BIT;
+        } else if (TextPlaceholderNode.NAME.equals(name)) {
+            bit = TEXT_PLACEHOLDER_NODE_BIT;
+        } else if (Badge.NAME.equals(name)) {
+            bit = BADGE_BIT;
+        } else if (Flag.NAME.equals(name)) {
+            bit = FLAG_BIT;
+        } else if (TextStyleNameNode.NAME.equals(name)) {
+            bit = TEXT_STYLE_NAME_NODE_BIT;
+        } else {
+            bit = 0;
+        }
+
+        return bit;
+    }
+
+    /**
+     * Maps each {@link TextNode} sub-class to the same bit as its {@link TextNodeName}, other classes return 0.
+     */
+    static int typeBit(final Class<?> type) {
+        final int bit;
+
+        if (Text.class == type) {
+            bit = TEXT_BIT;
+        } else if (TextStyleNode.class == type) {
+            bit = TEXT_STYLE_NODE_BIT;
+        } else if (Hyperlink.class == type) {
+            bit = HYPERLINK_BIT;
+        } else if (Image.class == type) {
+            bit = IMAGE_BIT;
+        } else if (TextPlaceholderNode.class == type) {
+            bit = TEXT_PLACEHOLDER_NODE_BIT;
+        } else if (Badge.class == type) {
+            bit = BADGE_BIT;
+        } else if (Flag.class == type) {
+            bit = FLAG_BIT;
+        } else if (TextStyleNameNode.class == type) {
+            bit = TEXT_STYLE_NAME_NODE_BIT;
+        } else {
+            bit = 0;
+        }
+
+        return bit;
+    }
+
+    /**
+     * Similar to {@link #typeBit(Class)} but the abstract {@link TextNode}, {@link TextParentNode} and
+     * {@link TextLeafNode} return the bits of all their sub-classes, and any other class fails.
+     */
+    static int typeBits(final Class<?> type) {
+        final int bits;
+
+        if (TextNode.class == type) {
+            bits = NAME_BITS;
+        } else if (TextParentNode.class == type) {
+            bits = PARENT_BITS;
+        } else if (TextLeafNode.class == type) {
+            bits = NAME_BITS & ~PARENT_BITS;
+        } else {
+            bits = typeBit(type);
+            if (0 == bits) {
+                throw new IllegalArgumentException("Unknown type " + type.getName());
+            }
+        }
+
+        return bits;
+    }
+
+    private final static int TEXT_BIT = 1;
+    private final static int TEXT_STYLE_NODE_BIT = 1 << 1;
+    private final static int HYPERLINK_BIT = 1 << 2;
+    private final static int IMAGE_BIT = 1 << 3;
+    private final static int TEXT_PLACEHOLDER_NODE_BIT = 1 << 4;
+    private final static int BADGE_BIT = 1 << 5;
+    private final static int FLAG_BIT = 1 << 6;
+    private final static int TEXT_STYLE_NAME_NODE_BIT = 1 << 7;
+
+    /**
+     * All name bits, the remaining high bits are free for flags.
+     */
+    final static int NAME_BITS = (TEXT_STYLE_NAME_NODE_BIT << 1) - 1;
+
+    private final static int PARENT_BITS = TEXT_STYLE_NODE_BIT | HYPERLINK_BIT | BADGE_BIT | TEXT_STYLE_NAME_NODE_BIT;
+
+    // transform........................................................................................................
+
+    /**
+     * Applies the given function to every node in post-order, so the function always receives a node with its
+     * children already transformed. Each changed parent is rebuilt once. Because nodes are immutable and hold their
+     * parent, rebuilding a parent gives each of its children a new parent, which copies the entire subtree of every
+     * unchanged sibling, so any change costs time proportional to the size of the whole tree. Only when the function
+     * returns the same node for every node of a root is the root itself returned without any copying.
+     * <br>
+     * The walk uses an explicit stack rather than recursion, so it adds no call depth of its own, although rebuilding
+     * a changed parent still attaches its children recursively. The result is always a root, even when this node has a
+     * parent and the function changes nothing.
+     */
+    public final TextNode transform(final Function<TextNode, TextNode> transformer) {
+        return this.transform(
+            transformer,
+            Integer.MAX_VALUE
+        );
+    }
+
+    /**
+     * Similar to {@link #transform(Function)} but the children of parents with a child count of at least the
+     * given threshold are transformed using a parallel {@link Stream}. The function must be thread safe.
+     */
+    public final TextNode transform(final Function<TextNode, TextNode> transformer,
+                                    final int parallelThreshold) {
+        Objects.requireNonNull(transformer, "transformer");
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Invalid parallelThreshold " + parallelThreshold + " < 1");
+        }
+
+        return transform0(
+            this,
+            transformer,
+            parallelThreshold
+        ).removeParent0();
+    }
+
+    /**
+     * Iterative post-order walk, the only recursion happens when the children of a wide parent are handed to a
+     * parallel {@link Stream}.
+     */
+    private static TextNode transform0(final TextNode root,
+                                       final Function<TextNode, TextNode> transformer,
+                                       final int parallelThreshold) {
+        final List<TextNode> nodes = Lists.array();
+        final List<List<TextNode>> transformed = Lists.array();
+
+        nodes.add(root);
+        transformed.add(Lists.array());
+
+        TextNode result = null;
+
+        while (false == nodes.isEmpty()) {
+            final int top = nodes.size() - 1;
+            final TextNode node = nodes.get(top);
+            final List<TextNode> children = node.children();
+            final List<TextNode> transformedChildren = transformed.get(top);
+            final int count = children.size();
+
+            if (count >= parallelThreshold && transformedChildren.isEmpty()) {
+                transformedChildren.addAll(
+                    children.parallelStream()
+                        .map(
+                            c -> transform0(
+                                c,
+                                transformer,
+                                parallelThreshold
+                            )
+                        ).collect(Collectors.toList())
+                );
+            }
+
+            final int next = transformedChildren.size();
+            if (next < count) {
+                nodes.add(children.get(next));
+                transformed.add(Lists.array());
+                continue;
+            }
+
+            nodes.remove(top);
+            transformed.remove(top);
+
+            result = transformNode(
+                node,
+                transformedChildren,
+                transformer
+            );
+
+            if (top > 0) {
+                transformed.get(top - 1)
+                    .add(result);
+            }
+        }
+
+        return result;
+    }
+
+    private static TextNode transformNode(final TextNode node,
+                                          final List<TextNode> transformedChildren,
+                                          final Function<TextNode, TextNode> transformer) {
+        TextNode replaced = node;
+
+        final List<TextNode> children = node.children();
+        final int count = children.size();
+        for (int i = 0; i < count; i++) {
+            if (children.get(i) != transformedChildren.get(i)) {
+                // replace0 avoids setChildren rebuilding the ancestors of this node which are being transformed.
+                replaced = node.<TextParentNode>cast()
+                    .replace0(
+                        NO_INDEX,
+                        transformedChildren
+                    );
+                break;
+            }
+        }
+
+        final TextNode result = transformer.apply(replaced);
+        if (null == result) {
+            throw new NullPointerException("Transformer returned null for " + replaced);
+        }
+        return result;
+    }
+
+    // diff.............................................................................................................
+
+    /**
+     * Returns the {@link TextNodeEdit edits} that when applied in order to this {@link TextNode} produce the given
+     * {@link TextNode}. The paths of the edits are child indices relative to this node. Parents are compared using
+     * their cached {@link #structuralHash()} and {@link #hashCode()} without walking them, so unchanged subtrees are
+     * skipped at once, and the time taken is proportional to the changed region rather than the whole document, once
+     * the hashes of both trees have been computed.
+     */
+    public final List<TextNodeEdit> diff(final TextNode other) {
+        Objects.requireNonNull(other, "other");
+
+        return TextNodeDiff.diff(
+            this,
+            other
+        );
+    }
+
+    /**
+     * Applies the given {@link TextNodeEdit edits} in order, typically returned by {@link #diff(TextNode)}.
+     */
+    public final TextNode apply(final List<TextNodeEdit> edits) {
+        Objects.requireNonNull(edits, "edits");
+
+        TextNode node = this;
+        for (final TextNodeEdit edit : edits) {
+            node = edit.apply(node);
+        }
+        return node;
+    }
+
+    // toHtmlUpdates....................................................................................................
+
+    /**
+     * Returns the HTML of only the elements that changed between this {@link TextNode} and the given
+     * {@link TextNode}, so a client holding the HTML of this node may patch it rather than replace it all.
+     * Each update holds DOM element child indices and minified HTML, see {@link TextNodeHtmlUpdate}.
+     * Unchanged subtrees are skipped using the same comparison as {@link #diff(TextNode)}.
+     */
+    public final List<TextNodeHtmlUpdate> toHtmlUpdates(final TextNode after) {
+        Objects.requireNonNull(after, "after");
+
+        return TextNodeHtmlUpdate.updates(
+            this,
+            after
+        );
+    }
+
+    // structuralHash...................................................................................................
+
+    /**
+     * A 64 bit hash of this node and all descendants. Unlike {@link #hashCode()} it is not built from
+     * {@link String#hashCode()}, whose collisions are common, so {@link #diff(TextNode)} treats parents with equal
+     * structural hashes and equal {@link #hashCode()} as the same subtree without walking them.
+     */
+    abstract long structuralHash();
+
+    /**
+     * Starts the structural hash for this node with its {@link #nameBit()} and the given value.
+     */
+    final long structuralHash(final Object value) {
+        long hash = structuralHash(
+            FNV_OFFSET_BASIS,
+            this.nameBit()
+        );
+
+        final String chars = value.toString();
+        final int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ chars.charAt(i)) * FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Adds the given value to a structural hash.
+     */
+    static long structuralHash(final long hash,
+                               final long value) {
+        final long mixed = (hash ^ value) * FNV_PRIME;
+        return mixed ^ (mixed >>> 32);
+    }
+
+    private final static long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private final static long FNV_PRIME = 0x100000001b3L;
+
     // TextNodeVisitor..................................................................................................
 
     abstract void accept(final TextNodeVisitor visitor);
 
+    // descendants......................................................................................................
+
+    /**
+     * Returns a {@link Stream} of all descendants of this {@link TextNode} in pre-order, this node is not included.
+     */
+    public final Stream<TextNode> descendants() {
+        return this.descendants(
+            (n) -> Visiting.CONTINUE
+        );
+    }
+
+    /**
+     * Returns a {@link Stream} of descendants of this {@link TextNode} in pre-order, this node is not included.
+     * The children of a node are skipped when the given function returns {@link Visiting#SKIP} for that node.
+     * The traversal does not recurse, so very deep trees are safe, and the {@link Stream} may be made parallel.
+     */
+    public final Stream<TextNode> descendants(final Function<TextNode, Visiting> visiting) {
+        Objects.requireNonNull(visiting, "visiting");
+
+        return StreamSupport.stream(
+            TextNodeDescendantsSpliterator.with(
+                this.children(),
+                visiting
+            ),
+            false // parallel
+        );
+    }
+
     // JsonNodeMarshallContext.................................................................................................
 
     abstract JsonNode marshall(final JsonNodeMarshallContext context);
@@ -500,47 +1213,63 @@ public abstract class TextNode implements Node<TextNode, TextNodeName, TextStyle
 
     // JsonNode.........................................................................................................
 
+    final static String BADGE_TYPE_NAME = "badge";
+
+    final static String FLAG_TYPE_NAME = "flag";
+
+    final static String HYPERLINK_TYPE_NAME = "hyperlink";
+
+    final static String IMAGE_TYPE_NAME = "image";
+
+    final static String TEXT_TYPE_NAME = "text";
+
+    final static String TEXT_PLACEHOLDER_TYPE_NAME = "text-placeholder";
+
+    final static String TEXT_STYLE_NODE_TYPE_NAME = "text-style-node";
+
+    final static String TEXT_STYLE_NAME_TYPE_NAME = "text-styleName";
+
     static {
         JsonNodeContext.register(
-            "badge",
+            BADGE_TYPE_NAME,
             Badge::unmarshallBadge,
             Badge::marshall,
             Badge.class
         );
 
         JsonNodeContext.register(
-            "flag",
+            FLAG_TYPE_NAME,
             Flag::unmarshallFlag,
             Flag::marshall,
             Flag.class
         );
 
-        JsonNodeContext.register("hyperlink",
+        JsonNodeContext.register(HYPERLINK_TYPE_NAME,
             Hyperlink::unmarshallHyperLink,
             Hyperlink::marshall,
             Hyperlink.class);
 
-        JsonNodeContext.register("image",
+        JsonNodeContext.register(IMAGE_TYPE_NAME,
             Image::unmarshallImage,
             Image::marshall,
             Image.class);
 
-        JsonNodeContext.register("text",
+        JsonNodeContext.register(TEXT_TYPE_NAME,
             Text::unmarshallText,
             Text::marshall,
             Text.class);
 
-        JsonNodeContext.register("text-placeholder",
+        JsonNodeContext.register(TEXT_PLACEHOLDER_TYPE_NAME,
             TextPlaceholderNode::unmarshallTextPlaceholderNode,
             TextPlaceholderNode::marshall,
             TextPlaceholderNode.class);
 
-        JsonNodeContext.register("text-style-node",
+        JsonNodeContext.register(TEXT_STYLE_NODE_TYPE_NAME,
             TextStyleNode::unmarshallTextStyleNode,
             TextStyleNode::marshall,
             TextStyleNode.class);
 
-        JsonNodeContext.register("text-styleName",
+        JsonNodeContext.register(TEXT_STYLE_NAME_TYPE_NAME,
             TextStyleNameNode::unmarshallTextStyleNameNode,
             TextStyleNameNode::marshall,
             TextStyleNameNode.class);
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A read only archive of {@link TextNode} created by {@link TextNodeArchiveBuilder}. Opening reads only the footer and
+ * the index holding the styles and keys, each {@link TextNode} is read from the {@link TextNodeArchiveSource} and
+ * decoded only when requested by key or position. All {@link TextStyleNode} in the archive sharing a style share the
+ * same style properties.
+ */
+public final class TextNodeArchive {
+
+    /**
+     * The footer holding the index offset as a big endian long.
+     */
+    final static int FOOTER_LENGTH = 8;
+
+    public static TextNodeArchive with(final TextNodeArchiveSource source,
+                                       final JsonNodeUnmarshallContext context) throws IOException {
+        Objects.requireNonNull(source, "source");
+
+        final TextNodeBinaryReader reader = TextNodeBinaryReader.with(context);
+
+        final long size = source.size();
+        if (size < 1 + FOOTER_LENGTH) {
+            throw new IllegalArgumentException("Invalid archive " + size + " byte(s)");
+        }
+
+        TextNodeBinaryReader.version(
+            read(
+                source,
+                0,
+                1
+            )
+        );
+
+        final long indexOffset = read(
+            source,
+            size - FOOTER_LENGTH,
+            FOOTER_LENGTH
+        ).readLong();
+
+        final long indexLength = size - FOOTER_LENGTH - indexOffset;
+        if (indexOffset < 1 || indexLength < 0 || indexLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid index offset " + indexOffset + " in " + size + " byte(s)");
+        }
+
+        final TextNodeBinaryInput input = read(
+            source,
+            indexOffset,
+            (int) indexLength
+        );
+
+        final int styleCount = input.readVarint();
+        final List<TextStyle> styles = Lists.array();
+        for (int i = 0; i < styleCount; i++) {
+            styles.add(
+                TextStyle.EMPTY.setValues(
+                    reader.style(input)
+                )
+            );
+        }
+
+        final int count = input.readVarint();
+        final String[] keys = new String[count];
+        final int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = input.readString();
+            lengths[i] = input.readVarint();
+        }
+        input.end();
+
+        // entries follow the version and end at the index
+        long offset = 1;
+        final long[] offsets = new long[count];
+        final Map<String, Integer> keyToPosition = Maps.hash();
+
+        for (int i = 0; i < count; i++) {
+            offsets[i] = offset;
+            offset += lengths[i];
+            keyToPosition.put(
+                keys[i],
+                i
+            );
+        }
+
+        if (offset != indexOffset) {
+            throw new IllegalArgumentException("Invalid archive entries end at " + offset + " but index offset is " + indexOffset);
+        }
+
+        return new TextNodeArchive(
+            source,
+            reader,
+            Lists.readOnly(styles),
+            Lists.of(keys),
+            keyToPosition,
+            offsets,
+            lengths,
+            indexOffset
+        );
+    }
+
+    private static TextNodeBinaryInput read(final TextNodeArchiveSource source,
+                                            final long position,
+                                            final int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        source.read(
+            position,
+            bytes,
+            0,
+            length
+        );
+        return TextNodeBinaryInput.with(
+            bytes,
+            0,
+            length
+        );
+    }
+
+    private TextNodeArchive(final TextNodeArchiveSource source,
+                            final TextNodeBinaryReader reader,
+                            final List<TextStyle> styles,
+                            final List<String> keys,
+                            final Map<String, Integer> keyToPosition,
+                            final long[] offsets,
+                            final int[] lengths,
+                            final long indexOffset) {
+        this.source = source;
+        this.reader = reader;
+        this.styles = styles;
+        this.keys = keys;
+        this.keyToPosition = keyToPosition;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.indexOffset = indexOffset;
+    }
+
+    /**
+     * The number of {@link TextNode} in this archive.
+     */
+    public int size() {
+        return this.offsets.length;
+    }
+
+    /**
+     * The keys in the order they were appended.
+     */
+    public List<String> keys() {
+        return this.keys;
+    }
+
+    /**
+     * Reads and decodes the {@link TextNode} with the given key if one is present.
+     */
+    public Optional<TextNode> get(final String key) throws IOException {
+        Objects.requireNonNull(key, "key");
+
+        final Integer position = this.keyToPosition.get(key);
+        return null != position ?
+            Optional.of(
+                this.get(position)
+            ) :
+            Optional.empty();
+    }
+
+    /**
+     * Reads and decodes the {@link TextNode} at the given position.
+     */
+    public TextNode get(final int position) throws IOException {
+        final long[] offsets = this.offsets;
+        if (position < 0 || position >= offsets.length) {
+            throw new IndexOutOfBoundsException("Invalid position " + position + " not between 0 and " + offsets.length);
+        }
+
+        final TextNodeBinaryInput input = read(
+            this.source,
+            offsets[position],
+            this.lengths[position]
+        );
+        final TextNode node = this.reader.node(
+            input,
+            this.styles
+        );
+        input.end();
+        return node;
+    }
+
+    private final TextNodeArchiveSource source;
+
+    private final TextNodeBinaryReader reader;
+
+    /**
+     * The decoded styles, shared by all {@link TextStyleNode} that reference them.
+     */
+    final List<TextStyle> styles;
+
+    private final List<String> keys;
+
+    private final Map<String, Integer> keyToPosition;
+
+    private final long[] offsets;
+
+    final int[] lengths;
+
+    /**
+     * The offset of the index, which is also the end of the entries. More entries may be appended by truncating the
+     * archive to this length and continuing with {@link TextNodeArchiveBuilder#appendTo(TextNodeArchive, java.io.OutputStream, walkingkooka.tree.json.marshall.JsonNodeMarshallContext)}.
+     */
+    public long indexOffset() {
+        return this.indexOffset;
+    }
+
+    private final long indexOffset;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.keys.toString();
+    }
+}
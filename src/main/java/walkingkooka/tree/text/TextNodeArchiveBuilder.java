@@ -0,0 +1,254 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes a {@link TextNodeArchive} to an {@link OutputStream}, by appending {@link TextNode} each with a unique key.
+ * Each {@link TextNode} is written using {@link TextNodeBinaryWriter} directly to the {@link OutputStream} when it is
+ * appended, with each distinct {@link TextStyleNode} style written once in the index by {@link #finish()}.
+ * <pre>
+ * version
+ * entries...
+ * style count, styles...
+ * entry count, (key, entry length)...
+ * index offset, 8 bytes
+ * </pre>
+ * Because the index follows the entries, more entries may be added to an existing archive using
+ * {@link #appendTo(TextNodeArchive, OutputStream, JsonNodeMarshallContext)}, which writes over the old index.
+ */
+public final class TextNodeArchiveBuilder {
+
+    /**
+     * Starts a new empty archive, writing the version immediately.
+     */
+    public static TextNodeArchiveBuilder with(final OutputStream output,
+                                              final JsonNodeMarshallContext context) throws IOException {
+        Objects.requireNonNull(output, "output");
+
+        final TextNodeArchiveBuilder builder = new TextNodeArchiveBuilder(
+            output,
+            TextNodeBinaryWriter.with(context),
+            1
+        );
+        output.write(TextNodeBinaryWriter.VERSION);
+        return builder;
+    }
+
+    /**
+     * Continues an existing {@link TextNodeArchive}, the {@link OutputStream} must continue the archive bytes from
+     * {@link TextNodeArchive#indexOffset()}, eg a file truncated to that length and opened for append.
+     */
+    public static TextNodeArchiveBuilder appendTo(final TextNodeArchive archive,
+                                                  final OutputStream output,
+                                                  final JsonNodeMarshallContext context) {
+        Objects.requireNonNull(archive, "archive");
+        Objects.requireNonNull(output, "output");
+
+        final TextNodeArchiveBuilder builder = new TextNodeArchiveBuilder(
+            output,
+            TextNodeBinaryWriter.with(context),
+            archive.indexOffset()
+        );
+
+        for (final TextStyle style : archive.styles) {
+            builder.addStyle(
+                TextStylePropertiesMap.with(
+                    style.value()
+                )
+            );
+        }
+
+        final List<String> keys = archive.keys();
+        final int count = keys.size();
+        for (int i = 0; i < count; i++) {
+            builder.addKey(
+                keys.get(i),
+                archive.lengths[i]
+            );
+        }
+
+        return builder;
+    }
+
+    private TextNodeArchiveBuilder(final OutputStream output,
+                                   final TextNodeBinaryWriter writer,
+                                   final long position) {
+        this.output = output;
+        this.writer = writer;
+        this.position = position;
+    }
+
+    /**
+     * Writes the {@link TextNode} with the given key, failing if the key was already appended.
+     */
+    public TextNodeArchiveBuilder append(final String key,
+                                         final TextNode node) throws IOException {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(node, "node");
+
+        this.failIfFinished();
+        if (this.keyToIndex.containsKey(key)) {
+            throw new IllegalArgumentException("Duplicate key " + CharSequences.quoteAndEscape(key));
+        }
+
+        this.collectStyles(node);
+
+        // the entry buffer is reused for every append
+        final TextNodeBinaryOutput entry = this.entry;
+        entry.reset();
+        this.writer.node(
+            node,
+            this.styleIds,
+            entry
+        );
+        entry.writeTo(this.output);
+
+        final int length = entry.size();
+        this.position += length;
+        this.addKey(
+            key,
+            length
+        );
+        return this;
+    }
+
+    private void addKey(final String key,
+                        final int length) {
+        this.keyToIndex.put(
+            key,
+            this.keys.size()
+        );
+        this.keys.add(key);
+        this.lengths.add(length);
+    }
+
+    /**
+     * Adds any new {@link TextStyleNode} styles to the style section.
+     */
+    private void collectStyles(final TextNode node) {
+        if (node instanceof TextStyleNode) {
+            this.addStyle(
+                TextStylePropertiesMap.with(
+                    node.attributes()
+                )
+            );
+        }
+
+        for (final TextNode child : node.children()) {
+            this.collectStyles(child);
+        }
+    }
+
+    private void addStyle(final TextStylePropertiesMap style) {
+        final Map<TextStylePropertiesMap, Integer> styleIds = this.styleIds;
+        if (false == styleIds.containsKey(style)) {
+            styleIds.put(
+                style,
+                this.styles.size()
+            );
+            this.styles.add(style);
+        }
+    }
+
+    /**
+     * Writes the index and footer and flushes the {@link OutputStream}, after which nothing more may be appended.
+     * The {@link OutputStream} is not closed.
+     */
+    public void finish() throws IOException {
+        this.failIfFinished();
+
+        final TextNodeBinaryOutput index = this.entry;
+        index.reset();
+
+        final List<TextStylePropertiesMap> styles = this.styles;
+        index.writeVarint(styles.size());
+        for (final TextStylePropertiesMap style : styles) {
+            this.writer.style(
+                style,
+                index
+            );
+        }
+
+        final List<String> keys = this.keys;
+        final int count = keys.size();
+        index.writeVarint(count);
+        for (int i = 0; i < count; i++) {
+            index.writeString(
+                keys.get(i)
+            );
+            index.writeVarint(
+                this.lengths.get(i)
+            );
+        }
+
+        index.writeLong(this.position);
+
+        final OutputStream output = this.output;
+        index.writeTo(output);
+        output.flush();
+
+        this.finished = true;
+    }
+
+    private void failIfFinished() {
+        if (this.finished) {
+            throw new IllegalStateException("Archive already finished");
+        }
+    }
+
+    private final OutputStream output;
+
+    private final TextNodeBinaryWriter writer;
+
+    /**
+     * The position in the archive of the next byte, when finished this is the index offset.
+     */
+    private long position;
+
+    private boolean finished;
+
+    private final List<String> keys = Lists.array();
+
+    private final Map<String, Integer> keyToIndex = Maps.hash();
+
+    private final List<Integer> lengths = Lists.array();
+
+    private final Map<TextStylePropertiesMap, Integer> styleIds = Maps.hash();
+
+    private final List<TextStylePropertiesMap> styles = Lists.array();
+
+    private final TextNodeBinaryOutput entry = TextNodeBinaryOutput.empty();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.keys.size() + " entries " + this.styles.size() + " styles";
+    }
+}
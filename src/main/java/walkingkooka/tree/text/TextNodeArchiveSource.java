@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.io.IOException;
+
+/**
+ * A random access source of the bytes of a {@link TextNodeArchive}. Opening an archive reads only its footer and index,
+ * and each {@link TextNode} is read only when requested. {@link TextNodeArchiveSources#bytes(byte[])} works everywhere
+ * including GWT, while JVM callers may implement this over a {@code MappedByteBuffer} or {@code FileChannel}, so an
+ * archive larger than memory need not be loaded.
+ */
+public interface TextNodeArchiveSource {
+
+    /**
+     * The total number of bytes in the archive.
+     */
+    long size() throws IOException;
+
+    /**
+     * Reads exactly length bytes starting at the given position into the array, failing if fewer bytes are available.
+     * This may be called by several threads at once.
+     */
+    void read(final long position,
+              final byte[] bytes,
+              final int offset,
+              final int length) throws IOException;
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+/**
+ * A {@link TextNodeArchiveSource} that reads the bytes of a {@link TextNodeArchive} held in a byte array.
+ */
+final class TextNodeArchiveSourceBytes implements TextNodeArchiveSource {
+
+    static TextNodeArchiveSourceBytes with(final byte[] bytes) {
+        return new TextNodeArchiveSourceBytes(bytes);
+    }
+
+    private TextNodeArchiveSourceBytes(final byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    public long size() {
+        return this.bytes.length;
+    }
+
+    @Override
+    public void read(final long position,
+                     final byte[] bytes,
+                     final int offset,
+                     final int length) {
+        if (position < 0 || length < 0 || position + length > this.bytes.length) {
+            throw new IllegalArgumentException("Invalid read " + length + " byte(s) at " + position + " of " + this.bytes.length);
+        }
+
+        System.arraycopy(
+            this.bytes,
+            (int) position,
+            bytes,
+            offset,
+            length
+        );
+    }
+
+    private final byte[] bytes;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.bytes.length + " byte(s)";
+    }
+}
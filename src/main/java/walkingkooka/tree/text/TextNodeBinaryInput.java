@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the values written by {@link TextNodeBinaryOutput} from a range of a byte array, throwing
+ * {@link IllegalArgumentException} if the bytes end early.
+ */
+final class TextNodeBinaryInput {
+
+    static TextNodeBinaryInput with(final byte[] bytes,
+                                    final int offset,
+                                    final int length) {
+        return new TextNodeBinaryInput(
+            bytes,
+            offset,
+            offset + length
+        );
+    }
+
+    private TextNodeBinaryInput(final byte[] bytes,
+                                final int position,
+                                final int end) {
+        this.bytes = bytes;
+        this.position = position;
+        this.end = end;
+    }
+
+    int readByte() {
+        this.check(1);
+        return this.bytes[this.position++] & 0xff;
+    }
+
+    int readVarint() {
+        int value = 0;
+        int shift = 0;
+
+        for (; ; ) {
+            if (shift > 28) {
+                throw new IllegalArgumentException("Invalid varint at " + this.position);
+            }
+
+            final int b = this.readByte();
+            value |= (b & 0x7f) << shift;
+            if (0 == (b & 0x80)) {
+                break;
+            }
+            shift += 7;
+        }
+
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid varint " + value + " < 0");
+        }
+        return value;
+    }
+
+    long readLong() {
+        this.check(8);
+
+        final byte[] bytes = this.bytes;
+        int position = this.position;
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[position++] & 0xff);
+        }
+        this.position = position;
+        return value;
+    }
+
+    double readDouble() {
+        return Double.longBitsToDouble(
+            this.readLong()
+        );
+    }
+
+    String readString() {
+        final int length = this.readVarint();
+        this.check(length);
+
+        final String value = new String(
+            this.bytes,
+            this.position,
+            length,
+            StandardCharsets.UTF_8
+        );
+        this.position += length;
+        return value;
+    }
+
+    /**
+     * Fails if any bytes remain.
+     */
+    void end() {
+        if (this.position != this.end) {
+            throw new IllegalArgumentException("Unexpected " + (this.end - this.position) + " byte(s) at " + this.position);
+        }
+    }
+
+    private void check(final int count) {
+        if (count > this.end - this.position) {
+            throw new IllegalArgumentException("Unexpected end of bytes at " + this.position);
+        }
+    }
+
+    private final byte[] bytes;
+
+    private int position;
+
+    private final int end;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.position + "/" + this.end;
+    }
+}
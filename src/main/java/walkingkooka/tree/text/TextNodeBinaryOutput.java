@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable byte array used by {@link TextNodeBinaryWriter}, with helpers to write varints, doubles and UTF-8 strings.
+ * All multi-byte values are big endian.
+ */
+final class TextNodeBinaryOutput {
+
+    static TextNodeBinaryOutput empty() {
+        return new TextNodeBinaryOutput();
+    }
+
+    private TextNodeBinaryOutput() {
+        super();
+    }
+
+    void writeByte(final int value) {
+        this.ensure(1);
+        this.bytes[this.size++] = (byte) value;
+    }
+
+    /**
+     * Writes an unsigned varint, 7 bits at a time with the high bit set on all but the last byte.
+     */
+    void writeVarint(final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid varint " + value + " < 0");
+        }
+
+        int remaining = value;
+        while (remaining > 0x7f) {
+            this.writeByte(0x80 | (remaining & 0x7f));
+            remaining = remaining >>> 7;
+        }
+        this.writeByte(remaining);
+    }
+
+    void writeLong(final long value) {
+        this.ensure(8);
+
+        final byte[] bytes = this.bytes;
+        int size = this.size;
+        for (int shift = 56; shift >= 0; shift = shift - 8) {
+            bytes[size++] = (byte) (value >>> shift);
+        }
+        this.size = size;
+    }
+
+    void writeDouble(final double value) {
+        this.writeLong(
+            Double.doubleToLongBits(value)
+        );
+    }
+
+    /**
+     * Writes the UTF-8 bytes of the {@link String} prefixed by a varint length.
+     */
+    void writeString(final String value) {
+        final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        this.writeVarint(utf8.length);
+        this.writeBytes(utf8);
+    }
+
+    void writeBytes(final byte[] value) {
+        final int length = value.length;
+        this.ensure(length);
+        System.arraycopy(
+            value,
+            0,
+            this.bytes,
+            this.size,
+            length
+        );
+        this.size += length;
+    }
+
+    private void ensure(final int count) {
+        final int required = this.size + count;
+        if (required > this.bytes.length) {
+            this.bytes = Arrays.copyOf(
+                this.bytes,
+                Math.max(
+                    required,
+                    this.bytes.length * 2
+                )
+            );
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Writes the bytes to the {@link OutputStream} without first copying them.
+     */
+    void writeTo(final OutputStream output) throws IOException {
+        output.write(
+            this.bytes,
+            0,
+            this.size
+        );
+    }
+
+    /**
+     * Discards the written bytes keeping the buffer, so it may be reused.
+     */
+    void reset() {
+        this.size = 0;
+    }
+
+    /**
+     * Returns an exactly sized copy of the written bytes.
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(
+            this.bytes,
+            this.size
+        );
+    }
+
+    private byte[] bytes = new byte[64];
+
+    private int size;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.size + " byte(s)";
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.Url;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads a {@link TextNode} or {@link TextStyle} written by {@link TextNodeBinaryWriter}, failing with an
+ * {@link IllegalArgumentException} if the version is unknown or the bytes are invalid.
+ */
+public final class TextNodeBinaryReader {
+
+    public static TextNodeBinaryReader with(final JsonNodeUnmarshallContext context) {
+        return new TextNodeBinaryReader(
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private TextNodeBinaryReader(final JsonNodeUnmarshallContext context) {
+        this.context = context;
+    }
+
+    public TextNode readTextNode(final byte[] bytes) {
+        final TextNodeBinaryInput input = input(bytes);
+        final TextNode node = this.node(
+            input,
+            null
+        );
+        input.end();
+        return node;
+    }
+
+    public TextStyle readTextStyle(final byte[] bytes) {
+        final TextNodeBinaryInput input = input(bytes);
+        final TextStyle style = TextStyle.EMPTY.setValues(
+            this.style(input)
+        );
+        input.end();
+        return style;
+    }
+
+    private static TextNodeBinaryInput input(final byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+
+        final TextNodeBinaryInput input = TextNodeBinaryInput.with(
+            bytes,
+            0,
+            bytes.length
+        );
+        version(input);
+        return input;
+    }
+
+    static void version(final TextNodeBinaryInput input) {
+        final int version = input.readByte();
+        if (TextNodeBinaryWriter.VERSION != version) {
+            throw new IllegalArgumentException("Unsupported version " + version + " expected " + TextNodeBinaryWriter.VERSION);
+        }
+    }
+
+    /**
+     * Reads a {@link TextNode} and its descendants. The style table will be null unless the bytes were written with one.
+     */
+    TextNode node(final TextNodeBinaryInput input,
+                  final List<TextStyle> styleTable) {
+        final TextNode node;
+
+        final int tag = input.readByte();
+        switch (tag) {
+            case TextNodeBinaryWriter.TEXT:
+                node = TextNode.text(
+                    input.readString()
+                );
+                break;
+            case TextNodeBinaryWriter.BADGE:
+                node = TextNode.badge(
+                    input.readString()
+                ).setChildren(
+                    this.children(
+                        input,
+                        styleTable
+                    )
+                );
+                break;
+            case TextNodeBinaryWriter.FLAG:
+                node = TextNode.flag(
+                    input.readString()
+                );
+                break;
+            case TextNodeBinaryWriter.HYPERLINK:
+                node = TextNode.hyperlink(
+                    this.url(input)
+                ).setChildren(
+                    this.children(
+                        input,
+                        styleTable
+                    )
+                );
+                break;
+            case TextNodeBinaryWriter.IMAGE:
+                node = TextNode.image(
+                    this.url(input)
+                );
+                break;
+            case TextNodeBinaryWriter.PLACEHOLDER:
+                node = TextNode.placeholder(
+                    TextPlaceholderName.with(
+                        input.readString()
+                    )
+                );
+                break;
+            case TextNodeBinaryWriter.STYLE:
+                node = TextStyle.EMPTY.setValues(
+                    this.style(input)
+                ).setChildren(
+                    this.children(
+                        input,
+                        styleTable
+                    )
+                );
+                break;
+            case TextNodeBinaryWriter.STYLE_ID:
+                node = styleId(
+                    input,
+                    styleTable
+                ).setChildren(
+                    this.children(
+                        input,
+                        styleTable
+                    )
+                );
+                break;
+            case TextNodeBinaryWriter.STYLE_NAME:
+                node = TextNode.styleName(
+                    TextStyleName.with(
+                        input.readString()
+                    )
+                ).setChildren(
+                    this.children(
+                        input,
+                        styleTable
+                    )
+                );
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown node tag " + tag);
+        }
+
+        return node;
+    }
+
+    private List<TextNode> children(final TextNodeBinaryInput input,
+                                    final List<TextStyle> styleTable) {
+        final int count = input.readVarint();
+        final List<TextNode> children = Lists.array();
+
+        for (int i = 0; i < count; i++) {
+            children.add(
+                this.node(
+                    input,
+                    styleTable
+                )
+            );
+        }
+
+        return children;
+    }
+
+    private static TextStyle styleId(final TextNodeBinaryInput input,
+                                     final List<TextStyle> styleTable) {
+        final int styleId = input.readVarint();
+        if (null == styleTable || styleId >= styleTable.size()) {
+            throw new IllegalArgumentException("Unknown style " + styleId);
+        }
+        return styleTable.get(styleId);
+    }
+
+    private Url url(final TextNodeBinaryInput input) {
+        return this.context.unmarshall(
+            JsonNode.string(
+                input.readString()
+            ),
+            Url.class
+        );
+    }
+
+    /**
+     * Reads the count followed by each {@link TextStylePropertyName} index and value.
+     */
+    TextStylePropertiesMap style(final TextNodeBinaryInput input) {
+        final TextStylePropertiesMap map = TextStylePropertiesMap.empty();
+
+        final int count = input.readVarint();
+        for (int i = 0; i < count; i++) {
+            final TextStylePropertyName<?> name = name(input);
+
+            map.setTextStyleProperty(
+                name,
+                this.value(
+                    name,
+                    input
+                )
+            );
+        }
+
+        return map.isEmpty() ?
+            TextStylePropertiesMap.EMPTY :
+            map;
+    }
+
+    private static TextStylePropertyName<?> name(final TextNodeBinaryInput input) {
+        final int index = input.readVarint();
+        final TextStylePropertyName<?>[] names = TextStylePropertyName.NAMES;
+
+        final TextStylePropertyName<?> name = index < names.length ?
+            names[index] :
+            null;
+        if (null == name) {
+            throw new IllegalArgumentException("Unknown property " + index);
+        }
+        return name;
+    }
+
+    private Object value(final TextStylePropertyName<?> name,
+                         final TextNodeBinaryInput input) {
+        final Object value;
+
+        final int tag = input.readByte();
+        switch (tag) {
+            case TextNodeBinaryWriter.ENUM:
+                final Enum<?>[] values = name.handler.enumType()
+                    .orElseThrow(() -> new IllegalArgumentException("Property " + name + " is not an enum"))
+                    .getEnumConstants();
+                final int ordinal = input.readVarint();
+                if (ordinal >= values.length) {
+                    throw new IllegalArgumentException("Unknown " + name + " ordinal " + ordinal);
+                }
+                value = values[ordinal];
+                break;
+            case TextNodeBinaryWriter.NONE_LENGTH:
+                value = Length.none();
+                break;
+            case TextNodeBinaryWriter.NORMAL_LENGTH:
+                value = Length.normal();
+                break;
+            case TextNodeBinaryWriter.NUMBER_LENGTH:
+                value = Length.number(
+                    input.readDouble()
+                );
+                break;
+            case TextNodeBinaryWriter.PIXEL_LENGTH:
+                value = Length.pixel(
+                    input.readDouble()
+                );
+                break;
+            case TextNodeBinaryWriter.JSON_STRING:
+                value = this.unmarshall(
+                    name,
+                    JsonNode.string(
+                        input.readString()
+                    )
+                );
+                break;
+            case TextNodeBinaryWriter.JSON:
+                value = this.unmarshall(
+                    name,
+                    JsonNode.parse(
+                        input.readString()
+                    )
+                );
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag);
+        }
+
+        return value;
+    }
+
+    private Object unmarshall(final TextStylePropertyName<?> name,
+                              final JsonNode json) {
+        return name.handler.unmarshall(
+            json,
+            name,
+            this.context
+        );
+    }
+
+    private final JsonNodeUnmarshallContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.Cast;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * Writes a {@link TextNode} or {@link TextStyle} in a compact versioned binary form, read by {@link TextNodeBinaryReader}.
+ * <ul>
+ * <li>The first byte is the {@link #VERSION}</li>
+ * <li>A {@link TextStylePropertyName} is written as its index</li>
+ * <li>Enum values are written as their ordinal</li>
+ * <li>{@link Length} are written as a tag followed by any double value</li>
+ * <li>Other values are written as the JSON produced by their {@link TextStylePropertyValueHandler}, strings without quotes</li>
+ * <li>{@link TextNode} are written as a type tag, any value and then a varint count of children</li>
+ * <li>Counts and string lengths are varints, strings are UTF-8</li>
+ * </ul>
+ */
+public final class TextNodeBinaryWriter {
+
+    /**
+     * The version of the binary form, written as the first byte.
+     */
+    public final static int VERSION = 1;
+
+    public static TextNodeBinaryWriter with(final JsonNodeMarshallContext context) {
+        return new TextNodeBinaryWriter(
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private TextNodeBinaryWriter(final JsonNodeMarshallContext context) {
+        this.context = context;
+    }
+
+    public byte[] write(final TextNode node) {
+        Objects.requireNonNull(node, "node");
+
+        final TextNodeBinaryOutput output = TextNodeBinaryOutput.empty();
+        output.writeByte(VERSION);
+        this.node(
+            node,
+            null,
+            output
+        );
+        return output.toByteArray();
+    }
+
+    public byte[] write(final TextStyle style) {
+        Objects.requireNonNull(style, "style");
+
+        final TextNodeBinaryOutput output = TextNodeBinaryOutput.empty();
+        output.writeByte(VERSION);
+        this.style(
+            style.value(),
+            output
+        );
+        return output.toByteArray();
+    }
+
+    // node tags
+
+    final static int TEXT = 1;
+
+    final static int BADGE = 2;
+
+    final static int FLAG = 3;
+
+    final static int HYPERLINK = 4;
+
+    final static int IMAGE = 5;
+
+    final static int PLACEHOLDER = 6;
+
+    final static int STYLE = 7;
+
+    final static int STYLE_NAME = 8;
+
+    /**
+     * A {@link TextStyleNode} whose style is written as an index into a style table.
+     */
+    final static int STYLE_ID = 9;
+
+    /**
+     * Writes the {@link TextNode} and its descendants. When styleIds is not null {@link TextStyleNode} styles present
+     * in the {@link Map} are written as an index.
+     */
+    void node(final TextNode node,
+              final Map<TextStylePropertiesMap, Integer> styleIds,
+              final TextNodeBinaryOutput output) {
+        if (node instanceof Text) {
+            output.writeByte(TEXT);
+            output.writeString(
+                node.text()
+            );
+        } else if (node instanceof Badge) {
+            output.writeByte(BADGE);
+            output.writeString(
+                node.<Badge>cast()
+                    .badgeText()
+            );
+            this.children(
+                node,
+                styleIds,
+                output
+            );
+        } else if (node instanceof Flag) {
+            output.writeByte(FLAG);
+            output.writeString(
+                node.<Flag>cast()
+                    .value()
+            );
+        } else if (node instanceof Hyperlink) {
+            output.writeByte(HYPERLINK);
+            output.writeString(
+                node.<Hyperlink>cast()
+                    .url()
+                    .value()
+            );
+            this.children(
+                node,
+                styleIds,
+                output
+            );
+        } else if (node instanceof Image) {
+            output.writeByte(IMAGE);
+            output.writeString(
+                node.<Image>cast()
+                    .value()
+                    .value()
+            );
+        } else if (node instanceof TextPlaceholderNode) {
+            output.writeByte(PLACEHOLDER);
+            output.writeString(
+                node.<TextPlaceholderNode>cast()
+                    .value()
+                    .value()
+            );
+        } else if (node instanceof TextStyleNode) {
+            final TextStylePropertiesMap style = TextStylePropertiesMap.with(
+                node.attributes()
+            );
+            final Integer styleId = null != styleIds ?
+                styleIds.get(style) :
+                null;
+            if (null != styleId) {
+                output.writeByte(STYLE_ID);
+                output.writeVarint(styleId);
+            } else {
+                output.writeByte(STYLE);
+                this.style(
+                    style,
+                    output
+                );
+            }
+            this.children(
+                node,
+                styleIds,
+                output
+            );
+        } else {
+            output.writeByte(STYLE_NAME);
+            output.writeString(
+                node.<TextStyleNameNode>cast()
+                    .styleName()
+                    .value()
+            );
+            this.children(
+                node,
+                styleIds,
+                output
+            );
+        }
+    }
+
+    private void children(final TextNode node,
+                          final Map<TextStylePropertiesMap, Integer> styleIds,
+                          final TextNodeBinaryOutput output) {
+        final List<TextNode> children = node.children();
+        output.writeVarint(children.size());
+
+        for (final TextNode child : children) {
+            this.node(
+                child,
+                styleIds,
+                output
+            );
+        }
+    }
+
+    // value tags
+
+    final static int ENUM = 1;
+
+    final static int NONE_LENGTH = 2;
+
+    final static int NORMAL_LENGTH = 3;
+
+    final static int NUMBER_LENGTH = 4;
+
+    final static int PIXEL_LENGTH = 5;
+
+    final static int JSON_STRING = 6;
+
+    final static int JSON = 7;
+
+    /**
+     * Writes a count followed by each {@link TextStylePropertyName} index and value.
+     */
+    void style(final Map<TextStylePropertyName<?>, Object> style,
+               final TextNodeBinaryOutput output) {
+        output.writeVarint(style.size());
+
+        for (final Entry<TextStylePropertyName<?>, Object> nameAndValue : style.entrySet()) {
+            final TextStylePropertyName<?> name = nameAndValue.getKey();
+            output.writeVarint(name.index());
+
+            this.value(
+                name,
+                nameAndValue.getValue(),
+                output
+            );
+        }
+    }
+
+    private void value(final TextStylePropertyName<?> name,
+                       final Object value,
+                       final TextNodeBinaryOutput output) {
+        if (value instanceof Enum && name.handler.enumType().isPresent()) {
+            output.writeByte(ENUM);
+            output.writeVarint(
+                ((Enum<?>) value).ordinal()
+            );
+        } else if (value instanceof Length) {
+            final Length<?> length = (Length<?>) value;
+
+            if (length.isNone()) {
+                output.writeByte(NONE_LENGTH);
+            } else if (length.isNormal()) {
+                output.writeByte(NORMAL_LENGTH);
+            } else if (length.isNumber()) {
+                output.writeByte(NUMBER_LENGTH);
+                output.writeDouble(
+                    ((NumberLength) length).value()
+                );
+            } else {
+                output.writeByte(PIXEL_LENGTH);
+                output.writeDouble(
+                    ((PixelLength) length).value()
+                );
+            }
+        } else {
+            final JsonNode json = name.handler.marshall(
+                Cast.to(value),
+                this.context
+            );
+
+            if (json.isString()) {
+                output.writeByte(JSON_STRING);
+                output.writeString(
+                    json.stringOrFail()
+                );
+            } else {
+                output.writeByte(JSON);
+                output.writeString(
+                    json.toString()
+                );
+            }
+        }
+    }
+
+    private final JsonNodeMarshallContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
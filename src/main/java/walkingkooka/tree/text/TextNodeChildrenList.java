@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * A read only {@link List} of the children of a {@link TextParentNode}, backed directly by an exactly sized array,
+ * avoiding a separate mutable list and read only wrapper. {@link List} is implemented directly rather than extending
+ * {@link java.util.AbstractList}, so the only field is the array.
+ */
+final class TextNodeChildrenList implements List<TextNode>, RandomAccess {
+
+    static TextNodeChildrenList with(final TextNode[] children) {
+        return new TextNodeChildrenList(children);
+    }
+
+    private TextNodeChildrenList(final TextNode[] children) {
+        this.children = children;
+    }
+
+    @Override
+    public TextNode get(final int index) {
+        return this.children[index];
+    }
+
+    @Override
+    public int size() {
+        return this.children.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.children.length;
+    }
+
+    @Override
+    public boolean contains(final Object other) {
+        return -1 != this.indexOf(other);
+    }
+
+    @Override
+    public boolean containsAll(final Collection<?> other) {
+        for (final Object element : other) {
+            if (false == this.contains(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int indexOf(final Object other) {
+        final TextNode[] children = this.children;
+        final int count = children.length;
+
+        for (int i = 0; i < count; i++) {
+            if (children[i].equals(other)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(final Object other) {
+        final TextNode[] children = this.children;
+
+        for (int i = children.length - 1; i >= 0; i--) {
+            if (children[i].equals(other)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<TextNode> iterator() {
+        return this.listIterator(0);
+    }
+
+    @Override
+    public ListIterator<TextNode> listIterator() {
+        return this.listIterator(0);
+    }
+
+    @Override
+    public ListIterator<TextNode> listIterator(final int index) {
+        final TextNode[] children = this.children;
+        if (index < 0 || index > children.length) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + " not between 0 and " + children.length);
+        }
+
+        return TextNodeChildrenListIterator.with(
+            children,
+            index
+        );
+    }
+
+    /**
+     * Children are immutable, so a copy of the range is indistinguishable from a view.
+     */
+    @Override
+    public List<TextNode> subList(final int from,
+                                  final int to) {
+        final TextNode[] children = this.children;
+        if (from < 0 || to > children.length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range " + from + ".." + to + " not between 0 and " + children.length);
+        }
+
+        return with(
+            Arrays.copyOfRange(
+                children,
+                from,
+                to
+            )
+        );
+    }
+
+    @Override
+    public Object[] toArray() {
+        final TextNode[] children = this.children;
+        final int count = children.length;
+
+        final Object[] copy = new Object[count];
+        System.arraycopy(
+            children,
+            0,
+            copy,
+            0,
+            count
+        );
+        return copy;
+    }
+
+    @Override
+    public <T> T[] toArray(final T[] array) {
+        final TextNode[] children = this.children;
+        final int count = children.length;
+
+        final T[] copy = array.length < count ?
+            Arrays.copyOf(
+                array,
+                count
+            ) :
+            array;
+        System.arraycopy(
+            children,
+            0,
+            copy,
+            0,
+            count
+        );
+        if (copy.length > count) {
+            copy[count] = null;
+        }
+        return copy;
+    }
+
+    // read only........................................................................................................
+
+    @Override
+    public boolean add(final TextNode node) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void add(final int index,
+                    final TextNode node) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends TextNode> nodes) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(final int index,
+                          final Collection<? extends TextNode> nodes) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TextNode set(final int index,
+                        final TextNode node) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TextNode remove(final int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(final Object node) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> nodes) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> nodes) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    private final TextNode[] children;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (final TextNode child : this.children) {
+            hashCode = 31 * hashCode + child.hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof List &&
+                this.equals0((List<?>) other);
+    }
+
+    private boolean equals0(final List<?> other) {
+        final TextNode[] children = this.children;
+        final int count = children.length;
+
+        boolean equals = count == other.size();
+        if (equals) {
+            int i = 0;
+            for (final Object element : other) {
+                equals = children[i].equals(element);
+                if (false == equals) {
+                    break;
+                }
+                i++;
+            }
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.children);
+    }
+}
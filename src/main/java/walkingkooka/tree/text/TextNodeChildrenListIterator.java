@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A read only {@link ListIterator} over the array of a {@link TextNodeChildrenList}.
+ */
+final class TextNodeChildrenListIterator implements ListIterator<TextNode> {
+
+    static TextNodeChildrenListIterator with(final TextNode[] children,
+                                             final int index) {
+        return new TextNodeChildrenListIterator(
+            children,
+            index
+        );
+    }
+
+    private TextNodeChildrenListIterator(final TextNode[] children,
+                                         final int index) {
+        this.children = children;
+        this.index = index;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.index < this.children.length;
+    }
+
+    @Override
+    public TextNode next() {
+        if (false == this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.children[this.index++];
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return this.index > 0;
+    }
+
+    @Override
+    public TextNode previous() {
+        if (false == this.hasPrevious()) {
+            throw new NoSuchElementException();
+        }
+        return this.children[--this.index];
+    }
+
+    @Override
+    public int nextIndex() {
+        return this.index;
+    }
+
+    @Override
+    public int previousIndex() {
+        return this.index - 1;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void set(final TextNode node) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void add(final TextNode node) {
+        throw new UnsupportedOperationException();
+    }
+
+    private final TextNode[] children;
+
+    /**
+     * The index of the element returned by the next call to {@link #next()}.
+     */
+    private int index;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.index + " of " + this.children.length;
+    }
+}
@@ -0,0 +1,540 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.Url;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * A compact JSON form of a {@link TextNode}, which round trips with the form produced by
+ * {@link JsonNodeMarshallContext#marshallWithType(Object)}.
+ * <ul>
+ * <li>{@link Text} is a JSON string.</li>
+ * <li>All other nodes are an array holding a single character type code, the value if any and then each child.</li>
+ * <li>The styles of a {@link TextStyleNode} are an object that is omitted when empty.</li>
+ * <li>Style property names may be abbreviated, mostly to the first letter of each word. The abbreviations are a fixed
+ * table, so JSON written by one version may be read by later versions.</li>
+ * </ul>
+ * <pre>
+ * [
+ *   "s",
+ *   {
+ *     "ta": "LEFT"
+ *   },
+ *   "Hello ",
+ *   [
+ *     "a",
+ *     "https://example.com",
+ *     "link"
+ *   ]
+ * ]
+ * </pre>
+ */
+public final class TextNodeCompactJson {
+
+    /**
+     * Returns a {@link TextNodeCompactJson} that writes either abbreviated or full style property names.
+     */
+    public static TextNodeCompactJson with(final boolean abbreviatePropertyNames) {
+        return abbreviatePropertyNames ?
+            ABBREVIATED :
+            FULL;
+    }
+
+    private final static TextNodeCompactJson ABBREVIATED = new TextNodeCompactJson(true);
+
+    private final static TextNodeCompactJson FULL = new TextNodeCompactJson(false);
+
+    private TextNodeCompactJson(final boolean abbreviatePropertyNames) {
+        this.abbreviatePropertyNames = abbreviatePropertyNames;
+    }
+
+    // marshall.........................................................................................................
+
+    public JsonNode marshall(final TextNode node,
+                             final JsonNodeMarshallContext context) {
+        Objects.requireNonNull(node, "node");
+        Objects.requireNonNull(context, "context");
+
+        return this.marshall0(
+            node,
+            context
+        );
+    }
+
+    private JsonNode marshall0(final TextNode node,
+                               final JsonNodeMarshallContext context) {
+        final JsonNode json;
+
+        if (node.isText()) {
+            json = JsonNode.string(
+                node.text()
+            );
+        } else {
+            final List<JsonNode> items = Lists.array();
+
+            if (node.isBadge()) {
+                items.add(BADGE_JSON);
+                items.add(
+                    JsonNode.string(
+                        node.<Badge>cast()
+                            .badgeText()
+                    )
+                );
+            } else if (node instanceof Flag) {
+                items.add(FLAG_JSON);
+                items.add(
+                    JsonNode.string(
+                        node.<Flag>cast()
+                            .value()
+                    )
+                );
+            } else if (node.isHyperlink()) {
+                items.add(HYPERLINK_JSON);
+                items.add(
+                    context.marshall(
+                        node.<Hyperlink>cast()
+                            .url()
+                    )
+                );
+            } else if (node instanceof Image) {
+                items.add(IMAGE_JSON);
+                items.add(
+                    context.marshall(
+                        node.<Image>cast()
+                            .value()
+                    )
+                );
+            } else if (node.isPlaceholder()) {
+                items.add(PLACEHOLDER_JSON);
+                items.add(
+                    context.marshall(
+                        node.<TextPlaceholderNode>cast()
+                            .value()
+                    )
+                );
+            } else if (node.isStyle()) {
+                items.add(STYLE_JSON);
+
+                final Map<TextStylePropertyName<?>, Object> attributes = node.attributes();
+                if (false == attributes.isEmpty()) {
+                    items.add(
+                        this.marshallStyles(
+                            attributes,
+                            context
+                        )
+                    );
+                }
+            } else if (node.isStyleName()) {
+                items.add(STYLE_NAME_JSON);
+                items.add(
+                    context.marshall(
+                        node.<TextStyleNameNode>cast()
+                            .styleName()
+                    )
+                );
+            } else {
+                throw new IllegalArgumentException("Unknown TextNode " + node);
+            }
+
+            for (final TextNode child : node.children()) {
+                items.add(
+                    this.marshall0(
+                        child,
+                        context
+                    )
+                );
+            }
+
+            json = JsonNode.array()
+                .setChildren(items);
+        }
+
+        return json;
+    }
+
+    /**
+     * Marshalls the styles into an object using the same {@link TextStylePropertyValueHandler} rules as
+     * {@link TextStylePropertiesMap#marshall(JsonNodeMarshallContext)}.
+     */
+    JsonNode marshallStyles(final Map<TextStylePropertyName<?>, Object> styles,
+                            final JsonNodeMarshallContext context) {
+        final List<JsonNode> json = Lists.array();
+
+        for (final Entry<TextStylePropertyName<?>, Object> propertyAndValue : styles.entrySet()) {
+            final TextStylePropertyName<?> propertyName = propertyAndValue.getKey();
+
+            json.add(
+                propertyName.handler.marshall(
+                    Cast.to(
+                        propertyAndValue.getValue()
+                    ),
+                    context
+                ).setName(
+                    this.abbreviatePropertyNames ?
+                        abbreviation(propertyName) :
+                        propertyName.jsonPropertyName
+                )
+            );
+        }
+
+        return JsonNode.object()
+            .setChildren(json);
+    }
+
+    // unmarshall.......................................................................................................
+
+    public TextNode unmarshall(final JsonNode node,
+                               final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(node, "node");
+        Objects.requireNonNull(context, "context");
+
+        return this.unmarshall0(
+            node,
+            context
+        );
+    }
+
+    private TextNode unmarshall0(final JsonNode node,
+                                 final JsonNodeUnmarshallContext context) {
+        TextNode textNode;
+
+        if (node.isString()) {
+            textNode = TextNode.text(
+                node.stringOrFail()
+            );
+        } else {
+            final List<JsonNode> items = node.arrayOrFail()
+                .children();
+            if (items.isEmpty()) {
+                throw new IllegalArgumentException("Missing type in " + node);
+            }
+
+            final String type = items.get(0)
+                .stringOrFail();
+            final JsonNode value = items.size() > 1 ?
+                items.get(1) :
+                null;
+            int firstChild = 2;
+
+            switch (type) {
+                case BADGE:
+                    textNode = TextNode.badge(
+                        value(value, node).stringOrFail()
+                    );
+                    break;
+                case FLAG:
+                    textNode = TextNode.flag(
+                        value(value, node).stringOrFail()
+                    );
+                    break;
+                case HYPERLINK:
+                    textNode = TextNode.hyperlink(
+                        context.unmarshall(
+                            value(value, node),
+                            Url.class
+                        )
+                    );
+                    break;
+                case IMAGE:
+                    textNode = TextNode.image(
+                        context.unmarshall(
+                            value(value, node),
+                            Url.class
+                        )
+                    );
+                    break;
+                case PLACEHOLDER:
+                    textNode = TextNode.placeholder(
+                        context.unmarshall(
+                            value(value, node),
+                            TextPlaceholderName.class
+                        )
+                    );
+                    break;
+                case STYLE:
+                    TextStyle textStyle = TextStyle.EMPTY;
+                    if (null != value && value.isObject()) {
+                        textStyle = textStyle.setValues(
+                            this.unmarshallStyles(
+                                value,
+                                context
+                            )
+                        );
+                    } else {
+                        firstChild = 1;
+                    }
+                    textNode = textStyle.setChildren(
+                        this.unmarshallChildren(
+                            items,
+                            firstChild,
+                            context
+                        )
+                    );
+                    break;
+                case STYLE_NAME:
+                    textNode = TextNode.styleName(
+                        context.unmarshall(
+                            value(value, node),
+                            TextStyleName.class
+                        )
+                    );
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown type " + CharSequences.quoteAndEscape(type) + " in " + node);
+            }
+
+            // the children of a TextStyleNode are set along with its style
+            if (false == STYLE.equals(type)) {
+                textNode = textNode.setChildren(
+                    this.unmarshallChildren(
+                        items,
+                        firstChild,
+                        context
+                    )
+                );
+            }
+        }
+
+        return textNode;
+    }
+
+    private static JsonNode value(final JsonNode value,
+                                  final JsonNode node) {
+        if (null == value) {
+            throw new IllegalArgumentException("Missing value in " + node);
+        }
+        return value;
+    }
+
+    private List<TextNode> unmarshallChildren(final List<JsonNode> items,
+                                              final int first,
+                                              final JsonNodeUnmarshallContext context) {
+        final List<TextNode> children = Lists.array();
+
+        final int count = items.size();
+        for (int i = first; i < count; i++) {
+            children.add(
+                this.unmarshall0(
+                    items.get(i),
+                    context
+                )
+            );
+        }
+
+        return children;
+    }
+
+    /**
+     * Unmarshalls styles written by {@link #marshallStyles(Map, JsonNodeMarshallContext)}.
+     */
+    TextStylePropertiesMap unmarshallStyles(final JsonNode json,
+                                            final JsonNodeUnmarshallContext context) {
+        final TextStylePropertiesMap map = TextStylePropertiesMap.empty();
+
+        for (final JsonNode child : json.objectOrFail().children()) {
+            final TextStylePropertyName<?> name;
+
+            if (this.abbreviatePropertyNames) {
+                final String abbreviation = child.name()
+                    .value();
+                name = ABBREVIATED_NAMES.get(abbreviation);
+                if (null == name) {
+                    throw new IllegalArgumentException("Unknown property " + CharSequences.quoteAndEscape(abbreviation));
+                }
+            } else {
+                name = TextStylePropertyName.unmarshall(child);
+            }
+
+            map.setTextStyleProperty(
+                name,
+                name.cast(
+                    name.handler.unmarshall(
+                        child,
+                        name,
+                        context
+                    )
+                )
+            );
+        }
+
+        return map.isEmpty() ?
+            TextStylePropertiesMap.EMPTY :
+            map;
+    }
+
+    /**
+     * When true style property names are abbreviated.
+     */
+    private final boolean abbreviatePropertyNames;
+
+    // type codes.......................................................................................................
+
+    private final static String BADGE = "b";
+
+    private final static JsonNode BADGE_JSON = JsonNode.string(BADGE);
+
+    private final static String FLAG = "f";
+
+    private final static JsonNode FLAG_JSON = JsonNode.string(FLAG);
+
+    private final static String HYPERLINK = "a";
+
+    private final static JsonNode HYPERLINK_JSON = JsonNode.string(HYPERLINK);
+
+    private final static String IMAGE = "i";
+
+    private final static JsonNode IMAGE_JSON = JsonNode.string(IMAGE);
+
+    private final static String PLACEHOLDER = "p";
+
+    private final static JsonNode PLACEHOLDER_JSON = JsonNode.string(PLACEHOLDER);
+
+    private final static String STYLE = "s";
+
+    private final static JsonNode STYLE_JSON = JsonNode.string(STYLE);
+
+    private final static String STYLE_NAME = "n";
+
+    private final static JsonNode STYLE_NAME_JSON = JsonNode.string(STYLE_NAME);
+
+    // abbreviations....................................................................................................
+
+    /**
+     * Each abbreviation is fixed, mostly the first letter of each word of the {@link TextStylePropertyName}, eg
+     * border-top-color is btc. Existing abbreviations must never change, a new {@link TextStylePropertyName} must be
+     * given a new unused abbreviation here.
+     */
+    private final static JsonPropertyName[] ABBREVIATIONS = new JsonPropertyName[TextStylePropertyName.NAMES.length];
+
+    private final static Map<String, TextStylePropertyName<?>> ABBREVIATED_NAMES = Maps.hash();
+
+    static {
+        abbreviation(TextStylePropertyName.BACKGROUND_COLOR, "bc");
+        abbreviation(TextStylePropertyName.BORDER_BOTTOM_COLOR, "bbc");
+        abbreviation(TextStylePropertyName.BORDER_BOTTOM_STYLE, "bbs");
+        abbreviation(TextStylePropertyName.BORDER_BOTTOM_WIDTH, "bbw");
+        abbreviation(TextStylePropertyName.BORDER_COLLAPSE, "bco");
+        abbreviation(TextStylePropertyName.BORDER_LEFT_COLOR, "blc");
+        abbreviation(TextStylePropertyName.BORDER_LEFT_STYLE, "bls");
+        abbreviation(TextStylePropertyName.BORDER_LEFT_WIDTH, "blw");
+        abbreviation(TextStylePropertyName.BORDER_SPACING, "bs");
+        abbreviation(TextStylePropertyName.BORDER_RIGHT_COLOR, "brc");
+        abbreviation(TextStylePropertyName.BORDER_RIGHT_STYLE, "brs");
+        abbreviation(TextStylePropertyName.BORDER_RIGHT_WIDTH, "brw");
+        abbreviation(TextStylePropertyName.BORDER_TOP_COLOR, "btc");
+        abbreviation(TextStylePropertyName.BORDER_TOP_STYLE, "bts");
+        abbreviation(TextStylePropertyName.BORDER_TOP_WIDTH, "btw");
+        abbreviation(TextStylePropertyName.COLOR, "c");
+        abbreviation(TextStylePropertyName.DIRECTION, "d");
+        abbreviation(TextStylePropertyName.FONT_FAMILY, "ff");
+        abbreviation(TextStylePropertyName.FONT_KERNING, "fk");
+        abbreviation(TextStylePropertyName.FONT_SIZE, "fs");
+        abbreviation(TextStylePropertyName.FONT_STRETCH, "fst");
+        abbreviation(TextStylePropertyName.FONT_STYLE, "fsty");
+        abbreviation(TextStylePropertyName.FONT_VARIANT, "fv");
+        abbreviation(TextStylePropertyName.FONT_WEIGHT, "fw");
+        abbreviation(TextStylePropertyName.HANGING_PUNCTUATION, "hp");
+        abbreviation(TextStylePropertyName.HEIGHT, "h");
+        abbreviation(TextStylePropertyName.HYPHENS, "hy");
+        abbreviation(TextStylePropertyName.LETTER_SPACING, "ls");
+        abbreviation(TextStylePropertyName.LINE_HEIGHT, "lh");
+        abbreviation(TextStylePropertyName.LIST_STYLE_POSITION, "lsp");
+        abbreviation(TextStylePropertyName.LIST_STYLE_TYPE, "lst");
+        abbreviation(TextStylePropertyName.MARGIN_BOTTOM, "mb");
+        abbreviation(TextStylePropertyName.MARGIN_LEFT, "ml");
+        abbreviation(TextStylePropertyName.MARGIN_RIGHT, "mr");
+        abbreviation(TextStylePropertyName.MARGIN_TOP, "mt");
+        abbreviation(TextStylePropertyName.MAX_HEIGHT, "mh");
+        abbreviation(TextStylePropertyName.MAX_WIDTH, "mw");
+        abbreviation(TextStylePropertyName.MIN_HEIGHT, "mhe");
+        abbreviation(TextStylePropertyName.MIN_WIDTH, "mwi");
+        abbreviation(TextStylePropertyName.OPACITY, "o");
+        abbreviation(TextStylePropertyName.OUTLINE_COLOR, "oc");
+        abbreviation(TextStylePropertyName.OUTLINE_OFFSET, "oo");
+        abbreviation(TextStylePropertyName.OUTLINE_STYLE, "os");
+        abbreviation(TextStylePropertyName.OUTLINE_WIDTH, "ow");
+        abbreviation(TextStylePropertyName.OVERFLOW_WRAP, "owr");
+        abbreviation(TextStylePropertyName.OVERFLOW_X, "ox");
+        abbreviation(TextStylePropertyName.OVERFLOW_Y, "oy");
+        abbreviation(TextStylePropertyName.PADDING_BOTTOM, "pb");
+        abbreviation(TextStylePropertyName.PADDING_LEFT, "pl");
+        abbreviation(TextStylePropertyName.PADDING_RIGHT, "pr");
+        abbreviation(TextStylePropertyName.PADDING_TOP, "pt");
+        abbreviation(TextStylePropertyName.TAB_SIZE, "ts");
+        abbreviation(TextStylePropertyName.TEXT, "t");
+        abbreviation(TextStylePropertyName.TEXT_ALIGN, "ta");
+        abbreviation(TextStylePropertyName.TEXT_DECORATION_COLOR, "tdc");
+        abbreviation(TextStylePropertyName.TEXT_DECORATION_LINE, "tdl");
+        abbreviation(TextStylePropertyName.TEXT_DECORATION_STYLE, "tds");
+        abbreviation(TextStylePropertyName.TEXT_DECORATION_THICKNESS, "tdt");
+        abbreviation(TextStylePropertyName.TEXT_INDENT, "ti");
+        abbreviation(TextStylePropertyName.TEXT_JUSTIFY, "tj");
+        abbreviation(TextStylePropertyName.TEXT_OVERFLOW, "to");
+        abbreviation(TextStylePropertyName.TEXT_TRANSFORM, "tt");
+        abbreviation(TextStylePropertyName.TEXT_WRAPPING, "tw");
+        abbreviation(TextStylePropertyName.VERTICAL_ALIGN, "va");
+        abbreviation(TextStylePropertyName.VISIBILITY, "v");
+        abbreviation(TextStylePropertyName.WHITE_SPACE, "ws");
+        abbreviation(TextStylePropertyName.WIDTH, "w");
+        abbreviation(TextStylePropertyName.WORD_BREAK, "wb");
+        abbreviation(TextStylePropertyName.WORD_SPACING, "wsp");
+        abbreviation(TextStylePropertyName.WORD_WRAP, "ww");
+        abbreviation(TextStylePropertyName.WRITING_MODE, "wm");
+    }
+
+    private static void abbreviation(final TextStylePropertyName<?> name,
+                                     final String abbreviation) {
+        if (null != ABBREVIATED_NAMES.put(abbreviation, name)) {
+            throw new IllegalStateException("Duplicate abbreviation " + CharSequences.quote(abbreviation) + " for " + name);
+        }
+        ABBREVIATIONS[name.index()] = JsonPropertyName.with(abbreviation);
+    }
+
+    /**
+     * Returns the abbreviation for the given {@link TextStylePropertyName}.
+     */
+    static JsonPropertyName abbreviation(final TextStylePropertyName<?> name) {
+        final JsonPropertyName abbreviation = ABBREVIATIONS[name.index()];
+        if (null == abbreviation) {
+            throw new IllegalStateException("Missing abbreviation for " + name);
+        }
+        return abbreviation;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.abbreviatePropertyNames ?
+            "abbreviated" :
+            "full";
+    }
+}
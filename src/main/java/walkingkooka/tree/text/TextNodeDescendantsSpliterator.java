@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.visit.Visiting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link Spliterator} that returns {@link TextNode} in pre-order (depth first) using an explicit stack rather than
+ * recursion. Children are only pushed when the {@link Visiting} function returns {@link Visiting#CONTINUE}.
+ * Splitting hands the pending subtrees that would be returned first to the new {@link Spliterator}, so encounter
+ * order is kept.
+ */
+final class TextNodeDescendantsSpliterator implements Spliterator<TextNode> {
+
+    static TextNodeDescendantsSpliterator with(final List<TextNode> children,
+                                               final Function<TextNode, Visiting> visiting) {
+        final TextNodeDescendantsSpliterator spliterator = new TextNodeDescendantsSpliterator(
+            null,
+            visiting
+        );
+        spliterator.pushReversed(
+            children,
+            0,
+            children.size()
+        );
+        return spliterator;
+    }
+
+    private TextNodeDescendantsSpliterator(final TextNode self,
+                                           final Function<TextNode, Visiting> visiting) {
+        this.self = self;
+        this.stack = new ArrayList<>();
+        this.visiting = visiting;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super TextNode> action) {
+        TextNode next = this.self;
+
+        if (null != next) {
+            this.self = null;
+        } else {
+            final List<TextNode> stack = this.stack;
+            final int size = stack.size();
+
+            if (size > 0) {
+                next = stack.remove(size - 1);
+                this.pushChildren(next);
+            }
+        }
+
+        final boolean advanced = null != next;
+        if (advanced) {
+            action.accept(next);
+        }
+        return advanced;
+    }
+
+    /**
+     * When more than one subtree is pending the half that would be returned first is split off, otherwise a single
+     * pending subtree is split between its first and remaining children.
+     */
+    @Override
+    public Spliterator<TextNode> trySplit() {
+        final List<TextNode> stack = this.stack;
+        final int size = stack.size();
+
+        TextNodeDescendantsSpliterator prefix = null;
+
+        if (size > 1) {
+            prefix = new TextNodeDescendantsSpliterator(
+                this.self,
+                this.visiting
+            );
+            this.self = null;
+
+            final List<TextNode> top = stack.subList(
+                size / 2,
+                size
+            );
+            prefix.stack.addAll(top);
+            top.clear();
+        } else {
+            if (1 == size && null == this.self) {
+                final TextNode parent = stack.get(0);
+                final List<TextNode> children = parent.children();
+                final int count = children.size();
+
+                if (count > 1 && Visiting.CONTINUE == this.visiting.apply(parent)) {
+                    stack.clear();
+
+                    final int half = count / 2;
+                    this.pushReversed(
+                        children,
+                        half,
+                        count
+                    );
+
+                    prefix = new TextNodeDescendantsSpliterator(
+                        parent,
+                        this.visiting
+                    );
+                    prefix.pushReversed(
+                        children,
+                        0,
+                        half
+                    );
+                }
+            }
+        }
+
+        return prefix;
+    }
+
+    private void pushChildren(final TextNode node) {
+        final List<TextNode> children = node.children();
+        if (false == children.isEmpty() && Visiting.CONTINUE == this.visiting.apply(node)) {
+            this.pushReversed(
+                children,
+                0,
+                children.size()
+            );
+        }
+    }
+
+    private void pushReversed(final List<TextNode> children,
+                              final int from,
+                              final int to) {
+        final List<TextNode> stack = this.stack;
+
+        for (int i = to - 1; i >= from; i--) {
+            stack.add(children.get(i));
+        }
+    }
+
+    /**
+     * The number of descendants is unknown, the count of pending subtrees is a lower bound.
+     */
+    @Override
+    public long estimateSize() {
+        return this.stack.size() +
+            (null != this.self ? 1 : 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * A node that is returned before the stack without visiting its children, set when a single subtree is split.
+     */
+    private TextNode self;
+
+    /**
+     * Pending subtrees, the last element is the next to be returned.
+     */
+    private final List<TextNode> stack;
+
+    private final Function<TextNode, Visiting> visiting;
+
+    @Override
+    public String toString() {
+        return (null != this.self ? this.self + " " : "") + this.stack;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+
+/**
+ * Computes the {@link TextNodeEdit edits} between two {@link TextNode}. Children common to the start and end of both
+ * parents are skipped, the remaining children are paired and compared, with any surplus removed or inserted.
+ */
+final class TextNodeDiff {
+
+    static List<TextNodeEdit> diff(final TextNode before,
+                                   final TextNode after) {
+        final TextNodeDiff diff = new TextNodeDiff();
+        diff.node(
+            before,
+            after
+        );
+        return Lists.readOnly(diff.edits);
+    }
+
+    private TextNodeDiff() {
+        super();
+    }
+
+    private void node(final TextNode before,
+                      final TextNode after) {
+        if (false == same(before, after)) {
+            if (before.getClass() != after.getClass() || before instanceof TextLeafNode && false == before.isText()) {
+                this.edits.add(
+                    TextNodeEdit.replace(
+                        this.path,
+                        after
+                    )
+                );
+            } else {
+                if (before.isText()) {
+                    this.edits.add(
+                        TextNodeEdit.text(
+                            this.path,
+                            after.text()
+                        )
+                    );
+                } else {
+                    this.parent(
+                        (TextParentNode) before,
+                        (TextParentNode) after
+                    );
+                }
+            }
+        }
+    }
+
+    private void parent(final TextParentNode before,
+                        final TextParentNode after) {
+        final Object afterValue = after.structuralValue();
+
+        if (before.structuralValue().equals(afterValue)) {
+            this.children(
+                before.children(),
+                after.children()
+            );
+        } else {
+            // empty attributes would unwrap a TextStyleNode with a single child so replace the entire node
+            if (before.isStyle() && false == after.attributes().isEmpty()) {
+                this.edits.add(
+                    TextNodeEdit.style(
+                        this.path,
+                        after.attributes()
+                    )
+                );
+                this.children(
+                    before.children(),
+                    after.children()
+                );
+            } else {
+                this.edits.add(
+                    TextNodeEdit.replace(
+                        this.path,
+                        after
+                    )
+                );
+            }
+        }
+    }
+
+    private void children(final List<TextNode> before,
+                          final List<TextNode> after) {
+        final int beforeCount = before.size();
+        final int afterCount = after.size();
+
+        int start = 0;
+        final int min = Math.min(beforeCount, afterCount);
+        while (start < min && same(before.get(start), after.get(start))) {
+            start++;
+        }
+
+        int beforeEnd = beforeCount;
+        int afterEnd = afterCount;
+        while (beforeEnd > start && afterEnd > start && same(before.get(beforeEnd - 1), after.get(afterEnd - 1))) {
+            beforeEnd--;
+            afterEnd--;
+        }
+
+        final List<Integer> path = this.path;
+        final int pairs = Math.min(beforeEnd, afterEnd) - start;
+
+        for (int i = start; i < start + pairs; i++) {
+            path.add(i);
+            this.node(
+                before.get(i),
+                after.get(i)
+            );
+            path.remove(path.size() - 1);
+        }
+
+        final int index = start + pairs;
+        path.add(index);
+
+        for (int i = index; i < beforeEnd; i++) {
+            this.edits.add(
+                TextNodeEdit.remove(path)
+            );
+        }
+
+        for (int i = index; i < afterEnd; i++) {
+            path.set(path.size() - 1, i);
+            this.edits.add(
+                TextNodeEdit.insert(
+                    path,
+                    after.get(i)
+                )
+            );
+        }
+
+        path.remove(path.size() - 1);
+    }
+
+    /**
+     * Leaves are compared directly, while parents are compared using their cached {@link TextNode#structuralHash()}
+     * and {@link TextNode#hashCode()}, which together form a 96 bit Merkle hash of the subtree, so an unchanged subtree
+     * is never walked. Two different subtrees would need to collide in both, the 64 bit FNV hash and the
+     * {@link java.util.List#hashCode()} style hash, to be treated as the same.
+     */
+    static boolean same(final TextNode before,
+                        final TextNode after) {
+        return before == after ||
+            before.getClass() == after.getClass() &&
+                (before instanceof TextLeafNode ?
+                    before.equals(after) :
+                    before.structuralHash() == after.structuralHash() && before.hashCode() == after.hashCode());
+    }
+
+    /**
+     * The path of the current node, edits take a copy.
+     */
+    private final List<Integer> path = Lists.array();
+
+    private final List<TextNodeEdit> edits = Lists.array();
+
+    @Override
+    public String toString() {
+        return this.path + " " + this.edits;
+    }
+}
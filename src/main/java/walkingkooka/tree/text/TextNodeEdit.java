@@ -0,0 +1,265 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A single change to a {@link TextNode}, addressed by a path of child indices relative to the {@link TextNode}
+ * the edit is applied to. A list of edits is returned by {@link TextNode#diff(TextNode)}.
+ */
+public abstract class TextNodeEdit {
+
+    /**
+     * {@see TextNodeEditInsert}
+     */
+    public static TextNodeEditInsert insert(final List<Integer> path,
+                                            final TextNode node) {
+        return TextNodeEditInsert.with(
+            path,
+            node
+        );
+    }
+
+    /**
+     * {@see TextNodeEditRemove}
+     */
+    public static TextNodeEditRemove remove(final List<Integer> path) {
+        return TextNodeEditRemove.with(path);
+    }
+
+    /**
+     * {@see TextNodeEditReplace}
+     */
+    public static TextNodeEditReplace replace(final List<Integer> path,
+                                              final TextNode node) {
+        return TextNodeEditReplace.with(
+            path,
+            node
+        );
+    }
+
+    /**
+     * {@see TextNodeEditStyle}
+     */
+    public static TextNodeEditStyle style(final List<Integer> path,
+                                          final Map<TextStylePropertyName<?>, Object> attributes) {
+        return TextNodeEditStyle.with(
+            path,
+            attributes
+        );
+    }
+
+    /**
+     * {@see TextNodeEditText}
+     */
+    public static TextNodeEditText text(final List<Integer> path,
+                                        final String text) {
+        return TextNodeEditText.with(
+            path,
+            text
+        );
+    }
+
+    static List<Integer> checkPath(final List<Integer> path) {
+        Objects.requireNonNull(path, "path");
+
+        final List<Integer> copy = Lists.immutable(path);
+        for (final Integer index : copy) {
+            if (null == index || index < 0) {
+                throw new IllegalArgumentException("Invalid path " + path);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Paths that identify a child must include at least the index of the child.
+     */
+    static List<Integer> checkChildPath(final List<Integer> path) {
+        final List<Integer> copy = checkPath(path);
+        if (copy.isEmpty()) {
+            throw new IllegalArgumentException("Path must not be empty");
+        }
+        return copy;
+    }
+
+    /**
+     * Package private to limit sub classing.
+     */
+    TextNodeEdit(final List<Integer> path) {
+        super();
+        this.path = path;
+    }
+
+    /**
+     * The child indices from the {@link TextNode} given to {@link #apply(TextNode)} to the node being edited.
+     */
+    public final List<Integer> path() {
+        return this.path;
+    }
+
+    final List<Integer> path;
+
+    /**
+     * Applies this edit to the given {@link TextNode}, returning the equivalent {@link TextNode} in the new tree.
+     */
+    public final TextNode apply(final TextNode node) {
+        Objects.requireNonNull(node, "node");
+
+        return this.apply0(node);
+    }
+
+    abstract TextNode apply0(final TextNode node);
+
+    /**
+     * Follows the first depth indices of the path, failing if a child is missing.
+     */
+    final TextNode node(final TextNode node,
+                        final int depth) {
+        TextNode current = node;
+
+        for (int i = 0; i < depth; i++) {
+            final List<TextNode> children = current.children();
+            final int index = this.path.get(i);
+            if (index >= children.size()) {
+                throw new IllegalArgumentException("Invalid path " + this.path + " for " + node);
+            }
+            current = children.get(index);
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns the parent of the node identified by the path.
+     */
+    final TextNode parent(final TextNode node) {
+        return this.node(
+            node,
+            this.path.size() - 1
+        );
+    }
+
+    /**
+     * The index of the node identified by the path within its parent.
+     */
+    final int childIndex() {
+        final List<Integer> path = this.path;
+        return path.get(path.size() - 1);
+    }
+
+    /**
+     * Returns a mutable copy of the children of the given parent.
+     */
+    static List<TextNode> children(final TextNode parent) {
+        final List<TextNode> children = Lists.array();
+        children.addAll(parent.children());
+        return children;
+    }
+
+    /**
+     * Sets the children of the parent returned by {@link #parent(TextNode)} and returns the equivalent of the
+     * {@link TextNode} given to {@link #apply(TextNode)}.
+     */
+    final TextNode setChildren(final TextNode parent,
+                               final List<TextNode> children) {
+        TextNode node = parent.setChildren(children);
+
+        for (int i = this.path.size() - 1; i > 0; i--) {
+            node = node.parent()
+                .get();
+        }
+
+        return node;
+    }
+
+    /**
+     * Replaces the node identified by the path with the given {@link TextNode}.
+     */
+    final TextNode replaceNode(final TextNode node,
+                               final TextNode replacement) {
+        final TextNode result;
+
+        if (this.path.isEmpty()) {
+            result = replacement;
+        } else {
+            final TextNode parent = this.parent(node);
+            final List<TextNode> children = children(parent);
+            children.set(
+                this.childIndex(),
+                replacement
+            );
+            result = this.setChildren(
+                parent,
+                children
+            );
+        }
+
+        return result;
+    }
+
+    /**
+     * The value of this edit, or null if it has none.
+     */
+    abstract Object value();
+
+    /**
+     * Used by {@link #toString()} to identify the type of edit.
+     */
+    abstract String label();
+
+    // Object...........................................................................................................
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(
+            this.path,
+            this.value()
+        );
+    }
+
+    @Override
+    public final boolean equals(final Object other) {
+        return this == other ||
+            null != other && this.getClass() == other.getClass() && this.equals0(Cast.to(other));
+    }
+
+    private boolean equals0(final TextNodeEdit other) {
+        return this.path.equals(other.path) &&
+            Objects.equals(this.value(), other.value());
+    }
+
+    @Override
+    public final String toString() {
+        final Object value = this.value();
+
+        return this.label() +
+            " " +
+            this.path +
+            (null == value ?
+                "" :
+                " " + (value instanceof String ? CharSequences.quoteAndEscape((String) value) : value));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Inserts the given {@link TextNode} as a new child at the index given by the last element of the path.
+ */
+public final class TextNodeEditInsert extends TextNodeEdit {
+
+    static TextNodeEditInsert with(final List<Integer> path,
+                                   final TextNode node) {
+        return new TextNodeEditInsert(
+            checkChildPath(path),
+            Objects.requireNonNull(node, "node")
+        );
+    }
+
+    private TextNodeEditInsert(final List<Integer> path,
+                               final TextNode node) {
+        super(path);
+        this.node = node;
+    }
+
+    /**
+     * The {@link TextNode} inserted.
+     */
+    public TextNode node() {
+        return this.node;
+    }
+
+    private final TextNode node;
+
+    @Override //
+    TextNode apply0(final TextNode node) {
+        final TextNode parent = this.parent(node);
+        final List<TextNode> children = children(parent);
+
+        final int index = this.childIndex();
+        if (index > children.size()) {
+            throw new IllegalArgumentException("Invalid path " + this.path + " for " + node);
+        }
+        children.add(
+            index,
+            this.node
+        );
+
+        return this.setChildren(
+            parent,
+            children
+        );
+    }
+
+    @Override //
+    Object value() {
+        return this.node;
+    }
+
+    @Override //
+    String label() {
+        return "insert";
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.util.List;
+
+/**
+ * Removes the child identified by the path.
+ */
+public final class TextNodeEditRemove extends TextNodeEdit {
+
+    static TextNodeEditRemove with(final List<Integer> path) {
+        return new TextNodeEditRemove(
+            checkChildPath(path)
+        );
+    }
+
+    private TextNodeEditRemove(final List<Integer> path) {
+        super(path);
+    }
+
+    @Override //
+    TextNode apply0(final TextNode node) {
+        final TextNode parent = this.parent(node);
+        final List<TextNode> children = children(parent);
+
+        final int index = this.childIndex();
+        if (index >= children.size()) {
+            throw new IllegalArgumentException("Invalid path " + this.path + " for " + node);
+        }
+        children.remove(index);
+
+        return this.setChildren(
+            parent,
+            children
+        );
+    }
+
+    @Override //
+    Object value() {
+        return null;
+    }
+
+    @Override //
+    String label() {
+        return "remove";
+    }
+}
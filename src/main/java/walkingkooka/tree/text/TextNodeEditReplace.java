@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Replaces the node identified by the path, an empty path replaces the entire {@link TextNode}.
+ */
+public final class TextNodeEditReplace extends TextNodeEdit {
+
+    static TextNodeEditReplace with(final List<Integer> path,
+                                    final TextNode node) {
+        return new TextNodeEditReplace(
+            checkPath(path),
+            Objects.requireNonNull(node, "node")
+        );
+    }
+
+    private TextNodeEditReplace(final List<Integer> path,
+                                final TextNode node) {
+        super(path);
+        this.node = node;
+    }
+
+    /**
+     * The replacement {@link TextNode}.
+     */
+    public TextNode node() {
+        return this.node;
+    }
+
+    private final TextNode node;
+
+    @Override //
+    TextNode apply0(final TextNode node) {
+        return this.replaceNode(
+            node,
+            this.node
+        );
+    }
+
+    @Override //
+    Object value() {
+        return this.node;
+    }
+
+    @Override //
+    String label() {
+        return "replace";
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Replaces the attributes of the {@link TextStyleNode} identified by the path, keeping its children.
+ */
+public final class TextNodeEditStyle extends TextNodeEdit {
+
+    static TextNodeEditStyle with(final List<Integer> path,
+                                  final Map<TextStylePropertyName<?>, Object> attributes) {
+        return new TextNodeEditStyle(
+            checkPath(path),
+            TextStylePropertiesMap.with(
+                Objects.requireNonNull(attributes, "attributes")
+            )
+        );
+    }
+
+    private TextNodeEditStyle(final List<Integer> path,
+                              final Map<TextStylePropertyName<?>, Object> attributes) {
+        super(path);
+        this.attributes = attributes;
+    }
+
+    /**
+     * The new attributes.
+     */
+    public Map<TextStylePropertyName<?>, Object> attributes() {
+        return this.attributes;
+    }
+
+    private final Map<TextStylePropertyName<?>, Object> attributes;
+
+    @Override //
+    TextNode apply0(final TextNode node) {
+        final TextNode style = this.node(
+            node,
+            this.path.size()
+        );
+        if (false == style.isStyle()) {
+            throw new IllegalArgumentException("Invalid path " + this.path + " expected " + TextStyleNode.NAME + " got " + style.name());
+        }
+
+        return this.replaceNode(
+            node,
+            style.removeParent()
+                .setAttributes(this.attributes)
+        );
+    }
+
+    @Override //
+    Object value() {
+        return this.attributes;
+    }
+
+    @Override //
+    String label() {
+        return "style";
+    }
+}
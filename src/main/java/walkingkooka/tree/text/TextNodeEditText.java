@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Replaces the text of the {@link Text} identified by the path.
+ */
+public final class TextNodeEditText extends TextNodeEdit {
+
+    static TextNodeEditText with(final List<Integer> path,
+                                 final String text) {
+        return new TextNodeEditText(
+            checkPath(path),
+            Objects.requireNonNull(text, "text")
+        );
+    }
+
+    private TextNodeEditText(final List<Integer> path,
+                             final String text) {
+        super(path);
+        this.text = text;
+    }
+
+    /**
+     * The new text.
+     */
+    public String text() {
+        return this.text;
+    }
+
+    private final String text;
+
+    @Override //
+    TextNode apply0(final TextNode node) {
+        final TextNode text = this.node(
+            node,
+            this.path.size()
+        );
+        if (false == text.isText()) {
+            throw new IllegalArgumentException("Invalid path " + this.path + " expected " + Text.NAME + " got " + text.name());
+        }
+
+        return this.replaceNode(
+            node,
+            TextNode.text(this.text)
+        );
+    }
+
+    @Override //
+    Object value() {
+        return this.text;
+    }
+
+    @Override //
+    String label() {
+        return "text";
+    }
+}
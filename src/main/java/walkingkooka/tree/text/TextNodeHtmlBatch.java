@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Renders the HTML for many {@link TextNode}, such as the visible cells of a grid, in parallel using an
+ * {@link Executor}. Cells are split into tasks of {@link #CELLS_PER_TASK} consecutive cells, each fragment is written
+ * into the slot for its cell, so the output order always matches the input order regardless of which task finishes
+ * first. Cells created from the same {@link TextStyle} share a single {@link TextStyle#text() CSS} string.
+ * <br>
+ * Results are given to a {@link Consumer} by the thread that completes the last task, or the first {@link Throwable}
+ * if any cell failed or the {@link Executor} rejected a task.
+ * <br>
+ * When the {@link HtmlOptions} has {@link HtmlStyleClasses}, class names are assigned to every {@link TextStyle} in
+ * cell order before any task is started, so the output does not depend on which task runs first. The rules for those
+ * classes are available from {@link HtmlStyleClasses#styleSheet()}.
+ */
+public final class TextNodeHtmlBatch {
+
+    /**
+     * The number of consecutive cells rendered by a single task.
+     */
+    public final static int CELLS_PER_TASK = 64;
+
+    public static TextNodeHtmlBatch with(final HtmlOptions options,
+                                         final Executor executor) {
+        return new TextNodeHtmlBatch(
+            Objects.requireNonNull(options, "options"),
+            Objects.requireNonNull(executor, "executor")
+        );
+    }
+
+    private TextNodeHtmlBatch(final HtmlOptions options,
+                              final Executor executor) {
+        this.options = options;
+        this.executor = executor;
+    }
+
+    /**
+     * Renders the HTML for each cell, giving the fragments in the same order as the cells.
+     */
+    public void fragments(final List<TextNode> cells,
+                          final Consumer<List<String>> fragments,
+                          final Consumer<Throwable> failure) {
+        Objects.requireNonNull(cells, "cells");
+        Objects.requireNonNull(fragments, "fragments");
+        Objects.requireNonNull(failure, "failure");
+
+        this.render(
+            cells.toArray(new TextNode[0]),
+            (f) -> fragments.accept(
+                Lists.of(f)
+            ),
+            failure
+        );
+    }
+
+    /**
+     * Renders each row of cells into a single <code>TABLE</code> with a <code>TR</code> for each row and a
+     * <code>TD</code> for each cell.
+     */
+    public void table(final List<List<TextNode>> rows,
+                      final Consumer<String> table,
+                      final Consumer<Throwable> failure) {
+        Objects.requireNonNull(rows, "rows");
+        Objects.requireNonNull(table, "table");
+        Objects.requireNonNull(failure, "failure");
+
+        final int rowCount = rows.size();
+        final int[] cellCounts = new int[rowCount];
+        final List<TextNode> cells = Lists.array();
+
+        for (int i = 0; i < rowCount; i++) {
+            final List<TextNode> row = rows.get(i);
+            cellCounts[i] = row.size();
+            cells.addAll(row);
+        }
+
+        this.render(
+            cells.toArray(new TextNode[0]),
+            (f) -> table.accept(
+                table(
+                    cellCounts,
+                    f
+                )
+            ),
+            failure
+        );
+    }
+
+    private static String table(final int[] cellCounts,
+                                final String[] fragments) {
+        int length = 0;
+        for (final String fragment : fragments) {
+            length += fragment.length();
+        }
+
+        final StringBuilder html = new StringBuilder(length + fragments.length * 9 + cellCounts.length * 9 + 15);
+        html.append("<TABLE>");
+
+        int cell = 0;
+        for (final int cellCount : cellCounts) {
+            html.append("<TR>");
+
+            for (int i = 0; i < cellCount; i++) {
+                html.append("<TD>");
+                html.append(fragments[cell++]);
+                html.append("</TD>");
+            }
+
+            html.append("</TR>");
+        }
+
+        html.append("</TABLE>");
+        return html.toString();
+    }
+
+    private void render(final TextNode[] cells,
+                        final Consumer<String[]> fragments,
+                        final Consumer<Throwable> failure) {
+        final HtmlOptions options = this.options;
+
+        final HtmlStyleClasses styleClasses = options.styleClasses;
+        if (null != styleClasses) {
+            styleClasses.assign(
+                Lists.of(cells)
+            );
+        }
+
+        final TextNodeHtmlBatchRender render = TextNodeHtmlBatchRender.with(
+            cells,
+            options,
+            fragments,
+            failure
+        );
+
+        final int count = cells.length;
+        if (0 == count) {
+            render.complete();
+        } else {
+            for (int start = 0; start < count; start += CELLS_PER_TASK) {
+                final int from = start;
+                final int to = Math.min(
+                    start + CELLS_PER_TASK,
+                    count
+                );
+
+                final boolean[] started = new boolean[1];
+                try {
+                    this.executor.execute(
+                        () -> {
+                            started[0] = true;
+                            render.render(
+                                from,
+                                to
+                            );
+                        }
+                    );
+                } catch (final Throwable cause) {
+                    // a task run by the caller may have thrown from a Consumer
+                    if (started[0]) {
+                        throw cause;
+                    }
+
+                    // this and all following tasks will never run
+                    render.unscheduled(
+                        (count - start + CELLS_PER_TASK - 1) / CELLS_PER_TASK,
+                        cause
+                    );
+                    break;
+                }
+            }
+        }
+    }
+
+    private final HtmlOptions options;
+
+    private final Executor executor;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.options + " " + this.executor;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.util.function.Consumer;
+
+/**
+ * The state of a single {@link TextNodeHtmlBatch} render, shared by all its tasks. Each task writes the fragments for
+ * its range of cells, and the last task to finish gives the fragments or first failure to the matching
+ * {@link Consumer}.
+ */
+final class TextNodeHtmlBatchRender {
+
+    static TextNodeHtmlBatchRender with(final TextNode[] cells,
+                                        final HtmlOptions options,
+                                        final Consumer<String[]> fragments,
+                                        final Consumer<Throwable> failure) {
+        return new TextNodeHtmlBatchRender(
+            cells,
+            options,
+            fragments,
+            failure
+        );
+    }
+
+    private TextNodeHtmlBatchRender(final TextNode[] cells,
+                                    final HtmlOptions options,
+                                    final Consumer<String[]> fragments,
+                                    final Consumer<Throwable> failure) {
+        this.cells = cells;
+        this.options = options;
+        this.fragments = fragments;
+        this.failure = failure;
+
+        final int count = cells.length;
+        this.results = new String[count];
+        this.remaining = (count + TextNodeHtmlBatch.CELLS_PER_TASK - 1) / TextNodeHtmlBatch.CELLS_PER_TASK;
+    }
+
+    /**
+     * Renders the cells from start to end, and if this was the last task completes the render.
+     */
+    void render(final int start,
+                final int end) {
+        Throwable thrown = null;
+
+        try {
+            final TextNode[] cells = this.cells;
+            final String[] results = this.results;
+            final HtmlOptions options = this.options;
+
+            for (int i = start; i < end; i++) {
+                final StringBuilder html = new StringBuilder();
+                cells[i].toHtml(
+                    html,
+                    options
+                );
+                results[i] = html.toString();
+            }
+        } catch (final Throwable cause) {
+            thrown = cause;
+        }
+
+        this.finished(
+            1,
+            thrown
+        );
+    }
+
+    /**
+     * Records the failure to schedule the given number of tasks, which will never run, completing the render if no
+     * other tasks remain.
+     */
+    void unscheduled(final int tasks,
+                     final Throwable cause) {
+        this.finished(
+            tasks,
+            cause
+        );
+    }
+
+    private void finished(final int tasks,
+                          final Throwable thrown) {
+        final boolean last;
+        synchronized (this) {
+            if (null == this.thrown) {
+                this.thrown = thrown;
+            }
+            this.remaining -= tasks;
+            last = 0 == this.remaining;
+        }
+
+        if (last) {
+            this.complete();
+        }
+    }
+
+    /**
+     * Gives the fragments or the first failure to the matching {@link Consumer}. The lock taken when the last task
+     * finished makes the results written by every task visible.
+     */
+    void complete() {
+        final Throwable thrown;
+        synchronized (this) {
+            thrown = this.thrown;
+        }
+
+        if (null == thrown) {
+            this.fragments.accept(this.results);
+        } else {
+            this.failure.accept(thrown);
+        }
+    }
+
+    private final TextNode[] cells;
+
+    private final HtmlOptions options;
+
+    private final String[] results;
+
+    private final Consumer<String[]> fragments;
+
+    private final Consumer<Throwable> failure;
+
+    /**
+     * The number of tasks that have not finished.
+     */
+    private int remaining;
+
+    /**
+     * The first failure of any task.
+     */
+    private Throwable thrown;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.cells.length + " cells " + this.remaining + " tasks remaining";
+    }
+}
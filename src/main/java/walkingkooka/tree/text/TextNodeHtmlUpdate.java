@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The replacement HTML for a single element that changed between two {@link TextNode}, returned by
+ * {@link TextNode#toHtmlUpdates(TextNode)}. The path holds DOM element child indices, the same as walking
+ * {@code Element.children} from the element of the root {@link TextNode}, which are the same in both the before and
+ * after HTML. Text and whitespace are not counted, so the path also works for a document rendered with indentation.
+ * An empty path replaces the HTML of the entire {@link TextNode}.
+ * <br>
+ * Only {@link TextStyleNode}, {@link Hyperlink}, {@link TextStyleNameNode} and {@link Image} render a single HTML
+ * element, while a {@link Badge} root renders only its child and adjacent {@link Text} merge into a single DOM text node.
+ * A changed element is only patched in place when the rest of its parent including all text is unchanged, otherwise
+ * the closest element ancestor is replaced. The HTML is {@link HtmlOptions#MINIFIED minified}, the same as the element
+ * within a document written using {@link TextNode#toHtml(Appendable, HtmlOptions)} with {@link HtmlOptions#MINIFIED}.
+ */
+public final class TextNodeHtmlUpdate {
+
+    static List<TextNodeHtmlUpdate> updates(final TextNode before,
+                                            final TextNode after) {
+        final List<TextNodeHtmlUpdate> updates = Lists.array();
+        updates(
+            before,
+            after,
+            Lists.array(),
+            updates
+        );
+        return Lists.readOnly(updates);
+    }
+
+    private static void updates(final TextNode before,
+                                final TextNode after,
+                                final List<Integer> path,
+                                final List<TextNodeHtmlUpdate> updates) {
+        if (false == TextNodeDiff.same(before, after)) {
+            if (isChildrenOnlyElementChanges(before, after)) {
+                final List<TextNode> beforeChildren = before.children();
+                final List<TextNode> afterChildren = after.children();
+                final int count = beforeChildren.size();
+
+                // text is not counted by Element.children
+                int elementIndex = 0;
+
+                for (int i = 0; i < count; i++) {
+                    final TextNode beforeChild = beforeChildren.get(i);
+                    if (isElement(beforeChild)) {
+                        path.add(elementIndex);
+                        updates(
+                            beforeChild,
+                            afterChildren.get(i),
+                            path,
+                            updates
+                        );
+                        path.remove(path.size() - 1);
+                        elementIndex++;
+                    }
+                }
+            } else {
+                updates.add(
+                    with(
+                        path,
+                        minifiedHtml(after)
+                    )
+                );
+            }
+        }
+    }
+
+    /**
+     * Returns true if both are the same element with the same value and child count, and every changed child
+     * is an element in both, so each may be replaced without replacing the parent.
+     */
+    private static boolean isChildrenOnlyElementChanges(final TextNode before,
+                                                        final TextNode after) {
+        boolean patch = before.getClass() == after.getClass() &&
+            before instanceof TextParentNode &&
+            isElement(before) &&
+            ((TextParentNode) before).structuralValue()
+                .equals(((TextParentNode) after).structuralValue());
+
+        if (patch) {
+            final List<TextNode> beforeChildren = before.children();
+            final List<TextNode> afterChildren = after.children();
+            final int count = beforeChildren.size();
+
+            patch = count == afterChildren.size();
+
+            for (int i = 0; patch && i < count; i++) {
+                final TextNode beforeChild = beforeChildren.get(i);
+                final TextNode afterChild = afterChildren.get(i);
+
+                patch = TextNodeDiff.same(beforeChild, afterChild) ||
+                    isElement(beforeChild) && isElement(afterChild);
+            }
+        }
+
+        return patch;
+    }
+
+    /**
+     * Only these {@link TextNode} render a single HTML element, {@link Text} may merge with adjacent text,
+     * {@link Badge} only renders its child and {@link Flag} renders character references.
+     */
+    private static boolean isElement(final TextNode node) {
+        return node.isStyle() ||
+            node.isHyperlink() ||
+            node.isStyleName() ||
+            node instanceof Image;
+    }
+
+    private static String minifiedHtml(final TextNode node) {
+        final StringBuilder html = new StringBuilder();
+        try {
+            node.buildMinifiedHtml(
+                HtmlOptions.MINIFIED,
+                html
+            );
+        } catch (final IOException cause) {
+            throw new IllegalStateException(cause);
+        }
+        return html.toString();
+    }
+
+    static TextNodeHtmlUpdate with(final List<Integer> path,
+                                   final String html) {
+        return new TextNodeHtmlUpdate(
+            Lists.immutable(path),
+            html
+        );
+    }
+
+    private TextNodeHtmlUpdate(final List<Integer> path,
+                               final String html) {
+        this.path = path;
+        this.html = html;
+    }
+
+    /**
+     * The DOM element child indices of the element being replaced.
+     */
+    public List<Integer> path() {
+        return this.path;
+    }
+
+    private final List<Integer> path;
+
+    /**
+     * The new minified HTML for the element.
+     */
+    public String html() {
+        return this.html;
+    }
+
+    private final String html;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.path,
+            this.html
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof TextNodeHtmlUpdate && this.equals0((TextNodeHtmlUpdate) other);
+    }
+
+    private boolean equals0(final TextNodeHtmlUpdate other) {
+        return this.path.equals(other.path) &&
+            this.html.equals(other.html);
+    }
+
+    @Override
+    public String toString() {
+        return this.path + " " + CharSequences.quoteAndEscape(this.html);
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.map.Maps;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the HTML of {@link TextNode} directly as UTF-8 bytes to an {@link OutputStream}, without first building a
+ * {@link String}. Tags are written from pre-encoded byte arrays, the open tag for each {@link TextStyle} is encoded
+ * once and reused, and {@link Text} is escaped and encoded in a single pass. Bytes are buffered until the buffer is
+ * full or {@link #flush()} is called.
+ * <br>
+ * {@link HtmlOptions#MINIFIED minified} HTML is written directly, while indented HTML or {@link HtmlOptions} with a
+ * {@link HtmlFragmentCache} are rendered using {@link TextNode#toHtml(Appendable, HtmlOptions)} with this as the
+ * {@link Appendable}.
+ */
+public final class TextNodeHtmlUtf8Writer implements Appendable {
+
+    public static TextNodeHtmlUtf8Writer with(final OutputStream output,
+                                              final HtmlOptions options) {
+        return new TextNodeHtmlUtf8Writer(
+            Objects.requireNonNull(output, "output"),
+            Objects.requireNonNull(options, "options")
+        );
+    }
+
+    private TextNodeHtmlUtf8Writer(final OutputStream output,
+                                   final HtmlOptions options) {
+        this.output = output;
+        this.options = options;
+        this.direct = options.isMinified() && null == options.fragmentCache;
+    }
+
+    /**
+     * Writes the HTML for the given {@link TextNode}.
+     */
+    public void write(final TextNode node) throws IOException {
+        Objects.requireNonNull(node, "node");
+
+        if (this.direct) {
+            this.node(node);
+        } else {
+            node.toHtml(
+                this,
+                this.options
+            );
+        }
+    }
+
+    private void node(final TextNode node) throws IOException {
+        if (node instanceof Text) {
+            this.escape(
+                node.text()
+            );
+        } else if (node instanceof Badge) {
+            this.children(node);
+        } else if (node instanceof Hyperlink) {
+            this.write(A_HREF);
+            this.encode(
+                node.<Hyperlink>cast()
+                    .url()
+                    .toString()
+            );
+
+            final List<TextNode> children = node.children();
+            if (children.isEmpty()) {
+                this.write(QUOTE_SLASH_GT);
+            } else {
+                this.write(QUOTE_GT);
+                this.children(node);
+                this.write(A_CLOSE);
+            }
+        } else if (node instanceof TextStyleNameNode) {
+            this.write(SPAN_CLASS);
+            this.encode(
+                node.<TextStyleNameNode>cast()
+                    .styleName()
+                    .value()
+            );
+            this.write(QUOTE_GT);
+            this.children(node);
+            this.write(SPAN_CLOSE);
+        } else if (node instanceof TextStyleNode) {
+            this.write(
+                this.styleOpenTag(
+                    node.textStyle()
+                )
+            );
+            this.children(node);
+            this.write(SPAN_CLOSE);
+        } else {
+            // Flag, Image and TextPlaceholderNode which fails
+            this.encode(
+                node.toHtml()
+            );
+        }
+    }
+
+    private void children(final TextNode node) throws IOException {
+        for (final TextNode child : node.children()) {
+            this.node(child);
+        }
+    }
+
+    /**
+     * Returns the encoded SPAN open tag for the given {@link TextStyle}, encoding it the first time the
+     * {@link TextStyle} is seen.
+     */
+    private byte[] styleOpenTag(final TextStyle style) {
+        final Map<TextStyle, byte[]> openTags = this.styleOpenTags;
+
+        byte[] openTag = openTags.get(style);
+        if (null == openTag) {
+            final HtmlStyleClasses styleClasses = this.options.styleClasses;
+            final String className = null == styleClasses ?
+                null :
+                styleClasses.get(style)
+                    .orElse(null);
+
+            openTag = utf8(
+                null == className ?
+                    "<SPAN style=\"" + style.text() + "\">" :
+                    "<SPAN class=\"" + className + "\">"
+            );
+            openTags.put(
+                style,
+                openTag
+            );
+        }
+        return openTag;
+    }
+
+    /**
+     * The encoded open tag for each {@link TextStyle}, which lives as long as this writer.
+     */
+    private final Map<TextStyle, byte[]> styleOpenTags = Maps.hash();
+
+    private final HtmlOptions options;
+
+    /**
+     * When true {@link TextNode} are written directly by {@link #node(TextNode)}.
+     */
+    private final boolean direct;
+
+    // Appendable.......................................................................................................
+
+    @Override
+    public TextNodeHtmlUtf8Writer append(final CharSequence chars) throws IOException {
+        final CharSequence c = null == chars ?
+            "null" :
+            chars;
+        return this.append(
+            c,
+            0,
+            c.length()
+        );
+    }
+
+    @Override
+    public TextNodeHtmlUtf8Writer append(final CharSequence chars,
+                                         final int start,
+                                         final int end) throws IOException {
+        final CharSequence c = null == chars ?
+            "null" :
+            chars;
+        for (int i = start; i < end; i++) {
+            this.append(
+                c.charAt(i)
+            );
+        }
+        return this;
+    }
+
+    @Override
+    public TextNodeHtmlUtf8Writer append(final char c) throws IOException {
+        this.encode(c);
+        return this;
+    }
+
+    // escape/encode....................................................................................................
+
+    /**
+     * Escapes and encodes the given text in a single pass.
+     */
+    private void escape(final String text) throws IOException {
+        final int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            final byte[] entity = c < ENTITIES.length ?
+                ENTITIES[c] :
+                null;
+
+            if (null != entity) {
+                this.write(entity);
+            } else {
+                this.encode(c);
+            }
+        }
+    }
+
+    private void encode(final String text) throws IOException {
+        final int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            this.encode(
+                text.charAt(i)
+            );
+        }
+    }
+
+    /**
+     * Encodes a single char, a high surrogate is held until the following low surrogate. Unpaired surrogates are
+     * written as <code>?</code> matching {@link String#getBytes(java.nio.charset.Charset)}.
+     */
+    private void encode(final char c) throws IOException {
+        final char highSurrogate = this.highSurrogate;
+
+        if (0 != highSurrogate) {
+            this.highSurrogate = 0;
+
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(
+                    highSurrogate,
+                    c
+                );
+                this.write(0xF0 | (codePoint >> 18));
+                this.write(0x80 | ((codePoint >> 12) & 0x3F));
+                this.write(0x80 | ((codePoint >> 6) & 0x3F));
+                this.write(0x80 | (codePoint & 0x3F));
+                return;
+            }
+            this.write('?');
+        }
+
+        if (c < 0x80) {
+            this.write((int) c);
+        } else if (c < 0x800) {
+            this.write(0xC0 | (c >> 6));
+            this.write(0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            this.highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            this.write('?');
+        } else {
+            this.write(0xE0 | (c >> 12));
+            this.write(0x80 | ((c >> 6) & 0x3F));
+            this.write(0x80 | (c & 0x3F));
+        }
+    }
+
+    /**
+     * A high surrogate waiting for its low surrogate or 0.
+     */
+    private char highSurrogate;
+
+    // buffer...........................................................................................................
+
+    private void write(final int b) throws IOException {
+        if (BUFFER_SIZE == this.position) {
+            this.writeBuffer();
+        }
+        this.buffer[this.position++] = (byte) b;
+    }
+
+    private void write(final byte[] bytes) throws IOException {
+        final int length = bytes.length;
+        if (this.position + length > BUFFER_SIZE) {
+            this.writeBuffer();
+        }
+
+        if (length > BUFFER_SIZE) {
+            this.output.write(bytes);
+        } else {
+            System.arraycopy(
+                bytes,
+                0,
+                this.buffer,
+                this.position,
+                length
+            );
+            this.position += length;
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        this.output.write(
+            this.buffer,
+            0,
+            this.position
+        );
+        this.position = 0;
+    }
+
+    /**
+     * Writes all buffered bytes and flushes the {@link OutputStream}. A trailing unpaired high surrogate is written
+     * as <code>?</code>.
+     */
+    public void flush() throws IOException {
+        if (0 != this.highSurrogate) {
+            this.highSurrogate = 0;
+            this.write('?');
+        }
+        this.writeBuffer();
+        this.output.flush();
+    }
+
+    /**
+     * Fragments such as a long {@link TextStyle} open tag that are larger than the buffer are written directly.
+     */
+    private final static int BUFFER_SIZE = 8192;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+
+    private final OutputStream output;
+
+    // fragments........................................................................................................
+
+    private static byte[] utf8(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private final static byte[] A_HREF = utf8("<A href=\"");
+
+    private final static byte[] A_CLOSE = utf8("</A>");
+
+    private final static byte[] SPAN_CLASS = utf8("<SPAN class=\"");
+
+    private final static byte[] SPAN_CLOSE = utf8("</SPAN>");
+
+    private final static byte[] QUOTE_GT = utf8("\">");
+
+    private final static byte[] QUOTE_SLASH_GT = utf8("\"/>");
+
+    /**
+     * The encoded {@link HtmlEscaper#entity(char)} for each ASCII character, or null when the character is not escaped.
+     */
+    private final static byte[][] ENTITIES = new byte[128][];
+
+    static {
+        for (char c = 0; c < ENTITIES.length; c++) {
+            final String entity = HtmlEscaper.entity(c);
+            if (null != entity) {
+                ENTITIES[c] = utf8(entity);
+            }
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.options + " " + this.position + " byte(s)";
+    }
+}
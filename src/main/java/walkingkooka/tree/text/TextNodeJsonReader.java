@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.Objects;
+
+/**
+ * Reads a {@link TextNode} or {@link TextStyle} directly from JSON text without first parsing a {@link JsonNode} tree.
+ * The JSON is the same format written by {@link TextNodeJsonWriter} or produced by
+ * {@link walkingkooka.tree.json.marshall.JsonNodeMarshallContext}. Only individual values such as a
+ * {@link walkingkooka.net.Url} or style property value are parsed into a {@link JsonNode} and unmarshalled using the
+ * same {@link TextStylePropertyValueHandler} rules.
+ */
+public final class TextNodeJsonReader {
+
+    public static TextNodeJsonReader with(final JsonNodeUnmarshallContext context) {
+        return new TextNodeJsonReader(
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private TextNodeJsonReader(final JsonNodeUnmarshallContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Reads a {@link TextNode} wrapped with its type, matching {@link JsonNodeUnmarshallContext#unmarshallWithType(JsonNode)}.
+     */
+    public TextNode readWithType(final CharSequence json) {
+        Objects.requireNonNull(json, "json");
+
+        return new TextNodeJsonReaderParser(
+            json,
+            this.context
+        ).end(
+            TextNodeJsonReaderParser::nodeWithType
+        );
+    }
+
+    /**
+     * Reads a {@link TextNode} written by {@link TextNodeJsonWriter#writeWithStyleTable(TextNode, Appendable)}. All
+     * {@link TextStyleNode} referencing the same style table entry share the same style properties.
+     */
+    public TextNode readWithStyleTable(final CharSequence json) {
+        Objects.requireNonNull(json, "json");
+
+        return new TextNodeJsonReaderParser(
+            json,
+            this.context
+        ).end(
+            (p) -> p.withStyleTable(
+                TextNodeJsonWriter.STYLE_TABLE_NODE,
+                TextNodeJsonReaderParser::nodeWithType
+            )
+        );
+    }
+
+    /**
+     * Reads a {@link TextNodeList} written by {@link TextNodeJsonWriter#writeWithStyleTable(TextNodeList, Appendable)}.
+     */
+    public TextNodeList readListWithStyleTable(final CharSequence json) {
+        Objects.requireNonNull(json, "json");
+
+        return new TextNodeJsonReaderParser(
+            json,
+            this.context
+        ).end(
+            (p) -> p.withStyleTable(
+                TextNodeJsonWriter.STYLE_TABLE_NODES,
+                (pp) -> TextNodeList.with(
+                    pp.children()
+                )
+            )
+        );
+    }
+
+    /**
+     * Reads a {@link TextStyle}, matching {@link JsonNodeUnmarshallContext#unmarshall(JsonNode, Class)}.
+     */
+    public TextStyle readTextStyle(final CharSequence json) {
+        Objects.requireNonNull(json, "json");
+
+        return new TextNodeJsonReaderParser(
+            json,
+            this.context
+        ).end(
+            (p) -> TextStyle.EMPTY.setValues(
+                p.styles()
+            )
+        );
+    }
+
+    private final JsonNodeUnmarshallContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -0,0 +1,662 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.Url;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single use parser that walks the JSON text for {@link TextNodeJsonReader}, creating {@link TextNode} as each
+ * object is completed. Only individual values are parsed into a {@link JsonNode}.
+ */
+final class TextNodeJsonReaderParser {
+
+    TextNodeJsonReaderParser(final CharSequence text,
+                             final JsonNodeUnmarshallContext context) {
+        this.text = text;
+        this.context = context;
+    }
+
+    /**
+     * Parses a value, failing if any text other than whitespace follows.
+     */
+    <T> T end(final Function<TextNodeJsonReaderParser, T> parse) {
+        final T value = parse.apply(this);
+
+        this.whitespace();
+        if (this.position < this.text.length()) {
+            throw this.invalidCharacter();
+        }
+
+        return value;
+    }
+
+    /**
+     * Parses a {@link TextNode} wrapped in an object with its type. If the value appears before the type it is
+     * skipped and parsed after the type is known.
+     */
+    TextNode nodeWithType() {
+        this.expect('{');
+
+        String type = null;
+        TextNode node = null;
+        int value = -1;
+
+        if (false == this.tryConsume('}')) {
+            do {
+                final String property = this.name();
+                switch (property) {
+                    case TYPE:
+                        type = this.string();
+                        break;
+                    case VALUE:
+                        if (null != type) {
+                            node = this.node(type);
+                        } else {
+                            this.whitespace();
+                            value = this.position;
+                            this.skip();
+                        }
+                        break;
+                    default:
+                        throw unknownProperty(property);
+                }
+            } while (this.tryConsume(','));
+
+            this.expect('}');
+        }
+
+        if (null == type) {
+            throw missingProperty(TYPE);
+        }
+        if (null == node) {
+            if (-1 == value) {
+                throw missingProperty(VALUE);
+            }
+
+            final int end = this.position;
+            this.position = value;
+            node = this.node(type);
+            this.position = end;
+        }
+
+        return node;
+    }
+
+    /**
+     * Parses an object holding a style table and the node or nodes that reference it. If the node appears before
+     * the styles it is skipped and parsed after the style table.
+     */
+    <T> T withStyleTable(final String nodeProperty,
+                         final Function<TextNodeJsonReaderParser, T> node) {
+        this.expect('{');
+
+        T value = null;
+        int nodePosition = -1;
+
+        if (false == this.tryConsume('}')) {
+            do {
+                final String property = this.name();
+                if (TextNodeJsonWriter.STYLE_TABLE_STYLES.equals(property)) {
+                    this.styleTable = this.styleTableStyles();
+                } else {
+                    if (false == nodeProperty.equals(property)) {
+                        throw unknownProperty(property);
+                    }
+                    if (null != this.styleTable) {
+                        value = node.apply(this);
+                    } else {
+                        this.whitespace();
+                        nodePosition = this.position;
+                        this.skip();
+                    }
+                }
+            } while (this.tryConsume(','));
+
+            this.expect('}');
+        }
+
+        if (null == this.styleTable) {
+            throw missingProperty(TextNodeJsonWriter.STYLE_TABLE_STYLES);
+        }
+        if (null == value) {
+            if (-1 == nodePosition) {
+                throw missingProperty(nodeProperty);
+            }
+
+            final int end = this.position;
+            this.position = nodePosition;
+            value = node.apply(this);
+            this.position = end;
+        }
+
+        return value;
+    }
+
+    /**
+     * Each style in the table is unmarshalled once, and all {@link TextStyleNode} referencing it share its properties.
+     */
+    private List<TextStyle> styleTableStyles() {
+        this.expect('[');
+
+        final List<TextStyle> styles = Lists.array();
+
+        if (false == this.tryConsume(']')) {
+            do {
+                styles.add(
+                    TextStyle.EMPTY.setValues(
+                        this.styles()
+                    )
+                );
+            } while (this.tryConsume(','));
+
+            this.expect(']');
+        }
+
+        return styles;
+    }
+
+    private TextStyle styleId() {
+        final List<TextStyle> styleTable = this.styleTable;
+        if (null == styleTable) {
+            throw unknownProperty(TextNodeJsonWriter.STYLE_ID);
+        }
+
+        final int styleId = this.integer();
+        if (styleId >= styleTable.size()) {
+            throw new IllegalArgumentException("Unknown " + TextNodeJsonWriter.STYLE_ID + " " + styleId);
+        }
+
+        return styleTable.get(styleId);
+    }
+
+    /**
+     * The style table, this will be null unless a style table is being parsed.
+     */
+    private List<TextStyle> styleTable;
+
+    private final static String TYPE = "type";
+
+    private final static String VALUE = "value";
+
+    private TextNode node(final String type) {
+        final TextNode node;
+
+        switch (type) {
+            case TextNode.BADGE_TYPE_NAME:
+                node = this.parent(
+                    Badge.BADGE_TEXT,
+                    (v) -> TextNode.badge(
+                        this.context.unmarshall(
+                            v,
+                            String.class
+                        )
+                    )
+                );
+                break;
+            case TextNode.FLAG_TYPE_NAME:
+                node = TextNode.flag(
+                    this.context.unmarshall(
+                        this.json(),
+                        String.class
+                    )
+                );
+                break;
+            case TextNode.HYPERLINK_TYPE_NAME:
+                node = this.parent(
+                    Hyperlink.URL,
+                    (v) -> TextNode.hyperlink(
+                        this.context.unmarshall(
+                            v,
+                            Url.class
+                        )
+                    )
+                );
+                break;
+            case TextNode.IMAGE_TYPE_NAME:
+                node = TextNode.image(
+                    this.context.unmarshall(
+                        this.json(),
+                        Url.class
+                    )
+                );
+                break;
+            case TextNode.TEXT_TYPE_NAME:
+                node = TextNode.text(
+                    this.string()
+                );
+                break;
+            case TextNode.TEXT_PLACEHOLDER_TYPE_NAME:
+                node = TextNode.placeholder(
+                    this.context.unmarshall(
+                        this.json(),
+                        TextPlaceholderName.class
+                    )
+                );
+                break;
+            case TextNode.TEXT_STYLE_NODE_TYPE_NAME:
+                node = this.styleNode();
+                break;
+            case TextNode.TEXT_STYLE_NAME_TYPE_NAME:
+                node = this.parent(
+                    TextStyleNameNode.STYLE_NAME,
+                    (v) -> TextNode.styleName(
+                        this.context.unmarshall(
+                            v,
+                            TextStyleName.class
+                        )
+                    )
+                );
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown type " + CharSequences.quoteAndEscape(type));
+        }
+
+        return node;
+    }
+
+    /**
+     * Parses a parent with a single required value property and optional children.
+     */
+    private TextNode parent(final String valueProperty,
+                            final Function<JsonNode, TextNode> factory) {
+        this.expect('{');
+
+        JsonNode value = null;
+        List<TextNode> children = TextNode.NO_CHILDREN;
+
+        if (false == this.tryConsume('}')) {
+            do {
+                final String property = this.name();
+                if (valueProperty.equals(property)) {
+                    value = this.json();
+                } else {
+                    if (false == TextParentNode.CHILDREN.equals(property)) {
+                        throw unknownProperty(property);
+                    }
+                    children = this.children();
+                }
+            } while (this.tryConsume(','));
+
+            this.expect('}');
+        }
+
+        if (null == value) {
+            throw missingProperty(valueProperty);
+        }
+
+        return factory.apply(value)
+            .setChildren(children);
+    }
+
+    private TextNode styleNode() {
+        this.expect('{');
+
+        TextStyle textStyle = TextStyle.EMPTY;
+        List<TextNode> children = TextNode.NO_CHILDREN;
+
+        if (false == this.tryConsume('}')) {
+            do {
+                final String property = this.name();
+                switch (property) {
+                    case TextStyleNode.STYLES:
+                        textStyle = textStyle.setValues(
+                            this.styles()
+                        );
+                        break;
+                    case TextNodeJsonWriter.STYLE_ID:
+                        textStyle = this.styleId();
+                        break;
+                    case TextParentNode.CHILDREN:
+                        children = this.children();
+                        break;
+                    default:
+                        throw unknownProperty(property);
+                }
+            } while (this.tryConsume(','));
+
+            this.expect('}');
+        }
+
+        return textStyle.setChildren(children);
+    }
+
+    List<TextNode> children() {
+        this.expect('[');
+
+        final List<TextNode> children = Lists.array();
+
+        if (false == this.tryConsume(']')) {
+            do {
+                children.add(
+                    this.nodeWithType()
+                );
+            } while (this.tryConsume(','));
+
+            this.expect(']');
+        }
+
+        return children;
+    }
+
+    /**
+     * Parses an object of style properties, each value is unmarshalled by its {@link TextStylePropertyValueHandler}.
+     */
+    TextStylePropertiesMap styles() {
+        this.expect('{');
+
+        final TextStylePropertiesMap map = TextStylePropertiesMap.empty();
+
+        if (false == this.tryConsume('}')) {
+            do {
+                final JsonNode json = this.json(
+                    JsonPropertyName.with(
+                        this.name()
+                    )
+                );
+                final TextStylePropertyName<?> name = TextStylePropertyName.unmarshall(json);
+
+                map.setTextStyleProperty(
+                    name,
+                    name.cast(
+                        name.handler.unmarshall(
+                            json,
+                            name,
+                            this.context
+                        )
+                    )
+                );
+            } while (this.tryConsume(','));
+
+            this.expect('}');
+        }
+
+        return map.isEmpty() ?
+            TextStylePropertiesMap.EMPTY :
+            map;
+    }
+
+    private final JsonNodeUnmarshallContext context;
+
+    // json.............................................................................................................
+
+    private String name() {
+        final String name = this.string();
+        this.expect(':');
+        return name;
+    }
+
+    /**
+     * Parses the next value into a {@link JsonNode}.
+     */
+    private JsonNode json() {
+        this.whitespace();
+
+        final int start = this.position;
+        this.skip();
+
+        return JsonNode.parse(
+            this.text.subSequence(
+                start,
+                this.position
+            ).toString()
+        );
+    }
+
+    private JsonNode json(final JsonPropertyName name) {
+        return this.json()
+            .setName(name);
+    }
+
+    /**
+     * Skips over the next value of any type.
+     */
+    private void skip() {
+        this.whitespace();
+
+        final CharSequence text = this.text;
+        final int length = text.length();
+        if (this.position >= length) {
+            throw endOfText();
+        }
+
+        switch (text.charAt(this.position)) {
+            case '"':
+                this.string();
+                break;
+            case '{':
+                this.position++;
+                if (false == this.tryConsume('}')) {
+                    do {
+                        this.name();
+                        this.skip();
+                    } while (this.tryConsume(','));
+                    this.expect('}');
+                }
+                break;
+            case '[':
+                this.position++;
+                if (false == this.tryConsume(']')) {
+                    do {
+                        this.skip();
+                    } while (this.tryConsume(','));
+                    this.expect(']');
+                }
+                break;
+            default:
+                final int start = this.position;
+                while (this.position < length && isLiteral(text.charAt(this.position))) {
+                    this.position++;
+                }
+                if (start == this.position) {
+                    throw this.invalidCharacter();
+                }
+                break;
+        }
+    }
+
+    /**
+     * Parses a non negative integer.
+     */
+    private int integer() {
+        this.whitespace();
+
+        final CharSequence text = this.text;
+        final int length = text.length();
+        final int start = this.position;
+
+        while (this.position < length && Character.isDigit(text.charAt(this.position))) {
+            this.position++;
+        }
+        if (start == this.position) {
+            throw this.invalidCharacter();
+        }
+
+        return Integer.parseInt(
+            text.subSequence(
+                start,
+                this.position
+            ).toString()
+        );
+    }
+
+    /**
+     * Characters that may appear in a number, boolean or null.
+     */
+    private static boolean isLiteral(final char c) {
+        return (c >= 'a' && c <= 'z') ||
+            (c >= 'A' && c <= 'Z') ||
+            (c >= '0' && c <= '9') ||
+            '+' == c ||
+            '-' == c ||
+            '.' == c;
+    }
+
+    private String string() {
+        this.expect('"');
+
+        final CharSequence text = this.text;
+        final int length = text.length();
+        final StringBuilder b = new StringBuilder();
+
+        for (; ; ) {
+            if (this.position >= length) {
+                throw endOfText();
+            }
+
+            final char c = text.charAt(this.position++);
+            if ('"' == c) {
+                break;
+            }
+            if ('\\' != c) {
+                b.append(c);
+                continue;
+            }
+
+            if (this.position >= length) {
+                throw endOfText();
+            }
+
+            final char escaped = text.charAt(this.position++);
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    b.append(escaped);
+                    break;
+                case 'b':
+                    b.append('\b');
+                    break;
+                case 'f':
+                    b.append('\f');
+                    break;
+                case 'n':
+                    b.append('\n');
+                    break;
+                case 'r':
+                    b.append('\r');
+                    break;
+                case 't':
+                    b.append('\t');
+                    break;
+                case 'u':
+                    if (this.position + 4 > length) {
+                        throw endOfText();
+                    }
+                    int unicode = 0;
+                    for (int i = 0; i < 4; i++) {
+                        final int digit = Character.digit(
+                            text.charAt(this.position),
+                            16
+                        );
+                        if (-1 == digit) {
+                            throw this.invalidCharacter();
+                        }
+                        unicode = unicode * 16 + digit;
+                        this.position++;
+                    }
+                    b.append((char) unicode);
+                    break;
+                default:
+                    this.position--;
+                    throw this.invalidCharacter();
+            }
+        }
+
+        return b.toString();
+    }
+
+    private void expect(final char c) {
+        if (false == this.tryConsume(c)) {
+            if (this.position >= this.text.length()) {
+                throw endOfText();
+            }
+            throw this.invalidCharacter();
+        }
+    }
+
+    private boolean tryConsume(final char c) {
+        this.whitespace();
+
+        final boolean consumed = this.position < this.text.length() &&
+            c == this.text.charAt(this.position);
+        if (consumed) {
+            this.position++;
+        }
+        return consumed;
+    }
+
+    private void whitespace() {
+        final CharSequence text = this.text;
+        final int length = text.length();
+
+        while (this.position < length) {
+            switch (text.charAt(this.position)) {
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\r':
+                    this.position++;
+                    break;
+                default:
+                    return;
+            }
+        }
+    }
+
+    private InvalidCharacterException invalidCharacter() {
+        return new InvalidCharacterException(
+            this.text.toString(),
+            this.position
+        );
+    }
+
+    private static IllegalArgumentException unknownProperty(final String property) {
+        return new IllegalArgumentException("Unknown property " + CharSequences.quoteAndEscape(property));
+    }
+
+    private static IllegalArgumentException missingProperty(final String property) {
+        return new IllegalArgumentException("Missing property " + CharSequences.quoteAndEscape(property));
+    }
+
+    private static IllegalArgumentException endOfText() {
+        return new IllegalArgumentException("Unexpected end of json");
+    }
+
+    private final CharSequence text;
+
+    private int position;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.text.subSequence(
+            this.position,
+            this.text.length()
+        ).toString();
+    }
+}
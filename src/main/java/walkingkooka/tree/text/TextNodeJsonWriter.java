@@ -0,0 +1,571 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * Writes a {@link TextNode} or {@link TextStyle} as JSON text directly to an {@link Appendable}, without first building
+ * a {@link JsonNode} tree. The written JSON parses to the same {@link JsonNode} produced by
+ * {@link JsonNodeMarshallContext#marshallWithType(Object)} and {@link JsonNodeMarshallContext#marshall(Object)}, only
+ * individual values such as a {@link walkingkooka.net.Url} or style property value are marshalled into a
+ * {@link JsonNode} using the same {@link TextStylePropertyValueHandler} rules.
+ */
+public final class TextNodeJsonWriter {
+
+    public static TextNodeJsonWriter with(final JsonNodeMarshallContext context) {
+        return new TextNodeJsonWriter(
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private TextNodeJsonWriter(final JsonNodeMarshallContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Writes the {@link TextNode} wrapped with its type, matching {@link JsonNodeMarshallContext#marshallWithType(Object)}.
+     */
+    public void writeWithType(final TextNode node,
+                              final Appendable output) throws IOException {
+        Objects.requireNonNull(node, "node");
+        Objects.requireNonNull(output, "output");
+
+        this.nodeWithType(
+            node,
+            null,
+            output
+        );
+    }
+
+    /**
+     * Writes the {@link TextNode} with each distinct {@link TextStyleNode} style written once in a table, with each
+     * {@link TextStyleNode} referencing its style by index.
+     * <pre>
+     * {"styles": [{"textAlign": "LEFT"}], "node": {"type": "text-style-node", "value": {"styleId": 0, "children": ...}}}
+     * </pre>
+     */
+    public void writeWithStyleTable(final TextNode node,
+                                    final Appendable output) throws IOException {
+        Objects.requireNonNull(node, "node");
+        Objects.requireNonNull(output, "output");
+
+        final Map<TextStylePropertiesMap, Integer> styleIds = this.styleTable(
+            Lists.of(node),
+            output
+        );
+
+        output.append(',');
+        name(
+            STYLE_TABLE_NODE,
+            output
+        );
+        this.nodeWithType(
+            node,
+            styleIds,
+            output
+        );
+        output.append('}');
+    }
+
+    /**
+     * Writes all the {@link TextNode} in the {@link TextNodeList} sharing a single style table.
+     * <pre>
+     * {"styles": [{"textAlign": "LEFT"}], "nodes": [{"type": "text-style-node", "value": {"styleId": 0, "children": ...}}]}
+     * </pre>
+     */
+    public void writeWithStyleTable(final TextNodeList nodes,
+                                    final Appendable output) throws IOException {
+        Objects.requireNonNull(nodes, "nodes");
+        Objects.requireNonNull(output, "output");
+
+        final Map<TextStylePropertiesMap, Integer> styleIds = this.styleTable(
+            nodes,
+            output
+        );
+
+        output.append(',');
+        name(
+            STYLE_TABLE_NODES,
+            output
+        );
+        output.append('[');
+
+        String separator = "";
+        for (final TextNode node : nodes) {
+            output.append(separator);
+            this.nodeWithType(
+                node,
+                styleIds,
+                output
+            );
+            separator = ",";
+        }
+
+        output.append("]}");
+    }
+
+    final static String STYLE_TABLE_STYLES = "styles";
+
+    final static String STYLE_TABLE_NODE = "node";
+
+    final static String STYLE_TABLE_NODES = "nodes";
+
+    final static String STYLE_ID = "styleId";
+
+    /**
+     * Opens the style table object and writes each distinct style in the order it first appears, returning the
+     * index of each style.
+     */
+    private Map<TextStylePropertiesMap, Integer> styleTable(final List<TextNode> nodes,
+                                                            final Appendable output) throws IOException {
+        final Map<TextStylePropertiesMap, Integer> styleIds = Maps.hash();
+        final List<TextStylePropertiesMap> styles = Lists.array();
+
+        for (final TextNode node : nodes) {
+            styleTableCollect(
+                node,
+                styleIds,
+                styles
+            );
+        }
+
+        output.append('{');
+        name(
+            STYLE_TABLE_STYLES,
+            output
+        );
+        output.append('[');
+
+        String separator = "";
+        for (final TextStylePropertiesMap style : styles) {
+            output.append(separator);
+            this.styles(
+                style.entrySet(),
+                output
+            );
+            separator = ",";
+        }
+
+        output.append(']');
+
+        return styleIds;
+    }
+
+    private static void styleTableCollect(final TextNode node,
+                                          final Map<TextStylePropertiesMap, Integer> styleIds,
+                                          final List<TextStylePropertiesMap> styles) {
+        if (node instanceof TextStyleNode) {
+            final TextStylePropertiesMap style = TextStylePropertiesMap.with(
+                node.attributes()
+            );
+            if (style.isNotEmpty() && false == styleIds.containsKey(style)) {
+                styleIds.put(
+                    style,
+                    styles.size()
+                );
+                styles.add(style);
+            }
+        }
+
+        for (final TextNode child : node.children()) {
+            styleTableCollect(
+                child,
+                styleIds,
+                styles
+            );
+        }
+    }
+
+    /**
+     * Writes the {@link TextStyle}, matching {@link JsonNodeMarshallContext#marshall(Object)}.
+     */
+    public void write(final TextStyle style,
+                      final Appendable output) throws IOException {
+        Objects.requireNonNull(style, "style");
+        Objects.requireNonNull(output, "output");
+
+        this.styles(
+            style.value()
+                .entrySet(),
+            output
+        );
+    }
+
+    /**
+     * When styleIds is not null, styles of {@link TextStyleNode} are written as a reference into the style table.
+     */
+    private void nodeWithType(final TextNode node,
+                              final Map<TextStylePropertiesMap, Integer> styleIds,
+                              final Appendable output) throws IOException {
+        output.append("{\"type\":");
+
+        if (node instanceof Text) {
+            this.typeAndValue(
+                TextNode.TEXT_TYPE_NAME,
+                output
+            );
+            string(
+                node.text(),
+                output
+            );
+        } else if (node instanceof Badge) {
+            this.typeAndValue(
+                TextNode.BADGE_TYPE_NAME,
+                output
+            );
+            this.parent(
+                Badge.BADGE_TEXT,
+                node.<Badge>cast()
+                    .badgeText(),
+                node,
+                styleIds,
+                output
+            );
+        } else if (node instanceof Flag) {
+            this.typeAndValue(
+                TextNode.FLAG_TYPE_NAME,
+                output
+            );
+            this.value(
+                node.<Flag>cast()
+                    .value(),
+                output
+            );
+        } else if (node instanceof Hyperlink) {
+            this.typeAndValue(
+                TextNode.HYPERLINK_TYPE_NAME,
+                output
+            );
+            this.parent(
+                Hyperlink.URL,
+                node.<Hyperlink>cast()
+                    .url(),
+                node,
+                styleIds,
+                output
+            );
+        } else if (node instanceof Image) {
+            this.typeAndValue(
+                TextNode.IMAGE_TYPE_NAME,
+                output
+            );
+            this.value(
+                node.<Image>cast()
+                    .value(),
+                output
+            );
+        } else if (node instanceof TextPlaceholderNode) {
+            this.typeAndValue(
+                TextNode.TEXT_PLACEHOLDER_TYPE_NAME,
+                output
+            );
+            this.value(
+                node.<TextPlaceholderNode>cast()
+                    .value(),
+                output
+            );
+        } else if (node instanceof TextStyleNode) {
+            this.typeAndValue(
+                TextNode.TEXT_STYLE_NODE_TYPE_NAME,
+                output
+            );
+            this.styleNode(
+                node,
+                styleIds,
+                output
+            );
+        } else {
+            this.typeAndValue(
+                TextNode.TEXT_STYLE_NAME_TYPE_NAME,
+                output
+            );
+            this.parent(
+                TextStyleNameNode.STYLE_NAME,
+                node.<TextStyleNameNode>cast()
+                    .styleName(),
+                node,
+                styleIds,
+                output
+            );
+        }
+
+        output.append('}');
+    }
+
+    private void typeAndValue(final String type,
+                              final Appendable output) throws IOException {
+        string(
+            type,
+            output
+        );
+        output.append(",\"value\":");
+    }
+
+    /**
+     * Writes a parent with a single value property followed by any children.
+     */
+    private void parent(final String propertyName,
+                        final Object value,
+                        final TextNode node,
+                        final Map<TextStylePropertiesMap, Integer> styleIds,
+                        final Appendable output) throws IOException {
+        output.append('{');
+        name(
+            propertyName,
+            output
+        );
+        this.value(
+            value,
+            output
+        );
+        this.children(
+            node.children(),
+            true,
+            styleIds,
+            output
+        );
+        output.append('}');
+    }
+
+    private void styleNode(final TextNode node,
+                           final Map<TextStylePropertiesMap, Integer> styleIds,
+                           final Appendable output) throws IOException {
+        output.append('{');
+
+        final TextStylePropertiesMap attributes = TextStylePropertiesMap.with(
+            node.attributes()
+        );
+        final boolean styles = attributes.isNotEmpty();
+        if (styles) {
+            if (null != styleIds) {
+                name(
+                    STYLE_ID,
+                    output
+                );
+                output.append(
+                    String.valueOf(
+                        styleIds.get(attributes)
+                    )
+                );
+            } else {
+                name(
+                    TextStyleNode.STYLES,
+                    output
+                );
+                this.styles(
+                    attributes.entrySet(),
+                    output
+                );
+            }
+        }
+
+        this.children(
+            node.children(),
+            styles,
+            styleIds,
+            output
+        );
+        output.append('}');
+    }
+
+    /**
+     * Empty children are not written, matching {@link TextParentNode#addChildrenValuesJson}.
+     */
+    private void children(final List<TextNode> children,
+                          final boolean comma,
+                          final Map<TextStylePropertiesMap, Integer> styleIds,
+                          final Appendable output) throws IOException {
+        if (false == children.isEmpty()) {
+            if (comma) {
+                output.append(',');
+            }
+            name(
+                TextParentNode.CHILDREN,
+                output
+            );
+            output.append('[');
+
+            String separator = "";
+            for (final TextNode child : children) {
+                output.append(separator);
+                this.nodeWithType(
+                    child,
+                    styleIds,
+                    output
+                );
+                separator = ",";
+            }
+
+            output.append(']');
+        }
+    }
+
+    private void styles(final Iterable<Entry<TextStylePropertyName<?>, Object>> styles,
+                        final Appendable output) throws IOException {
+        output.append('{');
+
+        String separator = "";
+        for (final Entry<TextStylePropertyName<?>, Object> propertyAndValue : styles) {
+            output.append(separator);
+
+            final TextStylePropertyName<?> propertyName = propertyAndValue.getKey();
+            name(
+                propertyName.jsonPropertyName.value(),
+                output
+            );
+            json(
+                propertyName.handler.marshall(
+                    Cast.to(
+                        propertyAndValue.getValue()
+                    ),
+                    this.context
+                ),
+                output
+            );
+            separator = ",";
+        }
+
+        output.append('}');
+    }
+
+    /**
+     * Individual values are small, so they are marshalled using the {@link JsonNodeMarshallContext}.
+     */
+    private void value(final Object value,
+                       final Appendable output) throws IOException {
+        json(
+            this.context.marshall(value),
+            output
+        );
+    }
+
+    private final JsonNodeMarshallContext context;
+
+    private static void name(final String name,
+                             final Appendable output) throws IOException {
+        string(
+            name,
+            output
+        );
+        output.append(':');
+    }
+
+    private static void json(final JsonNode json,
+                             final Appendable output) throws IOException {
+        if (json.isNull() || json.isBoolean() || json.isNumber()) {
+            // numbers must be formatted by the JsonNode itself, eg 12 and not 12.0
+            output.append(
+                json.toString()
+            );
+        } else if (json.isString()) {
+            string(
+                json.stringOrFail(),
+                output
+            );
+        } else {
+            final boolean object = json.isObject();
+            output.append(object ? '{' : '[');
+
+            String separator = "";
+            for (final JsonNode child : json.children()) {
+                output.append(separator);
+                if (object) {
+                    name(
+                        child.name()
+                            .value(),
+                        output
+                    );
+                }
+                json(
+                    child,
+                    output
+                );
+                separator = ",";
+            }
+
+            output.append(object ? '}' : ']');
+        }
+    }
+
+    /**
+     * Writes a quoted JSON string, escaping quotes, backslashes and control characters.
+     */
+    static void string(final String string,
+                       final Appendable output) throws IOException {
+        output.append('"');
+
+        final int length = string.length();
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            switch (c) {
+                case '"':
+                    output.append("\\\"");
+                    break;
+                case '\\':
+                    output.append("\\\\");
+                    break;
+                case '\b':
+                    output.append("\\b");
+                    break;
+                case '\f':
+                    output.append("\\f");
+                    break;
+                case '\n':
+                    output.append("\\n");
+                    break;
+                case '\r':
+                    output.append("\\r");
+                    break;
+                case '\t':
+                    output.append("\\t");
+                    break;
+                default:
+                    if (c < ' ') {
+                        output.append("\\u00");
+                        output.append(HEX.charAt(c >> 4));
+                        output.append(HEX.charAt(c & 0xf));
+                    } else {
+                        output.append(c);
+                    }
+                    break;
+            }
+        }
+
+        output.append('"');
+    }
+
+    private final static String HEX = "0123456789abcdef";
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -101,6 +101,25 @@ public final class TextNodeList extends AbstractList<TextNode>
         );
     }
 
+    /**
+     * Returns a {@link TextNodeList} that unmarshalls each element the first time it is requested by {@link #get(int)},
+     * useful when only a few elements of a large list are read. Any failure to unmarshall an element is thrown by
+     * {@link #get(int)}. The {@link JsonNode} of each element is kept until that element is requested, and the
+     * {@link JsonNodeUnmarshallContext} until all elements have been requested.
+     */
+    public static TextNodeList unmarshallLazy(final JsonNode node,
+                                              final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(node, "node");
+        Objects.requireNonNull(context, "context");
+
+        return new TextNodeList(
+            TextNodeListLazy.with(
+                node,
+                context
+            )
+        );
+    }
+
     private JsonNode marshall(final JsonNodeMarshallContext context) {
         return context.marshallCollectionWithType(this);
     }
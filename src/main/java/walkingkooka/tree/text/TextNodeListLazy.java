@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read only {@link List} that keeps the {@link JsonNode} of each element, unmarshalling an element the first time it
+ * is requested and caching the result. The source {@link JsonNode} is released once its element is unmarshalled, and
+ * the {@link JsonNodeUnmarshallContext} along with the array holding each {@link JsonNode} once every element has been
+ * unmarshalled.
+ * <br>
+ * Every read happens inside a lock, so each element is unmarshalled once and a {@link TextNode} cached by one thread is
+ * safely published to any other thread. {@link TextNode} are not safe to publish without a lock, as the parent is
+ * assigned after construction and some values such as the {@link TextStylePropertiesMap} arrays are lazily filled.
+ */
+final class TextNodeListLazy extends AbstractList<TextNode> implements RandomAccess {
+
+    static TextNodeListLazy with(final JsonNode json,
+                                 final JsonNodeUnmarshallContext context) {
+        final List<JsonNode> children = json.arrayOrFail()
+            .children();
+
+        return new TextNodeListLazy(
+            children.toArray(new JsonNode[children.size()]),
+            context
+        );
+    }
+
+    private TextNodeListLazy(final JsonNode[] json,
+                             final JsonNodeUnmarshallContext context) {
+        this.json = json;
+        this.nodes = new TextNode[json.length];
+        this.context = context;
+        this.remaining = json.length;
+    }
+
+    @Override
+    public synchronized TextNode get(final int index) {
+        TextNode node = this.nodes[index];
+        if (null == node) {
+            node = this.context.unmarshallWithType(
+                this.json[index]
+            );
+            this.nodes[index] = node;
+            this.json[index] = null;
+
+            this.remaining--;
+            if (0 == this.remaining) {
+                this.json = null;
+                this.context = null;
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public int size() {
+        return this.nodes.length;
+    }
+
+    /**
+     * The {@link JsonNode} for each element not yet unmarshalled, null once every element is unmarshalled.
+     */
+    private JsonNode[] json;
+
+    /**
+     * The unmarshalled elements, null until requested.
+     */
+    private final TextNode[] nodes;
+
+    /**
+     * Null once every element is unmarshalled.
+     */
+    private JsonNodeUnmarshallContext context;
+
+    /**
+     * The number of elements not yet unmarshalled.
+     */
+    private int remaining;
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.tree.expression.ExpressionFunctionName;
+import walkingkooka.tree.expression.HasExpressionNumberKind;
+import walkingkooka.tree.select.NodeSelector;
+import walkingkooka.tree.select.parser.ExpressionNodeSelectorParserToken;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A thread safe cache of {@link NodeSelector} created by {@link TextNode#nodeSelectorExpressionParserToken(ExpressionNodeSelectorParserToken, Predicate, HasExpressionNumberKind)},
+ * keyed by the text of the {@link ExpressionNodeSelectorParserToken}. All selectors share the functions and
+ * {@link HasExpressionNumberKind} given to the cache. The cache is unbounded, so it should hold a known set of selectors.
+ */
+public final class TextNodeSelectorCache {
+
+    public static TextNodeSelectorCache with(final Predicate<ExpressionFunctionName> functions,
+                                             final HasExpressionNumberKind hasExpressionNumberKind) {
+        Objects.requireNonNull(functions, "functions");
+        Objects.requireNonNull(hasExpressionNumberKind, "hasExpressionNumberKind");
+
+        return new TextNodeSelectorCache(
+            functions,
+            hasExpressionNumberKind
+        );
+    }
+
+    private TextNodeSelectorCache(final Predicate<ExpressionFunctionName> functions,
+                                  final HasExpressionNumberKind hasExpressionNumberKind) {
+        this.functions = functions;
+        this.hasExpressionNumberKind = hasExpressionNumberKind;
+    }
+
+    /**
+     * Returns the cached {@link NodeSelector} for the given {@link ExpressionNodeSelectorParserToken}, creating it
+     * only if this is the first time the selector text has been seen.
+     */
+    public NodeSelector<TextNode, TextNodeName, TextStylePropertyName<?>, Object> nodeSelector(final ExpressionNodeSelectorParserToken token) {
+        Objects.requireNonNull(token, "token");
+
+        return this.selectors.computeIfAbsent(
+            token.text(),
+            (t) -> TextNode.nodeSelectorExpressionParserToken(
+                token,
+                this.functions,
+                this.hasExpressionNumberKind
+            )
+        );
+    }
+
+    private final Predicate<ExpressionFunctionName> functions;
+
+    private final HasExpressionNumberKind hasExpressionNumberKind;
+
+    private final Map<String, NodeSelector<TextNode, TextNodeName, TextStylePropertyName<?>, Object>> selectors = new ConcurrentHashMap<>();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.selectors.keySet()
+            .toString();
+    }
+}
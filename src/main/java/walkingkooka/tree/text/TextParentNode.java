@@ -20,18 +20,15 @@ package walkingkooka.tree.text;
 import walkingkooka.ToStringBuilder;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.text.HasText;
-import walkingkooka.text.Indentation;
-import walkingkooka.text.LineEnding;
 import walkingkooka.text.printer.IndentingPrinter;
-import walkingkooka.text.printer.Printers;
 import walkingkooka.tree.json.JsonObject;
 import walkingkooka.tree.json.JsonPropertyName;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -47,14 +44,12 @@ abstract class TextParentNode extends TextNode {
     TextParentNode(final int index, final List<TextNode> children) {
         super(index);
 
-        final Optional<TextNode> p = Optional.of(this);
-
-        final List<TextNode> copy = Lists.array();
-        this.children = Lists.readOnly(copy);
+        final TextNode[] copy = new TextNode[children.size()];
+        this.children = TextNodeChildrenList.with(copy);
 
         int i = 0;
         for (TextNode child : children) {
-            copy.add(child.setParent(p, i));
+            copy[i] = child.setParent(this, i);
             i++;
         }
     }
@@ -109,16 +104,22 @@ abstract class TextParentNode extends TextNode {
 
         final int index = this.index;
         return this.replace0(index, children)
-            .replaceChild(this.parent(), index)
+            .replaceChild(this.parentOrNull(), index)
             .cast();
     }
 
     @Override
     final TextNode replace(final int index) {
-        return this.replace0(
+        final TextParentNode copy = this.replace0(
             index,
             this.children()
         );
+        // children are unchanged so the offsets, hash code, normalized and descendant name bits may be shared
+        copy.childTextOffsets = this.childTextOffsets;
+        copy.hashCode = this.hashCode;
+        copy.structuralHash = this.structuralHash;
+        copy.flags = this.flags;
+        return copy;
     }
 
     abstract TextParentNode replace0(final int index,
@@ -126,6 +127,59 @@ abstract class TextParentNode extends TextNode {
 
     // normalize........................................................................................................
 
+    /**
+     * Sub-classes should call this and cast. Already normalized nodes are returned without creating any new children.
+     */
+    final TextNode normalize0() {
+        TextParentNode normalized = this;
+
+        if (false == this.isNormalized()) {
+            normalized = this.setChildren0(
+                this.normalizeChildren()
+            ).cast();
+            normalized.flags |= NORMALIZED_COMPUTED | NORMALIZED;
+        }
+
+        return normalized;
+    }
+
+    /**
+     * Lazily tests if this node and all descendants are already normalized, that is no empty or adjacent {@link Text}.
+     */
+    final boolean isNormalized() {
+        int flags = this.flags;
+
+        if (0 == (flags & NORMALIZED_COMPUTED)) {
+            flags |= NORMALIZED_COMPUTED |
+                (this.computeNormalized() ? NORMALIZED : 0);
+            this.flags = flags;
+        }
+
+        return 0 != (flags & NORMALIZED);
+    }
+
+    private boolean computeNormalized() {
+        boolean normalized = true;
+        boolean previousText = false;
+
+        for (final TextNode child : this.children) {
+            final boolean text = child.isText();
+            if (text) {
+                normalized = false == previousText && false == child.isEmpty();
+            } else {
+                normalized = false == child instanceof TextParentNode ||
+                    ((TextParentNode) child).isNormalized();
+            }
+
+            if (false == normalized) {
+                break;
+            }
+            previousText = text;
+        }
+
+        return normalized;
+    }
+
     final List<TextNode> normalizeChildren() {
         final List<TextNode> children = this.children();
         List<TextNode> normalized = children;
@@ -154,6 +208,80 @@ abstract class TextParentNode extends TextNode {
         );
     }
 
+    // descendantNameBits...............................................................................................
+
+    /**
+     * Lazily combines the name bit and descendant bits of every child. The result is shared with copies that only
+     * differ by parent or index.
+     */
+    @Override //
+    final int descendantNameBits() {
+        int flags = this.flags;
+
+        if (0 == (flags & DESCENDANT_NAME_BITS_COMPUTED)) {
+            flags |= DESCENDANT_NAME_BITS_COMPUTED;
+
+            for (final TextNode child : this.children) {
+                flags |= child.nameBit() | child.descendantNameBits();
+            }
+
+            this.flags = flags;
+        }
+
+        return flags & NAME_BITS;
+    }
+
+    // structuralHash...................................................................................................
+
+    /**
+     * Lazily combines the {@link #structuralValue()} and the structural hash of every child. The result is shared
+     * with copies that only differ by parent or index.
+     */
+    @Override //
+    final long structuralHash() {
+        long hash = this.structuralHash;
+
+        if (0 == hash) {
+            hash = this.structuralHash(
+                this.structuralValue()
+            );
+
+            for (final TextNode child : this.children) {
+                hash = structuralHash(
+                    hash,
+                    child.structuralHash()
+                );
+            }
+
+            this.structuralHash = hash;
+        }
+
+        return hash;
+    }
+
+    private long structuralHash;
+
+    /**
+     * The value of this parent excluding its children, such as the attributes of a {@link TextStyleNode}.
+     */
+    abstract Object structuralValue();
+
+    // flags............................................................................................................
+
+    /**
+     * Set so a parent without children is not computed again.
+     */
+    private final static int DESCENDANT_NAME_BITS_COMPUTED = 1 << 31;
+
+    private final static int NORMALIZED_COMPUTED = 1 << 30;
+
+    private final static int NORMALIZED = 1 << 29;
+
+    /**
+     * Lazily computed descendant name bits and normalized packed into a single int rather than separate fields.
+     */
+    private int flags;
+
     // HasTextOffset...................................................................................................
 
     /**
@@ -168,11 +296,62 @@ abstract class TextParentNode extends TextNode {
 
     @Override
     public final int textLength() {
-        return this.children().stream()
-            .mapToInt(HasText::textLength)
-            .sum();
+        final int[] offsets = this.childTextOffsets();
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * Finds the child holding the offset using a binary search of the child offsets and then asks that child.
+     */
+    @Override //
+    final TextNode nodeAtOffset0(final int offset) {
+        final int[] offsets = this.childTextOffsets();
+
+        // find the last child starting at or before offset, empty children share the offset of the following child
+        int low = 0;
+        int high = offsets.length - 2;
+
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return this.children.get(low)
+            .nodeAtOffset0(offset - offsets[low]);
     }
 
+    /**
+     * Lazily computed running totals of the text length of each child, the last element holds the total text length.
+     * The offsets are shared with copies that only differ by parent or index. The array is filled in a local and then
+     * published through a volatile field, so another thread never sees a partially filled array.
+     */
+    final int[] childTextOffsets() {
+        int[] offsets = this.childTextOffsets;
+
+        if (null == offsets) {
+            final List<TextNode> children = this.children;
+            offsets = new int[children.size() + 1];
+
+            int offset = 0;
+            int i = 0;
+            for (final TextNode child : children) {
+                offsets[i] = offset;
+                offset += child.textLength();
+                i++;
+            }
+            offsets[i] = offset;
+
+            this.childTextOffsets = offsets;
+        }
+        return offsets;
+    }
+
+    private volatile int[] childTextOffsets;
+
     // toHtml...........................................................................................................
 
     /**
@@ -180,29 +359,18 @@ abstract class TextParentNode extends TextNode {
      */
     @Override
     public final String toHtml() {
-        final StringBuilder html = new StringBuilder();
-
-        try (final IndentingPrinter printer = Printers.stringBuilder
-                (html,
-                    LineEnding.SYSTEM)
-            .indenting(Indentation.SPACES2)
-        ) {
-            this.buildHtml(
-                false, // shouldIndent
-                printer
-            );
-        }
-
-        return html.toString();
+        return this.buildIndentedHtml(HtmlOptions.INDENTED);
     }
 
     final boolean buildChildNodesHtml(final boolean shouldIndent,
+                                      final HtmlOptions options,
                                       final IndentingPrinter html) {
         boolean i = shouldIndent;
 
         for (final TextNode child : this.children()) {
             i = child.buildHtml(
                 i,
+                options,
                 html
             );
 
@@ -212,6 +380,16 @@ abstract class TextParentNode extends TextNode {
         return i;
     }
 
+    final void buildMinifiedChildNodesHtml(final HtmlOptions options,
+                                           final Appendable html) throws IOException {
+        for (final TextNode child : this.children()) {
+            child.buildMinifiedHtmlOrFragment(
+                options,
+                html
+            );
+        }
+    }
+
     // JsonNodeContext..................................................................................................
 
     /**
@@ -264,11 +442,24 @@ abstract class TextParentNode extends TextNode {
 
     // Object..........................................................................................................
 
+    /**
+     * The hash code is computed once and shared with copies that only differ by parent or index.
+     */
     @Override
     public final int hashCode() {
-        return this.children().hashCode();
+        if (0 == this.hashCode) {
+            this.hashCode = 31 * this.children.hashCode() + this.hashCode0();
+        }
+        return this.hashCode;
     }
 
+    private int hashCode;
+
+    /**
+     * Sub-classes should return the hash code of their properties excluding children.
+     */
+    abstract int hashCode0();
+
     // UsesToStringBuilder..............................................................................................
 
     @Override //
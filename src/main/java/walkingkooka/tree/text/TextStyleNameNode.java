@@ -29,6 +29,7 @@ import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 import walkingkooka.visit.Visiting;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -116,9 +117,8 @@ public final class TextStyleNameNode extends TextParentNode {
 
     @Override
     public TextStyleNameNode normalize() {
-        return this.setChildren(
-            this.normalizeChildren()
-        );
+        return this.normalize0()
+            .cast();
     }
 
     // attribute........................................................................................................
@@ -176,6 +176,7 @@ public final class TextStyleNameNode extends TextParentNode {
 
     @Override
     boolean buildHtml(final boolean shouldIndent,
+                      final HtmlOptions options,
                       final IndentingPrinter html) {
         if (shouldIndent) {
             html.lineStart();
@@ -188,6 +189,7 @@ public final class TextStyleNameNode extends TextParentNode {
 
         final boolean i = this.buildChildNodesHtml(
             true, // shouldIndent
+            options,
             html
         );
 
@@ -200,6 +202,21 @@ public final class TextStyleNameNode extends TextParentNode {
         return i;
     }
 
+    @Override
+    void buildMinifiedHtml(final HtmlOptions options,
+                           final Appendable html) throws IOException {
+        html.append("<SPAN class=\"");
+        html.append(this.styleName().value());
+        html.append("\">");
+
+        this.buildMinifiedChildNodesHtml(
+            options,
+            html
+        );
+
+        html.append("</SPAN>");
+    }
+
     // TreePrintable....................................................................................................
 
     @Override
@@ -259,7 +276,7 @@ public final class TextStyleNameNode extends TextParentNode {
             context);
     }
 
-    private final static String STYLE_NAME = "style-name";
+    final static String STYLE_NAME = "style-name";
     private final static JsonPropertyName STYLE_NAME_PROPERTY = JsonPropertyName.with(STYLE_NAME);
 
     // Visitor .................................................................................................
@@ -274,6 +291,16 @@ public final class TextStyleNameNode extends TextParentNode {
 
     // Object ..........................................................................................................
 
+    @Override //
+    Object structuralValue() {
+        return this.styleName;
+    }
+
+    @Override //
+    int hashCode0() {
+        return this.styleName.hashCode();
+    }
+
     @Override //
     boolean equals0(final TextNode other) {
         return this.equals1((TextStyleNameNode) other);
@@ -28,6 +28,7 @@ import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 import walkingkooka.visit.Visiting;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -156,7 +157,7 @@ public final class TextStyleNode extends TextParentNode {
 
     @Override
     public TextStyle textStyle() {
-        return TextStyle.EMPTY.setValues(this.attributes);
+        return this.attributes.textStyle();
     }
 
     private final TextStylePropertiesMap attributes;
@@ -194,27 +195,28 @@ public final class TextStyleNode extends TextParentNode {
 
     @Override
     public TextStyleNode normalize() {
-        return this.setChildren(
-            this.normalizeChildren()
-        );
+        return this.normalize0()
+            .cast();
     }
 
     // toHtml...........................................................................................................
 
     @Override
     boolean buildHtml(final boolean shouldIndent,
+                      final HtmlOptions options,
                       final IndentingPrinter html) {
         if (shouldIndent) {
             html.lineStart();
             html.indent();
         }
 
-        html.print("<SPAN style=\"");
-        html.print(this.textStyle().text());
-        html.print("\">");
+        html.print(
+            this.openTag(options)
+        );
 
         this.buildChildNodesHtml(
             true,
+            options,
             html
         );
 
@@ -228,6 +230,38 @@ public final class TextStyleNode extends TextParentNode {
         return true;
     }
 
+    @Override
+    void buildMinifiedHtml(final HtmlOptions options,
+                           final Appendable html) throws IOException {
+        html.append(
+            this.openTag(options)
+        );
+
+        this.buildMinifiedChildNodesHtml(
+            options,
+            html
+        );
+
+        html.append("</SPAN>");
+    }
+
+    /**
+     * Returns the SPAN open tag, with a class name already assigned by any {@link HtmlStyleClasses} otherwise an inline
+     * style.
+     */
+    private String openTag(final HtmlOptions options) {
+        final HtmlStyleClasses styleClasses = options.styleClasses;
+        final TextStyle textStyle = this.textStyle();
+        final String className = null == styleClasses ?
+            null :
+            styleClasses.get(textStyle)
+                .orElse(null);
+
+        return null == className ?
+            "<SPAN style=\"" + textStyle.text() + "\">" :
+            "<SPAN class=\"" + className + "\">";
+    }
+
     // JsonNodeContext...................................................................................................
 
     /**
@@ -269,7 +303,7 @@ public final class TextStyleNode extends TextParentNode {
         return this.addChildrenValuesJson(json, context);
     }
 
-    private final static String STYLES = "styles";
+    final static String STYLES = "styles";
     private final static JsonPropertyName STYLES_PROPERTY = JsonPropertyName.with(STYLES);
 
     // Visitor .................................................................................................
@@ -303,6 +337,16 @@ public final class TextStyleNode extends TextParentNode {
 
     // Object ..........................................................................................................
 
+    @Override //
+    Object structuralValue() {
+        return this.attributes;
+    }
+
+    @Override //
+    int hashCode0() {
+        return this.attributes.hashCode();
+    }
+
     @Override //
     boolean equals0(final TextNode other) {
         return this.equals1((TextStyleNode) other);
@@ -228,6 +228,21 @@ final class TextStylePropertiesMap extends AbstractMap<TextStylePropertyName<?>,
 
     private TextStylePropertiesMapEntrySet entries;
 
+    /**
+     * Returns a {@link TextStyle} holding this map, created once so all {@link TextStyleNode} sharing this map, such as
+     * those created by {@link TextStyle#setChildren(List)}, also share its lazily computed {@link TextStyle#text()}.
+     */
+    TextStyle textStyle() {
+        TextStyle textStyle = this.textStyle;
+        if (null == textStyle) {
+            textStyle = TextStyle.EMPTY.setValues(this);
+            this.textStyle = textStyle;
+        }
+        return textStyle;
+    }
+
+    private TextStyle textStyle;
+
     // TextStyleVisitor.................................................................................................
 
     void accept(final TextStyleVisitor visitor) {
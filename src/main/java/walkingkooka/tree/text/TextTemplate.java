@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A {@link TextNode} compiled once, so that {@link TextPlaceholderNode} may be substituted many times with different
+ * values. The search for placeholders happens once, and {@link #apply(Function)} rebuilds each parent containing a
+ * {@link TextPlaceholderNode} exactly once. Because a {@link TextNode} holds its parent, attaching the unchanged
+ * siblings to a rebuilt parent still copies them, so each {@link #apply(Function)} costs time proportional to the
+ * size of the subtrees under those parents, for a placeholder near the root this is the whole tree.
+ */
+public final class TextTemplate implements HasTextNode {
+
+    /**
+     * Compiles the given {@link TextNode} into a {@link TextTemplate}.
+     */
+    public static TextTemplate with(final TextNode textNode) {
+        Objects.requireNonNull(textNode, "textNode");
+
+        final TextNode root = textNode.removeParent();
+        final Set<TextPlaceholderName> placeholderNames = Sets.tree();
+
+        final TextTemplate template = compile(
+            root,
+            placeholderNames
+        );
+
+        return new TextTemplate(
+            root,
+            null == template ?
+                NO_CHILDREN :
+                template.children,
+            Sets.readOnly(placeholderNames)
+        );
+    }
+
+    /**
+     * Returns a {@link TextTemplate} for the given node if it or any of its descendants is a
+     * {@link TextPlaceholderNode}, otherwise returns null.
+     */
+    private static TextTemplate compile(final TextNode node,
+                                        final Set<TextPlaceholderName> placeholderNames) {
+        TextTemplate template = null;
+
+        if (node.isPlaceholder()) {
+            placeholderNames.add(
+                node.<TextPlaceholderNode>cast()
+                    .value()
+            );
+            template = new TextTemplate(
+                node,
+                NO_CHILDREN,
+                NO_PLACEHOLDER_NAMES
+            );
+        } else {
+            final List<TextNode> children = node.children();
+            final int count = children.size();
+            TextTemplate[] childTemplates = NO_CHILDREN;
+
+            for (int i = 0; i < count; i++) {
+                final TextTemplate childTemplate = compile(
+                    children.get(i),
+                    placeholderNames
+                );
+                if (null != childTemplate) {
+                    if (NO_CHILDREN == childTemplates) {
+                        childTemplates = new TextTemplate[count];
+                    }
+                    childTemplates[i] = childTemplate;
+                }
+            }
+
+            if (NO_CHILDREN != childTemplates) {
+                template = new TextTemplate(
+                    node,
+                    childTemplates,
+                    NO_PLACEHOLDER_NAMES
+                );
+            }
+        }
+
+        return template;
+    }
+
+    /**
+     * Marker that indicates no children contain a {@link TextPlaceholderNode}.
+     */
+    private final static TextTemplate[] NO_CHILDREN = new TextTemplate[0];
+
+    /**
+     * Only the root {@link TextTemplate} holds the placeholder names, all others share this empty {@link Set}.
+     */
+    private final static Set<TextPlaceholderName> NO_PLACEHOLDER_NAMES = Sets.empty();
+
+    private TextTemplate(final TextNode textNode,
+                         final TextTemplate[] children,
+                         final Set<TextPlaceholderName> placeholderNames) {
+        this.textNode = textNode;
+        this.children = children;
+        this.placeholderNames = placeholderNames;
+    }
+
+    /**
+     * Returns a {@link TextNode} with all {@link TextPlaceholderNode} replaced by the value returned by the given
+     * {@link Function}. An {@link IllegalArgumentException} is thrown if a value is missing.
+     */
+    public TextNode apply(final Function<TextPlaceholderName, TextNode> values) {
+        Objects.requireNonNull(values, "values");
+
+        return this.apply0(values);
+    }
+
+    private TextNode apply0(final Function<TextPlaceholderName, TextNode> values) {
+        final TextNode node = this.textNode;
+        final TextTemplate[] children = this.children;
+
+        TextNode result;
+
+        if (NO_CHILDREN == children) {
+            result = node;
+
+            if (node.isPlaceholder()) {
+                final TextPlaceholderName placeholderName = node.<TextPlaceholderNode>cast()
+                    .value();
+                result = values.apply(placeholderName);
+                if (null == result) {
+                    throw new IllegalArgumentException("Missing value for placeholder " + placeholderName);
+                }
+            }
+        } else {
+            final List<TextNode> nodeChildren = node.children();
+            final List<TextNode> newChildren = Lists.array();
+
+            final int count = children.length;
+            for (int i = 0; i < count; i++) {
+                final TextTemplate child = children[i];
+                newChildren.add(
+                    null == child ?
+                        nodeChildren.get(i) :
+                        child.apply0(values)
+                );
+            }
+
+            // replace0 creates the new parent without rebuilding any ancestors
+            result = node.<TextParentNode>cast()
+                .replace0(
+                    TextNode.NO_INDEX,
+                    newChildren
+                );
+        }
+
+        return result;
+    }
+
+    /**
+     * The {@link TextNode} for this part of the template, for the root this is the original {@link TextNode}.
+     */
+    private final TextNode textNode;
+
+    /**
+     * A template for each child that contains a {@link TextPlaceholderNode}, other children have a null element.
+     */
+    private final TextTemplate[] children;
+
+    /**
+     * Returns the names of all {@link TextPlaceholderNode} in this template.
+     */
+    public Set<TextPlaceholderName> placeholderNames() {
+        return this.placeholderNames;
+    }
+
+    private final Set<TextPlaceholderName> placeholderNames;
+
+    // HasTextNode......................................................................................................
+
+    /**
+     * Returns the original {@link TextNode} without any placeholders replaced.
+     */
+    @Override
+    public TextNode textNode() {
+        return this.textNode;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.textNode.toString();
+    }
+}
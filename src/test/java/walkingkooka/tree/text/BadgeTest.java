@@ -366,6 +366,20 @@ public final class BadgeTest extends TextParentNodeTestCase<Badge> {
         );
     }
 
+    @Test
+    public void testToHtmlWithAppendableMinified() {
+        this.toHtmlAndCheck(
+            Badge.with(BADGE_TEXT)
+                .setChildren(
+                    Lists.of(
+                        TextNode.text("body-text")
+                    )
+                ),
+            HtmlOptions.MINIFIED,
+            "body-text"
+        );
+    }
+
     @Override
     Badge createTextNode() {
         return Badge.with(
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.PrinterException;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class HtmlAppendablePrinterTest implements ClassTesting<HtmlAppendablePrinter>,
+    ToStringTesting<HtmlAppendablePrinter> {
+
+    @Test
+    public void testPrint() {
+        final StringBuilder html = new StringBuilder();
+
+        final HtmlAppendablePrinter printer = HtmlAppendablePrinter.with(
+            html,
+            LineEnding.NL
+        );
+        printer.print("<b>");
+        printer.print("</b>");
+
+        this.checkEquals(
+            "<b></b>",
+            html.toString()
+        );
+    }
+
+    @Test
+    public void testPrintIOExceptionFails() {
+        final IOException cause = new IOException("Closed");
+
+        final PrinterException thrown = assertThrows(
+            PrinterException.class,
+            () -> HtmlAppendablePrinter.with(
+                new Appendable() {
+                    @Override
+                    public Appendable append(final CharSequence chars) throws IOException {
+                        throw cause;
+                    }
+
+                    @Override
+                    public Appendable append(final CharSequence chars,
+                                             final int start,
+                                             final int end) throws IOException {
+                        throw cause;
+                    }
+
+                    @Override
+                    public Appendable append(final char c) throws IOException {
+                        throw cause;
+                    }
+                },
+                LineEnding.NL
+            ).print("<b>")
+        );
+        assertSame(
+            cause,
+            thrown.getCause()
+        );
+    }
+
+    @Test
+    public void testRethrowIOException() {
+        final IOException cause = new IOException("Closed");
+
+        assertSame(
+            cause,
+            assertThrows(
+                IOException.class,
+                () -> HtmlAppendablePrinter.rethrow(
+                    new PrinterException(
+                        "Closed",
+                        cause
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testRethrowPrinterException() {
+        final PrinterException cause = new PrinterException("Failed");
+
+        assertSame(
+            cause,
+            assertThrows(
+                PrinterException.class,
+                () -> HtmlAppendablePrinter.rethrow(cause)
+            )
+        );
+    }
+
+    @Test
+    public void testLineEnding() {
+        this.checkEquals(
+            LineEnding.CRNL,
+            HtmlAppendablePrinter.with(
+                new StringBuilder(),
+                LineEnding.CRNL
+            ).lineEnding()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            HtmlAppendablePrinter.with(
+                new StringBuilder("<b>"),
+                LineEnding.NL
+            ),
+            "<b>"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<HtmlAppendablePrinter> type() {
+        return HtmlAppendablePrinter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import java.io.IOException;
+
+public final class HtmlEscaperPerfTest {
+
+    public static void main(final String[] args) throws IOException {
+        final String plain = text("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ");
+        final String escaped = text("Tom & Jerry say \"<hello>\" ");
+
+        final int loop = 1234;
+
+        for (int i = 0; i < 3; i++) {
+            replaceLoop("plain", plain, loop);
+            escapeLoop("plain", plain, loop);
+            appendableLoop("plain", plain, loop);
+
+            replaceLoop("escaped", escaped, loop);
+            escapeLoop("escaped", escaped, loop);
+            appendableLoop("escaped", escaped, loop);
+        }
+    }
+
+    // a long pasted text cell of about 100k chars
+    private static String text(final String sentence) {
+        final StringBuilder b = new StringBuilder();
+
+        while (b.length() < 100_000) {
+            b.append(sentence);
+        }
+
+        return b.toString();
+    }
+
+    /**
+     * The previous implementation, five chained {@link String#replace(CharSequence, CharSequence)}.
+     */
+    private static void replaceLoop(final String label,
+                                    final String text,
+                                    final int count) {
+        final long start = System.nanoTime();
+
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            length += text.replace("&", "&amp;")
+                .replace("\"", "&quot;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace(" ", "&nbsp;")
+                .length();
+        }
+
+        final long stop = System.nanoTime();
+
+        System.out.println("replace " + label + ":\t" + (stop - start) + "\t" + length);
+    }
+
+    private static void escapeLoop(final String label,
+                                   final String text,
+                                   final int count) {
+        final long start = System.nanoTime();
+
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            length += HtmlEscaper.escape(text)
+                .length();
+        }
+
+        final long stop = System.nanoTime();
+
+        System.out.println("escape " + label + ":\t" + (stop - start) + "\t" + length);
+    }
+
+    private static void appendableLoop(final String label,
+                                       final String text,
+                                       final int count) throws IOException {
+        final StringBuilder html = new StringBuilder();
+        final long start = System.nanoTime();
+
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            html.setLength(0);
+            HtmlEscaper.escape(
+                text,
+                html
+            );
+            length += html.length();
+        }
+
+        final long stop = System.nanoTime();
+
+        System.out.println("Appendable " + label + ":\t" + (stop - start) + "\t" + length);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class HtmlEscaperTest implements ClassTesting<HtmlEscaper> {
+
+    @Test
+    public void testEntity() {
+        this.entityAndCheck(' ', "&nbsp;");
+        this.entityAndCheck('"', "&quot;");
+        this.entityAndCheck('&', "&amp;");
+        this.entityAndCheck('<', "&lt;");
+        this.entityAndCheck('>', "&gt;");
+    }
+
+    @Test
+    public void testEntityNotEscaped() {
+        this.entityAndCheck('a', null);
+        this.entityAndCheck('\'', null);
+        this.entityAndCheck('\u00e9', null);
+        this.entityAndCheck('\uffff', null);
+    }
+
+    private void entityAndCheck(final char c,
+                                final String entity) {
+        this.checkEquals(
+            entity,
+            HtmlEscaper.entity(c),
+            () -> "entity " + c
+        );
+    }
+
+    @Test
+    public void testEscapeEmpty() {
+        this.escapeAndCheck(
+            "",
+            ""
+        );
+    }
+
+    @Test
+    public void testEscapeNothingEscapedSame() {
+        final String text = "abc123\u00e9'";
+
+        assertSame(
+            text,
+            HtmlEscaper.escape(text)
+        );
+    }
+
+    @Test
+    public void testEscapeAmpersandBeforeQuote() {
+        this.escapeAndCheck(
+            "\"&\"",
+            "&quot;&amp;&quot;"
+        );
+    }
+
+    @Test
+    public void testEscapeEntityAlreadyEscaped() {
+        this.escapeAndCheck(
+            "&quot;",
+            "&amp;quot;"
+        );
+    }
+
+    @Test
+    public void testEscapeAll() {
+        this.escapeAndCheck(
+            "abc 123<>&\"'",
+            "abc&nbsp;123&lt;&gt;&amp;&quot;'"
+        );
+    }
+
+    @Test
+    public void testEscapeFirstAndLast() {
+        this.escapeAndCheck(
+            "<abc>",
+            "&lt;abc&gt;"
+        );
+    }
+
+    private void escapeAndCheck(final String text,
+                                final String expected) {
+        this.checkEquals(
+            expected,
+            HtmlEscaper.escape(text),
+            () -> "escape " + text
+        );
+
+        final StringBuilder html = new StringBuilder();
+        try {
+            HtmlEscaper.escape(
+                text,
+                html
+            );
+        } catch (final IOException cause) {
+            throw new AssertionError(cause);
+        }
+
+        this.checkEquals(
+            expected,
+            html.toString(),
+            () -> "escape " + text + " Appendable"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HtmlEscaper> type() {
+        return HtmlEscaper.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class HtmlFragmentCacheKeyTest implements ClassTesting<HtmlFragmentCacheKey>,
+    HashCodeEqualsDefinedTesting2<HtmlFragmentCacheKey>,
+    ToStringTesting<HtmlFragmentCacheKey> {
+
+    @Test
+    public void testEqualsDifferentNode() {
+        this.checkNotEquals(
+            HtmlFragmentCacheKey.with(
+                TextNode.text("different"),
+                HtmlOptions.MINIFIED
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentOptions() {
+        this.checkNotEquals(
+            HtmlFragmentCacheKey.with(
+                TextNode.text("abc"),
+                HtmlOptions.INDENTED
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsEqualNode() {
+        this.checkEquals(
+            this.createObject(),
+            HtmlFragmentCacheKey.with(
+                TextNode.text("abc"),
+                HtmlOptions.MINIFIED
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDetached() {
+        this.checkEquals(
+            this.createObject(),
+            HtmlFragmentCacheKey.with(
+                child(),
+                HtmlOptions.MINIFIED
+            ).detach()
+        );
+    }
+
+    @Override
+    public HtmlFragmentCacheKey createObject() {
+        return HtmlFragmentCacheKey.with(
+            TextNode.text("abc"),
+            HtmlOptions.MINIFIED
+        );
+    }
+
+    // detach.........................................................................................................
+
+    @Test
+    public void testDetachWithoutParent() {
+        final HtmlFragmentCacheKey key = this.createObject();
+
+        assertSame(
+            key,
+            key.detach()
+        );
+    }
+
+    @Test
+    public void testDetachWithParent() {
+        final TextNode child = child();
+        final HtmlFragmentCacheKey key = HtmlFragmentCacheKey.with(
+            child,
+            HtmlOptions.MINIFIED
+        );
+
+        final HtmlFragmentCacheKey detached = key.detach();
+
+        this.checkEquals(
+            Optional.empty(),
+            detached.node.parent(),
+            "parent"
+        );
+        this.checkEquals(
+            child,
+            detached.node,
+            "node"
+        );
+        assertSame(
+            key.options,
+            detached.options,
+            "options"
+        );
+    }
+
+    private static TextNode child() {
+        return TextNode.styleName(
+            TextStyleName.with("name1")
+        ).setChildren(
+            Lists.of(
+                TextNode.text("abc")
+            )
+        ).children()
+            .get(0);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TextNode node = TextNode.text("abc");
+
+        this.toStringAndCheck(
+            HtmlFragmentCacheKey.with(
+                node,
+                HtmlOptions.MINIFIED
+            ),
+            node + " minified"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HtmlFragmentCacheKey> type() {
+        return HtmlFragmentCacheKey.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.color.Color;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HtmlFragmentCacheTest implements ClassTesting<HtmlFragmentCache>,
+    ToStringTesting<HtmlFragmentCache> {
+
+    private final static TextStyle STYLE1 = TextStyle.EMPTY.set(
+        TextStylePropertyName.COLOR,
+        Color.parse("#111")
+    );
+
+    private final static TextStyle STYLE2 = TextStyle.EMPTY.set(
+        TextStylePropertyName.COLOR,
+        Color.parse("#222")
+    );
+
+    @Test
+    public void testWithZeroMaxCharsFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HtmlFragmentCache.with(0)
+        );
+        this.checkEquals(
+            "Invalid maxChars 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWith() {
+        final HtmlFragmentCache cache = HtmlFragmentCache.with(100);
+
+        this.checkEquals(
+            100,
+            cache.maxChars(),
+            "maxChars"
+        );
+        this.sizeAndCheck(
+            cache,
+            0,
+            0
+        );
+    }
+
+    @Test
+    public void testToHtmlMinified() throws IOException {
+        final HtmlFragmentCache cache = HtmlFragmentCache.with(1000);
+        final TextNode node = tree(STYLE1);
+
+        this.toHtmlAndCheck(
+            node,
+            HtmlOptions.MINIFIED,
+            cache
+        );
+
+        // style, text a, hyperlink, text b
+        this.sizeAndCheck(
+            cache,
+            4,
+            -1
+        );
+    }
+
+    @Test
+    public void testToHtmlMinifiedTwice() throws IOException {
+        final HtmlFragmentCache cache = HtmlFragmentCache.with(1000);
+        final TextNode node = tree(STYLE1);
+
+        this.toHtmlAndCheck(
+            node,
+            HtmlOptions.MINIFIED,
+            cache
+        );
+        final int chars = cache.chars();
+
+        this.toHtmlAndCheck(
+            node,
+            HtmlOptions.MINIFIED,
+            cache
+        );
+
+        this.sizeAndCheck(
+            cache,
+            4,
+            chars
+        );
+    }
+
+    @Test
+    public void testToHtmlMinifiedParentRebuiltAroundSameChildren() throws IOException {
+        final HtmlFragmentCache cache = HtmlFragmentCache.with(1000);
+
+        this.toHtmlAndCheck(
+            tree(STYLE1),
+            HtmlOptions.MINIFIED,
+            cache
+        );
+
+        this.toHtmlAndCheck(
+            tree(STYLE2),
+            HtmlOptions.MINIFIED,
+            cache
+        );
+
+        // only the new parent is rendered and cached
+        this.sizeAndCheck(
+            cache,
+            5,
+            -1
+        );
+    }
+
+    @Test
+    public void testToHtmlMinifiedWithStyleClasses() throws IOException {
+        final HtmlFragmentCache cache = HtmlFragmentCache.with(1000);
+        final TextNode node = tree(STYLE1);
+
+        this.toHtmlAndCheck(
+            node,
+            HtmlOptions.MINIFIED,
+            cache
+        );
+
+        this.toHtmlAndCheck(
+            node,
+            HtmlOptions.MINIFIED.setStyleClasses(
+                Optional.of(
+                    HtmlStyleClasses.with(
+                        "c",
+                        100
+                    )
+                )
+            ),
+            cache
+        );
+
+        this.sizeAndCheck(
+            cache,
+            8,
+            -1
+        );
+    }
+
+    @Test
+    public void testToHtmlIndented() throws IOException {
+        final HtmlFragmentCache cache = HtmlFragmentCache.with(1000);
+        final TextNode node = tree(STYLE1);
+
+        this.toHtmlAndCheck(
+            node,
+            HtmlOptions.INDENTED,
+            cache
+        );
+
+        // indented html depends on depth so only the whole node is cached
+        this.sizeAndCheck(
+            cache,
+            1,
+            node.toHtml()
+                .length()
+        );
+    }
+
+    @Test
+    public void testToHtmlMemoryBudget() throws IOException {
+        final HtmlFragmentCache cache = HtmlFragmentCache.with(20);
+
+        for (int i = 0; i < 10; i++) {
+            this.toHtmlAndCheck(
+                TextNode.text("text-" + i),
+                HtmlOptions.MINIFIED,
+                cache
+            );
+
+            this.checkEquals(
+                true,
+                cache.chars() <= 20,
+                () -> "chars " + cache
+            );
+        }
+
+        // text-0 .. text-9 are 6 chars each
+        this.sizeAndCheck(
+            cache,
+            3,
+            18
+        );
+    }
+
+    @Test
+    public void testToHtmlTooLargeNotCached() throws IOException {
+        final HtmlFragmentCache cache = HtmlFragmentCache.with(5);
+
+        this.toHtmlAndCheck(
+            TextNode.text("too-large"),
+            HtmlOptions.MINIFIED,
+            cache
+        );
+
+        this.sizeAndCheck(
+            cache,
+            0,
+            0
+        );
+    }
+
+    @Test
+    public void testClear() throws IOException {
+        final HtmlFragmentCache cache = HtmlFragmentCache.with(1000);
+
+        this.toHtmlAndCheck(
+            tree(STYLE1),
+            HtmlOptions.MINIFIED,
+            cache
+        );
+
+        cache.clear();
+
+        this.sizeAndCheck(
+            cache,
+            0,
+            0
+        );
+    }
+
+    private static TextNode tree(final TextStyle style) {
+        return style.setChildren(
+            Lists.of(
+                TextNode.text("a"),
+                TextNode.hyperlink(
+                    Url.parseAbsolute("https://example.com/b")
+                ).setChildren(
+                    Lists.of(
+                        TextNode.text("b")
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * Renders the {@link TextNode} with and without the {@link HtmlFragmentCache} and checks both are equal.
+     */
+    private void toHtmlAndCheck(final TextNode node,
+                                final HtmlOptions options,
+                                final HtmlFragmentCache cache) throws IOException {
+        final StringBuilder expected = new StringBuilder();
+        node.toHtml(
+            expected,
+            options
+        );
+
+        final StringBuilder html = new StringBuilder();
+        node.toHtml(
+            html,
+            options.setFragmentCache(
+                Optional.of(cache)
+            )
+        );
+
+        this.checkEquals(
+            expected.toString(),
+            html.toString(),
+            () -> node + " " + options
+        );
+    }
+
+    /**
+     * A negative chars skips checking {@link HtmlFragmentCache#chars()}.
+     */
+    private void sizeAndCheck(final HtmlFragmentCache cache,
+                              final int size,
+                              final int chars) {
+        this.checkEquals(
+            size,
+            cache.size(),
+            () -> "size " + cache
+        );
+        if (chars >= 0) {
+            this.checkEquals(
+                chars,
+                cache.chars(),
+                () -> "chars " + cache
+            );
+        }
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            HtmlFragmentCache.with(100),
+            "0 fragments 0/100 chars"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HtmlFragmentCache> type() {
+        return HtmlFragmentCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
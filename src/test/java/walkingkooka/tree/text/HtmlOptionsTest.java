@@ -0,0 +1,347 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.Indentation;
+import walkingkooka.text.LineEnding;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HtmlOptionsTest implements ClassTesting<HtmlOptions>,
+    HashCodeEqualsDefinedTesting2<HtmlOptions>,
+    ToStringTesting<HtmlOptions> {
+
+    @Test
+    public void testIndentedWithNullIndentationFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlOptions.indented(
+                null,
+                LineEnding.NL
+            )
+        );
+    }
+
+    @Test
+    public void testIndentedWithNullLineEndingFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlOptions.indented(
+                Indentation.SPACES2,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testIndented() {
+        final HtmlOptions options = HtmlOptions.indented(
+            Indentation.SPACES2,
+            LineEnding.NL
+        );
+
+        this.checkEquals(
+            false,
+            options.isMinified(),
+            "isMinified"
+        );
+        this.checkEquals(
+            Optional.of(Indentation.SPACES2),
+            options.indentation(),
+            "indentation"
+        );
+        this.checkEquals(
+            Optional.of(LineEnding.NL),
+            options.lineEnding(),
+            "lineEnding"
+        );
+    }
+
+    @Test
+    public void testMinified() {
+        final HtmlOptions options = HtmlOptions.MINIFIED;
+
+        this.checkEquals(
+            true,
+            options.isMinified(),
+            "isMinified"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            options.indentation(),
+            "indentation"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            options.lineEnding(),
+            "lineEnding"
+        );
+    }
+
+    @Test
+    public void testIndentedConstant() {
+        this.checkEquals(
+            HtmlOptions.indented(
+                Indentation.SPACES2,
+                LineEnding.SYSTEM
+            ),
+            HtmlOptions.INDENTED
+        );
+    }
+
+    // setStyleClasses..................................................................................................
+
+    @Test
+    public void testSetStyleClassesWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlOptions.MINIFIED.setStyleClasses(null)
+        );
+    }
+
+    @Test
+    public void testSetStyleClassesSame() {
+        assertSame(
+            HtmlOptions.MINIFIED,
+            HtmlOptions.MINIFIED.setStyleClasses(Optional.empty())
+        );
+    }
+
+    @Test
+    public void testSetStyleClassesDifferent() {
+        final HtmlStyleClasses styleClasses = HtmlStyleClasses.with(
+            "c",
+            100
+        );
+        final HtmlOptions options = HtmlOptions.INDENTED.setStyleClasses(
+            Optional.of(styleClasses)
+        );
+
+        assertNotSame(
+            HtmlOptions.INDENTED,
+            options
+        );
+        this.checkEquals(
+            Optional.of(styleClasses),
+            options.styleClasses(),
+            "styleClasses"
+        );
+        this.checkEquals(
+            HtmlOptions.INDENTED.indentation(),
+            options.indentation(),
+            "indentation"
+        );
+        this.checkEquals(
+            HtmlOptions.INDENTED.lineEnding(),
+            options.lineEnding(),
+            "lineEnding"
+        );
+    }
+
+    @Test
+    public void testSetStyleClassesEmpty() {
+        final HtmlOptions options = HtmlOptions.MINIFIED.setStyleClasses(
+            Optional.of(
+                HtmlStyleClasses.with(
+                    "c",
+                    100
+                )
+            )
+        );
+
+        this.checkEquals(
+            HtmlOptions.MINIFIED,
+            options.setStyleClasses(Optional.empty())
+        );
+    }
+
+        // setFragmentCache.................................................................................................
+
+    @Test
+    public void testSetFragmentCacheWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlOptions.MINIFIED.setFragmentCache(null)
+        );
+    }
+
+    @Test
+    public void testSetFragmentCacheSame() {
+        assertSame(
+            HtmlOptions.MINIFIED,
+            HtmlOptions.MINIFIED.setFragmentCache(Optional.empty())
+        );
+    }
+
+    @Test
+    public void testSetFragmentCacheDifferent() {
+        final HtmlStyleClasses styleClasses = HtmlStyleClasses.with(
+            "c",
+            100
+        );
+        final HtmlFragmentCache fragmentCache = HtmlFragmentCache.with(100);
+
+        final HtmlOptions options = HtmlOptions.MINIFIED.setStyleClasses(
+            Optional.of(styleClasses)
+        ).setFragmentCache(
+            Optional.of(fragmentCache)
+        );
+
+        this.checkEquals(
+            Optional.of(fragmentCache),
+            options.fragmentCache(),
+            "fragmentCache"
+        );
+        this.checkEquals(
+            Optional.of(styleClasses),
+            options.styleClasses(),
+            "styleClasses"
+        );
+        this.checkEquals(
+            true,
+            options.isMinified(),
+            "isMinified"
+        );
+    }
+
+    @Test
+    public void testSetFragmentCacheEmptyOptsOut() {
+        final HtmlOptions options = HtmlOptions.INDENTED.setFragmentCache(
+            Optional.of(
+                HtmlFragmentCache.with(100)
+            )
+        );
+
+        this.checkEquals(
+            HtmlOptions.INDENTED,
+            options.setFragmentCache(Optional.empty())
+        );
+    }
+
+        // hashCode/equals..................................................................................................
+
+    @Test
+    public void testEqualsDifferentLineEnding() {
+        this.checkNotEquals(
+            HtmlOptions.indented(
+                Indentation.SPACES2,
+                LineEnding.CRNL
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsMinified() {
+        this.checkNotEquals(
+            HtmlOptions.MINIFIED
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentStyleClasses() {
+        this.checkNotEquals(
+            this.createObject()
+                .setStyleClasses(
+                    Optional.of(
+                        HtmlStyleClasses.with(
+                            "c",
+                            100
+                        )
+                    )
+                )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentFragmentCache() {
+        this.checkNotEquals(
+            this.createObject()
+                .setFragmentCache(
+                    Optional.of(
+                        HtmlFragmentCache.with(100)
+                    )
+                )
+        );
+    }
+
+    @Override
+    public HtmlOptions createObject() {
+        return HtmlOptions.indented(
+            Indentation.SPACES2,
+            LineEnding.NL
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToStringMinified() {
+        this.toStringAndCheck(
+            HtmlOptions.MINIFIED,
+            "minified"
+        );
+    }
+
+    @Test
+    public void testToStringMinifiedWithStyleClasses() {
+        this.toStringAndCheck(
+            HtmlOptions.MINIFIED.setStyleClasses(
+                Optional.of(
+                    HtmlStyleClasses.with(
+                        "c",
+                        100
+                    )
+                )
+            ),
+            "minified {}"
+        );
+    }
+
+    @Test
+    public void testToStringMinifiedWithFragmentCache() {
+        this.toStringAndCheck(
+            HtmlOptions.MINIFIED.setFragmentCache(
+                Optional.of(
+                    HtmlFragmentCache.with(100)
+                )
+            ),
+            "minified 0 fragments 0/100 chars"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HtmlOptions> type() {
+        return HtmlOptions.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,514 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.color.Color;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HtmlStyleClassesTest implements ClassTesting<HtmlStyleClasses>,
+    ToStringTesting<HtmlStyleClasses> {
+
+    private final static int MAX_CLASSES = 100;
+
+    private final static TextStyle STYLE1 = TextStyle.EMPTY.set(
+        TextStylePropertyName.COLOR,
+        Color.parse("#111")
+    );
+
+    private final static TextStyle STYLE2 = TextStyle.EMPTY.set(
+        TextStylePropertyName.COLOR,
+        Color.parse("#222")
+    );
+
+    @Test
+    public void testWithNullPrefixFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlStyleClasses.with(
+                null,
+                MAX_CLASSES
+            )
+        );
+    }
+
+    @Test
+    public void testWithEmptyPrefixFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> HtmlStyleClasses.with(
+                "",
+                MAX_CLASSES
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidInitialPrefixFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> HtmlStyleClasses.with(
+                "1c",
+                MAX_CLASSES
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidPartPrefixFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> HtmlStyleClasses.with(
+                "c!",
+                MAX_CLASSES
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroMaxClassesFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HtmlStyleClasses.with(
+                "c",
+                0
+            )
+        );
+        this.checkEquals(
+            "Invalid maxClasses 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testClassNameWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlStyleClasses.with(
+                "c",
+                MAX_CLASSES
+            )
+                .className(null)
+        );
+    }
+
+    @Test
+    public void testClassName() {
+        final HtmlStyleClasses classes = HtmlStyleClasses.with(
+            "c-",
+            MAX_CLASSES
+        );
+
+        this.checkEquals(
+            Optional.of("c-0"),
+            classes.className(STYLE1)
+        );
+        this.checkEquals(
+            Optional.of("c-1"),
+            classes.className(STYLE2)
+        );
+        this.checkEquals(
+            Optional.of("c-0"),
+            classes.className(
+                TextStyle.EMPTY.set(
+                    TextStylePropertyName.COLOR,
+                    Color.parse("#111")
+                )
+            ),
+            "equal TextStyle should share class name"
+        );
+        this.checkEquals(
+            2,
+            classes.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testClassNameMaxClasses() {
+        final HtmlStyleClasses classes = HtmlStyleClasses.with(
+            "c",
+            1
+        );
+
+        this.checkEquals(
+            Optional.of("c0"),
+            classes.className(STYLE1)
+        );
+        this.checkEquals(
+            Optional.empty(),
+            classes.className(STYLE2)
+        );
+        this.checkEquals(
+            Optional.of("c0"),
+            classes.className(STYLE1)
+        );
+        this.checkEquals(
+            1,
+            classes.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testGet() {
+        final HtmlStyleClasses classes = HtmlStyleClasses.with(
+            "c",
+            MAX_CLASSES
+        );
+        classes.className(STYLE1);
+
+        this.checkEquals(
+            Optional.of("c0"),
+            classes.get(STYLE1)
+        );
+        this.checkEquals(
+            Optional.empty(),
+            classes.get(STYLE2)
+        );
+    }
+
+    @Test
+    public void testStyleSheet() {
+        final HtmlStyleClasses classes = HtmlStyleClasses.with(
+            "c",
+            MAX_CLASSES
+        );
+        classes.className(STYLE1);
+        classes.className(STYLE2);
+
+        this.checkEquals(
+            ".c0 {color: #111;}.c1 {color: #222;}",
+            classes.styleSheet()
+        );
+    }
+
+    // toHtml...........................................................................................................
+
+    @Test
+    public void testToHtmlWithNullNodesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlStyleClasses.with(
+                "c",
+                MAX_CLASSES
+            )
+                .toHtml(
+                    null,
+                    new StringBuilder(),
+                    HtmlOptions.MINIFIED
+                )
+        );
+    }
+
+    @Test
+    public void testToHtmlWithNullHtmlFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlStyleClasses.with(
+                "c",
+                MAX_CLASSES
+            )
+                .toHtml(
+                    Lists.empty(),
+                    null,
+                    HtmlOptions.MINIFIED
+                )
+        );
+    }
+
+    @Test
+    public void testToHtmlWithNullOptionsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlStyleClasses.with(
+                "c",
+                MAX_CLASSES
+            )
+                .toHtml(
+                    Lists.empty(),
+                    new StringBuilder(),
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testToHtmlMinified() throws IOException {
+        this.toHtmlAndCheck(
+            HtmlStyleClasses.with(
+                "c",
+                MAX_CLASSES
+            ),
+            Lists.of(
+                styled("a", STYLE1),
+                styled("b", STYLE2),
+                styled("c", STYLE1)
+            ),
+            HtmlOptions.MINIFIED,
+            "<style>.c0 {color: #111;}.c1 {color: #222;}</style>" +
+                "<SPAN class=\"c0\">a</SPAN>" +
+                "<SPAN class=\"c1\">b</SPAN>" +
+                "<SPAN class=\"c0\">c</SPAN>"
+        );
+    }
+
+    @Test
+    public void testToHtmlMinifiedNested() throws IOException {
+        this.toHtmlAndCheck(
+            HtmlStyleClasses.with(
+                "c",
+                MAX_CLASSES
+            ),
+            Lists.of(
+                STYLE1.setChildren(
+                    Lists.of(
+                        styled("a", STYLE2),
+                        TextNode.text("b")
+                    )
+                )
+            ),
+            HtmlOptions.MINIFIED,
+            "<style>.c0 {color: #111;}.c1 {color: #222;}</style>" +
+                "<SPAN class=\"c0\"><SPAN class=\"c1\">a</SPAN>b</SPAN>"
+        );
+    }
+
+    @Test
+    public void testToHtmlIndented() throws IOException {
+        this.toHtmlAndCheck(
+            HtmlStyleClasses.with(
+                "c",
+                MAX_CLASSES
+            ),
+            Lists.of(
+                STYLE1.setChildren(
+                    Lists.of(
+                        styled("a", STYLE2)
+                    )
+                )
+            ),
+            HtmlOptions.INDENTED,
+            "<style>.c0 {color: #111;}.c1 {color: #222;}</style>" +
+                "<SPAN class=\"c0\">" + LineEnding.SYSTEM +
+                "  <SPAN class=\"c1\">a</SPAN>" + LineEnding.SYSTEM +
+                "</SPAN>"
+        );
+    }
+
+    @Test
+    public void testToHtmlSecondBatchOnlyNewStyles() throws IOException {
+        final HtmlStyleClasses classes = HtmlStyleClasses.with(
+            "c",
+            MAX_CLASSES
+        );
+
+        this.toHtmlAndCheck(
+            classes,
+            Lists.of(
+                styled("a", STYLE1)
+            ),
+            HtmlOptions.MINIFIED,
+            "<style>.c0 {color: #111;}</style>" +
+                "<SPAN class=\"c0\">a</SPAN>"
+        );
+
+        this.toHtmlAndCheck(
+            classes,
+            Lists.of(
+                styled("b", STYLE2),
+                styled("c", STYLE1)
+            ),
+            HtmlOptions.MINIFIED,
+            "<style>.c1 {color: #222;}</style>" +
+                "<SPAN class=\"c1\">b</SPAN>" +
+                "<SPAN class=\"c0\">c</SPAN>"
+        );
+
+        this.toHtmlAndCheck(
+            classes,
+            Lists.of(
+                styled("d", STYLE2)
+            ),
+            HtmlOptions.MINIFIED,
+            "<SPAN class=\"c1\">d</SPAN>"
+        );
+
+        this.checkEquals(
+            ".c0 {color: #111;}.c1 {color: #222;}",
+            classes.styleSheet(),
+            "styleSheet"
+        );
+    }
+
+    @Test
+    public void testToHtmlMaxClasses() throws IOException {
+        final HtmlStyleClasses classes = HtmlStyleClasses.with(
+            "c",
+            1
+        );
+
+        this.toHtmlAndCheck(
+            classes,
+            Lists.of(
+                styled("a", STYLE1),
+                styled("b", STYLE2)
+            ),
+            HtmlOptions.MINIFIED,
+            "<style>.c0 {color: #111;}</style>" +
+                "<SPAN class=\"c0\">a</SPAN>" +
+                "<SPAN style=\"color: #222;\">b</SPAN>"
+        );
+
+        this.toHtmlAndCheck(
+            classes,
+            Lists.of(
+                styled("c", STYLE2)
+            ),
+            HtmlOptions.MINIFIED,
+            "<SPAN style=\"color: #222;\">c</SPAN>"
+        );
+    }
+
+    @Test
+    public void testToHtmlOutsideBatchOnlyAssignedClasses() throws IOException {
+        final HtmlStyleClasses classes = HtmlStyleClasses.with(
+            "c",
+            MAX_CLASSES
+        );
+
+        this.toHtmlAndCheck(
+            classes,
+            Lists.of(
+                styled("a", STYLE1)
+            ),
+            HtmlOptions.MINIFIED,
+            "<style>.c0 {color: #111;}</style>" +
+                "<SPAN class=\"c0\">a</SPAN>"
+        );
+
+        final StringBuilder html = new StringBuilder();
+        final HtmlOptions options = HtmlOptions.MINIFIED.setStyleClasses(
+            Optional.of(classes)
+        );
+
+        styled("b", STYLE1).toHtml(
+            html,
+            options
+        );
+        styled("c", STYLE2).toHtml(
+            html,
+            options
+        );
+
+        this.checkEquals(
+            "<SPAN class=\"c0\">b</SPAN>" +
+                "<SPAN style=\"color: #222;\">c</SPAN>",
+            html.toString()
+        );
+        this.checkEquals(
+            Optional.empty(),
+            classes.get(STYLE2),
+            "rendering outside a batch should not assign a class"
+        );
+    }
+
+    @Test
+    public void testToHtmlWithoutStyles() throws IOException {
+        this.toHtmlAndCheck(
+            HtmlStyleClasses.with(
+                "c",
+                MAX_CLASSES
+            ),
+            Lists.of(
+                TextNode.text("a"),
+                TextNode.styleName(
+                    TextStyleName.with("name1")
+                ).setChildren(
+                    Lists.of(
+                        TextNode.text("b")
+                    )
+                )
+            ),
+            HtmlOptions.MINIFIED,
+            "a<SPAN class=\"name1\">b</SPAN>"
+        );
+    }
+
+    private static TextNode styled(final String text,
+                                   final TextStyle style) {
+        return style.setChildren(
+            Lists.of(
+                TextNode.text(text)
+            )
+        );
+    }
+
+    private void toHtmlAndCheck(final HtmlStyleClasses classes,
+                                final List<TextNode> nodes,
+                                final HtmlOptions options,
+                                final String expected) throws IOException {
+        final StringBuilder html = new StringBuilder();
+        classes.toHtml(
+            nodes,
+            html,
+            options
+        );
+
+        this.checkEquals(
+            expected,
+            html.toString(),
+            () -> nodes + " " + options
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToStringEmpty() {
+        this.toStringAndCheck(
+            HtmlStyleClasses.with(
+                "c",
+                MAX_CLASSES
+            ),
+            "{}"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HtmlStyleClasses> type() {
+        return HtmlStyleClasses.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
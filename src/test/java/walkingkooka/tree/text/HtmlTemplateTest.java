@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.color.Color;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HtmlTemplateTest implements ClassTesting<HtmlTemplate>,
+    ToStringTesting<HtmlTemplate> {
+
+    private final static TextPlaceholderName NAME1 = TextPlaceholderName.with("name1");
+
+    private final static TextPlaceholderName NAME2 = TextPlaceholderName.with("name2");
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlTemplate.with(null)
+        );
+    }
+
+    @Test
+    public void testWithReservedCharactersFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> HtmlTemplate.with(
+                TextNode.text("before \u0000\uFFFF after")
+            )
+        );
+    }
+
+    @Test
+    public void testRenderWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HtmlTemplate.with(TextNode.EMPTY_TEXT)
+                .render(null)
+        );
+    }
+
+    @Test
+    public void testRenderMissingValueFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HtmlTemplate.with(this.template())
+                .render((n) -> null)
+        );
+        this.checkEquals(
+            "Missing value for placeholder name1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testRenderWithoutPlaceholders() {
+        final TextNode node = TextNode.style(
+            Lists.of(
+                TextNode.text("text-1a"),
+                TextNode.text("text-2b")
+            )
+        );
+
+        this.checkEquals(
+            node.toHtml(),
+            HtmlTemplate.with(node)
+                .render((n) -> {
+                    throw new UnsupportedOperationException();
+                })
+        );
+    }
+
+    @Test
+    public void testRenderRootPlaceholder() {
+        this.checkEquals(
+            "a&lt;b",
+            HtmlTemplate.with(TextNode.placeholder(NAME1))
+                .render((n) -> "a<b")
+        );
+    }
+
+    @Test
+    public void testRender() {
+        this.renderAndCheck(
+            "value1",
+            "value2"
+        );
+    }
+
+    @Test
+    public void testRenderEscapes() {
+        this.renderAndCheck(
+            "<b>bold</b>",
+            "1 & 2"
+        );
+    }
+
+    private void renderAndCheck(final String value1,
+                                final String value2) {
+        final TextNode template = this.template();
+        final Function<TextPlaceholderName, String> values = (n) -> n.equals(NAME1) ?
+            value1 :
+            value2;
+
+        this.checkEquals(
+            TextTemplate.with(template)
+                .apply(
+                    (n) -> TextNode.text(values.apply(n))
+                ).toHtml(),
+            HtmlTemplate.with(template)
+                .render(values)
+        );
+    }
+
+    // "text-1a" $name1 Hyperlink("text-2b" Style($name2)) $name1
+    private TextNode template() {
+        return TextNode.style(
+            Lists.of(
+                TextNode.text("text-1a"),
+                TextNode.placeholder(NAME1),
+                TextNode.hyperlink(Url.parseAbsolute("https://example.com"))
+                    .setChildren(
+                        Lists.of(
+                            TextNode.text("text-2b"),
+                            TextNode.placeholder(NAME2)
+                                .setTextStyle(
+                                    TextStyle.EMPTY.set(
+                                        TextStylePropertyName.COLOR,
+                                        Color.parse("#123")
+                                    )
+                                )
+                        )
+                    ),
+                TextNode.placeholder(NAME1)
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            HtmlTemplate.with(
+                TextNode.style(
+                    Lists.of(
+                        TextNode.text("text-1a"),
+                        TextNode.placeholder(NAME1)
+                    )
+                )
+            ),
+            "text-1a${name1}"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<HtmlTemplate> type() {
+        return HtmlTemplate.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -426,6 +426,78 @@ public final class HyperlinkTest extends TextParentNodeTestCase<Hyperlink> {
         );
     }
 
+    @Test
+    public void testNormalizeWithEmptyTextBetweenText() {
+        final Hyperlink hyperlink = Hyperlink.with(URL);
+
+        this.normalizeAndCheck(
+            hyperlink.setChildren(
+                Lists.of(
+                    TextNode.text("111"),
+                    TextNode.EMPTY_TEXT,
+                    TextNode.text("222")
+                )
+            ),
+            hyperlink.setChildren(
+                Lists.of(
+                    TextNode.text("111222")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testNormalizeWithEmptyTextAndTextAndImage() {
+        final Hyperlink hyperlink = Hyperlink.with(URL);
+        final Image image = Image.with(URL);
+
+        this.normalizeAndCheck(
+            hyperlink.setChildren(
+                Lists.of(
+                    TextNode.EMPTY_TEXT,
+                    TextNode.text("111"),
+                    image
+                )
+            ),
+            hyperlink.setChildren(
+                Lists.of(
+                    TextNode.text("111"),
+                    image
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testNormalizeTwice() {
+        final Hyperlink normalized = Hyperlink.with(URL)
+            .setChildren(
+                Lists.of(
+                    TextNode.text("111"),
+                    TextNode.text("222")
+                )
+            ).normalize();
+
+        this.normalizeAndCheck(normalized);
+    }
+
+    @Test
+    public void testNormalizeWithParent() {
+        final Hyperlink hyperlink = Hyperlink.with(URL)
+            .appendChild(
+                TextNode.text("111")
+            );
+        final Hyperlink child = Hyperlink.with(
+            Url.parseAbsolute("https://example.com/2")
+        ).appendChild(
+            hyperlink
+        ).children()
+            .get(0)
+            .cast();
+
+        this.normalizeAndCheck(child);
+    }
+
     // toHtml...........................................................................................................
 
     @Test
@@ -441,6 +513,29 @@ public final class HyperlinkTest extends TextParentNodeTestCase<Hyperlink> {
         );
     }
 
+    @Test
+    public void testToHtmlWithAppendableMinified() {
+        this.toHtmlAndCheck(
+            Hyperlink.with(URL)
+                .setChildren(
+                    Lists.of(
+                        TextNode.text("hyper-link-text")
+                    )
+                ),
+            HtmlOptions.MINIFIED,
+            "<A href=\"https://example.com/Hello123\">hyper-link-text</A>"
+        );
+    }
+
+    @Test
+    public void testToHtmlWithAppendableMinifiedWithoutChildren() {
+        this.toHtmlAndCheck(
+            Hyperlink.with(URL),
+            HtmlOptions.MINIFIED,
+            "<A href=\"https://example.com/Hello123\"/>"
+        );
+    }
+
     @Override
     Hyperlink createTextNode() {
         return Hyperlink.with(
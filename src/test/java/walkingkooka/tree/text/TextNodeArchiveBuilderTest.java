@@ -0,0 +1,232 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeArchiveBuilderTest implements ClassTesting<TextNodeArchiveBuilder>,
+    ToStringTesting<TextNodeArchiveBuilder> {
+
+    @Test
+    public void testWithNullOutputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeArchiveBuilder.with(
+                null,
+                JsonNodeMarshallContexts.basic()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeArchiveBuilder.with(
+                new ByteArrayOutputStream(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testAppendNullKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.builder()
+                .append(
+                    null,
+                    TextNode.text("a")
+                )
+        );
+    }
+
+    @Test
+    public void testAppendNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.builder()
+                .append(
+                    "key",
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testAppendDuplicateKeyFails() throws IOException {
+        final TextNodeArchiveBuilder builder = this.builder()
+            .append(
+                "key",
+                TextNode.text("a")
+            );
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> builder.append(
+                "key",
+                TextNode.text("b")
+            )
+        );
+        this.checkEquals(
+            "Duplicate key \"key\"",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testAppendStreamsEntry() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final TextNodeArchiveBuilder builder = TextNodeArchiveBuilder.with(
+            output,
+            JsonNodeMarshallContexts.basic()
+        );
+        this.checkEquals(
+            1,
+            output.size(),
+            "version"
+        );
+
+        final TextNode node = TextNode.text("abc");
+        builder.append(
+            "1",
+            node
+        );
+
+        // Text written alone also has a version byte
+        this.checkEquals(
+            TextNodeBinaryWriter.with(JsonNodeMarshallContexts.basic())
+                .write(node)
+                .length,
+            output.size(),
+            "entry"
+        );
+    }
+
+    @Test
+    public void testAppendAfterFinishFails() throws IOException {
+        final TextNodeArchiveBuilder builder = this.builder();
+        builder.finish();
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> builder.append(
+                "key",
+                TextNode.text("a")
+            )
+        );
+        this.checkEquals(
+            "Archive already finished",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testFinishTwiceFails() throws IOException {
+        final TextNodeArchiveBuilder builder = this.builder();
+        builder.finish();
+
+        assertThrows(
+            IllegalStateException.class,
+            builder::finish
+        );
+    }
+
+    @Test
+    public void testFinishStylesWrittenOnce() throws IOException {
+        final int once = this.finish(
+            TextNodeJsonWriterTest.styledTree()
+        );
+        final int twice = this.finish(
+            TextNodeJsonWriterTest.styledTree(),
+            TextNodeJsonWriterTest.styledTree()
+        );
+
+        final int entry = TextNodeBinaryWriter.with(JsonNodeMarshallContexts.basic())
+            .write(TextNodeJsonWriterTest.styledTree())
+            .length;
+
+        this.checkEquals(
+            true,
+            twice - once < entry,
+            () -> "once " + once + " twice " + twice + " entry " + entry
+        );
+    }
+
+    private int finish(final TextNode... nodes) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final TextNodeArchiveBuilder builder = TextNodeArchiveBuilder.with(
+            output,
+            JsonNodeMarshallContexts.basic()
+        );
+
+        int key = 0;
+        for (final TextNode node : nodes) {
+            builder.append(
+                String.valueOf(key),
+                node
+            );
+            key++;
+        }
+
+        builder.finish();
+        return output.size();
+    }
+
+    private TextNodeArchiveBuilder builder() throws IOException {
+        return TextNodeArchiveBuilder.with(
+            new ByteArrayOutputStream(),
+            JsonNodeMarshallContexts.basic()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() throws IOException {
+        this.toStringAndCheck(
+            this.builder()
+                .append(
+                    "1",
+                    TextNodeJsonWriterTest.styledTree()
+                ),
+            "1 entries 3 styles"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeArchiveBuilder> type() {
+        return TextNodeArchiveBuilder.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeArchiveSourceBytesTest implements ClassTesting<TextNodeArchiveSourceBytes>,
+    ToStringTesting<TextNodeArchiveSourceBytes> {
+
+    private final static byte[] BYTES = new byte[]{1, 2, 3, 4, 5};
+
+    @Test
+    public void testSize() {
+        this.checkEquals(
+            5L,
+            TextNodeArchiveSourceBytes.with(BYTES)
+                .size()
+        );
+    }
+
+    @Test
+    public void testRead() {
+        final byte[] read = new byte[4];
+
+        TextNodeArchiveSourceBytes.with(BYTES)
+            .read(
+                2,
+                read,
+                1,
+                3
+            );
+
+        this.checkEquals(
+            "[0, 3, 4, 5]",
+            Arrays.toString(read)
+        );
+    }
+
+    @Test
+    public void testReadPastEndFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNodeArchiveSourceBytes.with(BYTES)
+                .read(
+                    3,
+                    new byte[3],
+                    0,
+                    3
+                )
+        );
+        this.checkEquals(
+            "Invalid read 3 byte(s) at 3 of 5",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadNegativePositionFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNodeArchiveSourceBytes.with(BYTES)
+                .read(
+                    -1,
+                    new byte[1],
+                    0,
+                    1
+                )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            TextNodeArchiveSourceBytes.with(BYTES),
+            "5 byte(s)"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeArchiveSourceBytes> type() {
+        return TextNodeArchiveSourceBytes.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
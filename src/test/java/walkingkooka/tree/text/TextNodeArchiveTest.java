@@ -0,0 +1,364 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.currency.CurrencyLocaleContexts;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeArchiveTest implements ClassTesting<TextNodeArchive>,
+    ToStringTesting<TextNodeArchive> {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = JsonNodeUnmarshallContexts.basic(
+        ExpressionNumberKind.BIG_DECIMAL,
+        CurrencyLocaleContexts.fake(), // CurrencyCodeLanguageTagContext
+        MathContext.DECIMAL32
+    );
+
+    private final static TextNode NODE1 = TextNode.text("text-1");
+
+    private final static TextNode NODE2 = TextNodeJsonWriterTest.tree();
+
+    private final static TextNode NODE3 = TextNodeJsonWriterTest.styledTree();
+
+    @Test
+    public void testWithNullSourceFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeArchive.with(
+                null,
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeArchive.with(
+                TextNodeArchiveSources.bytes(
+                    this.bytes()
+                ),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithTruncatedFails() throws IOException {
+        final byte[] bytes = this.bytes();
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNodeArchive.with(
+                TextNodeArchiveSources.bytes(
+                    Arrays.copyOf(
+                        bytes,
+                        bytes.length - 1
+                    )
+                ),
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithTooSmallFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNodeArchive.with(
+                TextNodeArchiveSources.bytes(
+                    new byte[]{TextNodeBinaryWriter.VERSION}
+                ),
+                CONTEXT
+            )
+        );
+        this.checkEquals(
+            "Invalid archive 1 byte(s)",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TextNodeArchiveBuilder.with(
+            output,
+            JsonNodeMarshallContexts.basic()
+        ).finish();
+
+        final TextNodeArchive archive = TextNodeArchive.with(
+            TextNodeArchiveSources.bytes(
+                output.toByteArray()
+            ),
+            CONTEXT
+        );
+
+        this.checkEquals(
+            0,
+            archive.size()
+        );
+        this.checkEquals(
+            1L,
+            archive.indexOffset()
+        );
+    }
+
+    @Test
+    public void testSizeAndKeys() throws IOException {
+        final TextNodeArchive archive = this.archive();
+
+        this.checkEquals(
+            3,
+            archive.size()
+        );
+        this.checkEquals(
+            Lists.of("1", "2", "3"),
+            archive.keys()
+        );
+    }
+
+    @Test
+    public void testIndexOffset() throws IOException {
+        final TextNodeBinaryWriter writer = TextNodeBinaryWriter.with(JsonNodeMarshallContexts.basic());
+        final TextNode node2 = TextNode.text("text-2");
+
+        // the entries follow the version, and each Text written alone also has a version byte
+        this.checkEquals(
+            1L +
+                writer.write(NODE1).length - 1 +
+                writer.write(node2).length - 1,
+            TextNodeArchive.with(
+                TextNodeArchiveSources.bytes(
+                    this.bytes(
+                        "1",
+                        NODE1,
+                        "2",
+                        node2
+                    )
+                ),
+                CONTEXT
+            ).indexOffset()
+        );
+    }
+
+    @Test
+    public void testGetKey() throws IOException {
+        final TextNodeArchive archive = this.archive();
+
+        this.checkEquals(
+            Optional.of(NODE2),
+            archive.get("2")
+        );
+    }
+
+    @Test
+    public void testGetUnknownKey() throws IOException {
+        this.checkEquals(
+            Optional.empty(),
+            this.archive()
+                .get("unknown")
+        );
+    }
+
+    @Test
+    public void testGetPosition() throws IOException {
+        final TextNodeArchive archive = this.archive();
+
+        this.checkEquals(
+            NODE1,
+            archive.get(0)
+        );
+        this.checkEquals(
+            NODE2,
+            archive.get(1)
+        );
+        this.checkEquals(
+            NODE3,
+            archive.get(2)
+        );
+    }
+
+    @Test
+    public void testGetInvalidPositionFails() {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> this.archive()
+                .get(3)
+        );
+    }
+
+    @Test
+    public void testGetSharesStyles() throws IOException {
+        final TextNodeArchive archive = this.archive();
+
+        final TextNode first = archive.get(2);
+        final TextNode second = archive.get(2);
+
+        assertSame(
+            first.children()
+                .get(0)
+                .attributes(),
+            second.children()
+                .get(2)
+                .attributes()
+        );
+    }
+
+    @Test
+    public void testAppendTo() throws IOException {
+        final byte[] bytes = this.bytes(
+            "1",
+            NODE1,
+            "3",
+            NODE3
+        );
+        final TextNodeArchive archive = TextNodeArchive.with(
+            TextNodeArchiveSources.bytes(bytes),
+            CONTEXT
+        );
+
+        // keep the entries and write over the old index
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(
+            bytes,
+            0,
+            (int) archive.indexOffset()
+        );
+
+        TextNodeArchiveBuilder.appendTo(
+            archive,
+            output,
+            JsonNodeMarshallContexts.basic()
+        ).append(
+            "2",
+            NODE2
+        ).append(
+            "4",
+            NODE3
+        ).finish();
+
+        final TextNodeArchive appended = TextNodeArchive.with(
+            TextNodeArchiveSources.bytes(
+                output.toByteArray()
+            ),
+            CONTEXT
+        );
+
+        this.checkEquals(
+            Lists.of("1", "3", "2", "4"),
+            appended.keys()
+        );
+        this.checkEquals(
+            NODE1,
+            appended.get(0)
+        );
+        this.checkEquals(
+            NODE3,
+            appended.get(1)
+        );
+        this.checkEquals(
+            NODE2,
+            appended.get(2)
+        );
+        this.checkEquals(
+            NODE3,
+            appended.get(3)
+        );
+    }
+
+    private TextNodeArchive archive() throws IOException {
+        return TextNodeArchive.with(
+            TextNodeArchiveSources.bytes(
+                this.bytes()
+            ),
+            CONTEXT
+        );
+    }
+
+    private byte[] bytes() throws IOException {
+        return this.bytes(
+            "1",
+            NODE1,
+            "2",
+            NODE2,
+            "3",
+            NODE3
+        );
+    }
+
+    /**
+     * Accepts pairs of key and {@link TextNode}.
+     */
+    private byte[] bytes(final Object... keyAndNodes) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final TextNodeArchiveBuilder builder = TextNodeArchiveBuilder.with(
+            output,
+            JsonNodeMarshallContexts.basic()
+        );
+
+        for (int i = 0; i < keyAndNodes.length; i += 2) {
+            builder.append(
+                (String) keyAndNodes[i],
+                (TextNode) keyAndNodes[i + 1]
+            );
+        }
+
+        builder.finish();
+        return output.toByteArray();
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() throws IOException {
+        this.toStringAndCheck(
+            this.archive(),
+            "[1, 2, 3]"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeArchive> type() {
+        return TextNodeArchive.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
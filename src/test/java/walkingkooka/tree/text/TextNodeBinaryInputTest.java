@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeBinaryInputTest implements ClassTesting<TextNodeBinaryInput>,
+    ToStringTesting<TextNodeBinaryInput> {
+
+    @Test
+    public void testReadByteEndFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNodeBinaryInput.with(
+                new byte[]{1, 2, 3},
+                1,
+                1
+            ).readLong()
+        );
+        this.checkEquals(
+            "Unexpected end of bytes at 1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadVarintTooLongFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNodeBinaryInput.with(
+                new byte[]{(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x01},
+                0,
+                6
+            ).readVarint()
+        );
+    }
+
+    @Test
+    public void testReadOffset() {
+        final TextNodeBinaryInput input = TextNodeBinaryInput.with(
+            new byte[]{1, 2, 3},
+            1,
+            2
+        );
+
+        this.checkEquals(
+            2,
+            input.readByte()
+        );
+        this.checkEquals(
+            3,
+            input.readByte()
+        );
+        input.end();
+    }
+
+    @Test
+    public void testEndFails() {
+        final TextNodeBinaryInput input = TextNodeBinaryInput.with(
+            new byte[]{1, 2, 3},
+            0,
+            3
+        );
+        input.readByte();
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            input::end
+        );
+        this.checkEquals(
+            "Unexpected 2 byte(s) at 1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            TextNodeBinaryInput.with(
+                new byte[]{1, 2, 3},
+                1,
+                2
+            ),
+            "1/3"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeBinaryInput> type() {
+        return TextNodeBinaryInput.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeBinaryOutputTest implements ClassTesting<TextNodeBinaryOutput>,
+    ToStringTesting<TextNodeBinaryOutput> {
+
+    @Test
+    public void testWriteVarintNegativeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNodeBinaryOutput.empty()
+                .writeVarint(-1)
+        );
+    }
+
+    @Test
+    public void testWriteVarintOneByte() {
+        this.writeVarintAndCheck(
+            0x7f,
+            0x7f
+        );
+    }
+
+    @Test
+    public void testWriteVarintTwoBytes() {
+        this.writeVarintAndCheck(
+            0x80,
+            0x80,
+            0x01
+        );
+    }
+
+    @Test
+    public void testWriteVarintMax() {
+        this.writeVarintAndCheck(
+            Integer.MAX_VALUE,
+            0xff,
+            0xff,
+            0xff,
+            0xff,
+            0x07
+        );
+    }
+
+    @Test
+    public void testWriteGrows() {
+        final TextNodeBinaryOutput output = TextNodeBinaryOutput.empty();
+        for (int i = 0; i < 1000; i++) {
+            output.writeByte(i);
+        }
+
+        final byte[] bytes = output.toByteArray();
+        this.checkEquals(
+            1000,
+            bytes.length
+        );
+        this.checkEquals(
+            (byte) 999,
+            bytes[999]
+        );
+    }
+
+    @Test
+    public void testRoundtrip() {
+        final TextNodeBinaryOutput output = TextNodeBinaryOutput.empty();
+        output.writeByte(0xff);
+        output.writeVarint(300);
+        output.writeLong(Long.MIN_VALUE);
+        output.writeDouble(-1.25);
+        output.writeString("abc\u00e9");
+
+        final byte[] bytes = output.toByteArray();
+        final TextNodeBinaryInput input = TextNodeBinaryInput.with(
+            bytes,
+            0,
+            bytes.length
+        );
+
+        this.checkEquals(
+            0xff,
+            input.readByte()
+        );
+        this.checkEquals(
+            300,
+            input.readVarint()
+        );
+        this.checkEquals(
+            Long.MIN_VALUE,
+            input.readLong()
+        );
+        this.checkEquals(
+            -1.25,
+            input.readDouble()
+        );
+        this.checkEquals(
+            "abc\u00e9",
+            input.readString()
+        );
+        input.end();
+    }
+
+    private void writeVarintAndCheck(final int value,
+                                     final int... expected) {
+        final TextNodeBinaryOutput output = TextNodeBinaryOutput.empty();
+        output.writeVarint(value);
+
+        final byte[] bytes = new byte[expected.length];
+        for (int i = 0; i < expected.length; i++) {
+            bytes[i] = (byte) expected[i];
+        }
+
+        assertArrayEquals(
+            bytes,
+            output.toByteArray()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final TextNodeBinaryOutput output = TextNodeBinaryOutput.empty();
+        output.writeByte(1);
+        output.writeByte(2);
+
+        this.toStringAndCheck(
+            output,
+            "2 byte(s)"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeBinaryOutput> type() {
+        return TextNodeBinaryOutput.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
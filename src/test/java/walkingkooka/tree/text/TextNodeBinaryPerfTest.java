@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.currency.CurrencyLocaleContexts;
+import walkingkooka.net.Url;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+
+import java.math.MathContext;
+import java.util.List;
+
+public final class TextNodeBinaryPerfTest {
+
+    public static void main(final String[] args) {
+        final TextNode node = document();
+
+        final JsonNodeMarshallContext marshallContext = JsonNodeMarshallContexts.basic();
+        final JsonNodeUnmarshallContext unmarshallContext = JsonNodeUnmarshallContexts.basic(
+            ExpressionNumberKind.BIG_DECIMAL,
+            CurrencyLocaleContexts.fake(),
+            MathContext.DECIMAL32
+        );
+
+        final String json = marshallContext.marshallWithType(node)
+            .toString();
+        final byte[] binary = TextNodeBinaryWriter.with(marshallContext)
+            .write(node);
+
+        System.out.println("json:\t" + json.length() + " char(s)");
+        System.out.println("binary:\t" + binary.length + " byte(s)");
+
+        final int loop = 1234;
+
+        jsonLoop(node, marshallContext, unmarshallContext, loop);
+        binaryLoop(node, marshallContext, unmarshallContext, loop);
+
+        jsonLoop(node, marshallContext, unmarshallContext, loop);
+        binaryLoop(node, marshallContext, unmarshallContext, loop);
+
+        jsonLoop(node, marshallContext, unmarshallContext, loop);
+        binaryLoop(node, marshallContext, unmarshallContext, loop);
+    }
+
+    // 100 styled paragraphs each with some text, a placeholder and a hyperlink
+    private static TextNode document() {
+        final List<TextNode> paragraphs = Lists.array();
+
+        for (int i = 0; i < 100; i++) {
+            paragraphs.add(
+                TextNode.style(
+                    Lists.of(
+                        TextNode.text("Paragraph " + i + " "),
+                        TextNode.placeholder(TextPlaceholderName.with("placeholder" + i)),
+                        TextNode.hyperlink(Url.parseAbsolute("https://example.com/" + i))
+                            .setChildren(
+                                Lists.of(
+                                    TextNode.text("link " + i)
+                                )
+                            )
+                    )
+                ).setTextStyle(
+                    TextStyle.EMPTY.set(
+                        TextStylePropertyName.TEXT_ALIGN,
+                        TextAlign.LEFT
+                    ).set(
+                        TextStylePropertyName.FONT_WEIGHT,
+                        FontWeight.BOLD
+                    ).set(
+                        TextStylePropertyName.LINE_HEIGHT,
+                        Length.pixel(12.0)
+                    )
+                )
+            );
+        }
+
+        return TextNode.style(paragraphs);
+    }
+
+    private static void jsonLoop(final TextNode node,
+                                 final JsonNodeMarshallContext marshallContext,
+                                 final JsonNodeUnmarshallContext unmarshallContext,
+                                 final int count) {
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < count; i++) {
+            unmarshallContext.unmarshallWithType(
+                JsonNode.parse(
+                    marshallContext.marshallWithType(node)
+                        .toString()
+                )
+            );
+        }
+
+        final long stop = System.nanoTime();
+
+        System.out.println("json:\t" + (stop - start));
+    }
+
+    private static void binaryLoop(final TextNode node,
+                                   final JsonNodeMarshallContext marshallContext,
+                                   final JsonNodeUnmarshallContext unmarshallContext,
+                                   final int count) {
+        final TextNodeBinaryWriter writer = TextNodeBinaryWriter.with(marshallContext);
+        final TextNodeBinaryReader reader = TextNodeBinaryReader.with(unmarshallContext);
+
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < count; i++) {
+            reader.readTextNode(
+                writer.write(node)
+            );
+        }
+
+        final long stop = System.nanoTime();
+
+        System.out.println("binary:\t" + (stop - start));
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.color.Color;
+import walkingkooka.currency.CurrencyLocaleContexts;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+
+import java.math.MathContext;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeBinaryReaderTest implements ClassTesting<TextNodeBinaryReader>,
+    ToStringTesting<TextNodeBinaryReader> {
+
+    private final static JsonNodeMarshallContext MARSHALL_CONTEXT = JsonNodeMarshallContexts.basic();
+
+    private final static JsonNodeUnmarshallContext CONTEXT = JsonNodeUnmarshallContexts.basic(
+        ExpressionNumberKind.BIG_DECIMAL,
+        CurrencyLocaleContexts.fake(), // CurrencyCodeLanguageTagContext
+        MathContext.DECIMAL32
+    );
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeBinaryReader.with(null)
+        );
+    }
+
+    @Test
+    public void testReadTextNodeNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.reader()
+                .readTextNode(null)
+        );
+    }
+
+    @Test
+    public void testReadTextStyleNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.reader()
+                .readTextStyle(null)
+        );
+    }
+
+    @Test
+    public void testReadTextNodeUnsupportedVersionFails() {
+        this.readTextNodeFails(
+            new byte[]{
+                TextNodeBinaryWriter.VERSION + 1,
+                TextNodeBinaryWriter.TEXT,
+                0
+            },
+            "Unsupported version 2 expected 1"
+        );
+    }
+
+    @Test
+    public void testReadTextNodeUnknownTagFails() {
+        this.readTextNodeFails(
+            new byte[]{
+                TextNodeBinaryWriter.VERSION,
+                99
+            },
+            "Unknown node tag 99"
+        );
+    }
+
+    @Test
+    public void testReadTextNodeTruncatedFails() {
+        final byte[] bytes = this.writer()
+            .write(TextNode.text("abc"));
+
+        this.readTextNodeFails(
+            Arrays.copyOf(
+                bytes,
+                bytes.length - 1
+            ),
+            "Unexpected end of bytes at 3"
+        );
+    }
+
+    @Test
+    public void testReadTextNodeExtraBytesFails() {
+        final byte[] bytes = this.writer()
+            .write(TextNode.text("abc"));
+
+        this.readTextNodeFails(
+            Arrays.copyOf(
+                bytes,
+                bytes.length + 1
+            ),
+            "Unexpected 1 byte(s) at 6"
+        );
+    }
+
+    @Test
+    public void testReadTextNodeStyleIdWithoutStyleTableFails() {
+        this.readTextNodeFails(
+            new byte[]{
+                TextNodeBinaryWriter.VERSION,
+                TextNodeBinaryWriter.STYLE_ID,
+                0,
+                0
+            },
+            "Unknown style 0"
+        );
+    }
+
+    @Test
+    public void testReadTextNodeText() {
+        this.roundtripAndCheck(
+            TextNode.text("abc")
+        );
+    }
+
+    @Test
+    public void testReadTextNodeTextNonAscii() {
+        this.roundtripAndCheck(
+            TextNode.text("\u00e9\u4e2d\ud83d\ude00")
+        );
+    }
+
+    @Test
+    public void testReadTextNodeTree() {
+        this.roundtripAndCheck(
+            TextNodeJsonWriterTest.tree()
+        );
+    }
+
+    @Test
+    public void testReadTextNodeStyled() {
+        this.roundtripAndCheck(
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.text("b")
+                )
+            ).setTextStyle(
+                style()
+            )
+        );
+    }
+
+    @Test
+    public void testReadTextNodeSameAsJson() {
+        final TextNode node = TextNodeJsonWriterTest.tree();
+
+        this.checkEquals(
+            CONTEXT.unmarshallWithType(
+                MARSHALL_CONTEXT.marshallWithType(node)
+            ),
+            this.reader()
+                .readTextNode(
+                    this.writer()
+                        .write(node)
+                )
+        );
+    }
+
+    @Test
+    public void testWriteSmallerThanJson() {
+        final TextNode node = TextNodeJsonWriterTest.tree();
+
+        final int binary = this.writer()
+            .write(node)
+            .length;
+        final int json = MARSHALL_CONTEXT.marshallWithType(node)
+            .toString()
+            .length();
+
+        this.checkEquals(
+            true,
+            binary * 3 < json,
+            () -> "binary " + binary + " json " + json
+        );
+    }
+
+    @Test
+    public void testReadTextStyle() {
+        final TextStyle style = style();
+
+        this.checkEquals(
+            style,
+            this.reader()
+                .readTextStyle(
+                    this.writer()
+                        .write(style)
+                )
+        );
+    }
+
+    @Test
+    public void testReadTextStyleEmpty() {
+        this.checkEquals(
+            TextStyle.EMPTY,
+            this.reader()
+                .readTextStyle(
+                    this.writer()
+                        .write(TextStyle.EMPTY)
+                )
+        );
+    }
+
+    /**
+     * A {@link TextStyle} with values written using each value tag.
+     */
+    static TextStyle style() {
+        return TextStyle.EMPTY.set(
+            TextStylePropertyName.TEXT_ALIGN,
+            TextAlign.LEFT
+        ).set(
+            TextStylePropertyName.COLOR,
+            Color.fromRgb(0x123456)
+        ).set(
+            TextStylePropertyName.FONT_FAMILY,
+            FontFamily.with("Times New Roman")
+        ).set(
+            TextStylePropertyName.FONT_SIZE,
+            FontSize.with(12)
+        ).set(
+            TextStylePropertyName.FONT_WEIGHT,
+            FontWeight.with(700)
+        ).set(
+            TextStylePropertyName.OPACITY,
+            Opacity.with(0.5)
+        ).set(
+            TextStylePropertyName.LINE_HEIGHT,
+            Length.normal()
+        ).set(
+            TextStylePropertyName.WIDTH,
+            Length.none()
+        ).set(
+            TextStylePropertyName.MAX_WIDTH,
+            Length.number(2.5)
+        ).set(
+            TextStylePropertyName.HEIGHT,
+            Length.pixel(10.0)
+        );
+    }
+
+    private void roundtripAndCheck(final TextNode node) {
+        this.checkEquals(
+            node,
+            this.reader()
+                .readTextNode(
+                    this.writer()
+                        .write(node)
+                )
+        );
+    }
+
+    private void readTextNodeFails(final byte[] bytes,
+                                   final String expected) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.reader()
+                .readTextNode(bytes)
+        );
+        this.checkEquals(
+            expected,
+            thrown.getMessage()
+        );
+    }
+
+    private TextNodeBinaryWriter writer() {
+        return TextNodeBinaryWriter.with(MARSHALL_CONTEXT);
+    }
+
+    private TextNodeBinaryReader reader() {
+        return TextNodeBinaryReader.with(CONTEXT);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.reader(),
+            CONTEXT.toString()
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeBinaryReader> type() {
+        return TextNodeBinaryReader.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeBinaryWriterTest implements ClassTesting<TextNodeBinaryWriter>,
+    ToStringTesting<TextNodeBinaryWriter> {
+
+    private final static JsonNodeMarshallContext CONTEXT = JsonNodeMarshallContexts.basic();
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeBinaryWriter.with(null)
+        );
+    }
+
+    @Test
+    public void testWriteNullTextNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.writer()
+                .write((TextNode) null)
+        );
+    }
+
+    @Test
+    public void testWriteNullTextStyleFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.writer()
+                .write((TextStyle) null)
+        );
+    }
+
+    @Test
+    public void testWriteText() {
+        this.writeAndCheck(
+            TextNode.text("abc"),
+            TextNodeBinaryWriter.VERSION,
+            TextNodeBinaryWriter.TEXT,
+            3,
+            'a',
+            'b',
+            'c'
+        );
+    }
+
+    @Test
+    public void testWriteStyleNode() {
+        this.writeAndCheck(
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.text("b")
+                )
+            ),
+            TextNodeBinaryWriter.VERSION,
+            TextNodeBinaryWriter.STYLE,
+            0, // no styles
+            2, // children count
+            TextNodeBinaryWriter.TEXT,
+            1,
+            'a',
+            TextNodeBinaryWriter.TEXT,
+            1,
+            'b'
+        );
+    }
+
+    @Test
+    public void testWriteTextStyleEnum() {
+        this.writeAndCheck(
+            TextStyle.EMPTY.set(
+                TextStylePropertyName.TEXT_ALIGN,
+                TextAlign.RIGHT
+            ),
+            TextNodeBinaryWriter.VERSION,
+            1,
+            TextStylePropertyName.TEXT_ALIGN.index(),
+            TextNodeBinaryWriter.ENUM,
+            TextAlign.RIGHT.ordinal()
+        );
+    }
+
+    @Test
+    public void testWriteTextStyleNormalLength() {
+        this.writeAndCheck(
+            TextStyle.EMPTY.set(
+                TextStylePropertyName.LINE_HEIGHT,
+                Length.normal()
+            ),
+            TextNodeBinaryWriter.VERSION,
+            1,
+            TextStylePropertyName.LINE_HEIGHT.index(),
+            TextNodeBinaryWriter.NORMAL_LENGTH
+        );
+    }
+
+    @Test
+    public void testWriteTextStylePixelLength() {
+        this.writeAndCheck(
+            TextStyle.EMPTY.set(
+                TextStylePropertyName.WIDTH,
+                Length.pixel(1.0)
+            ),
+            TextNodeBinaryWriter.VERSION,
+            1,
+            TextStylePropertyName.WIDTH.index(),
+            TextNodeBinaryWriter.PIXEL_LENGTH,
+            0x3f, // 1.0
+            0xf0,
+            0,
+            0,
+            0,
+            0,
+            0,
+            0
+        );
+    }
+
+    @Test
+    public void testWriteTextStyleJsonString() {
+        this.writeAndCheck(
+            TextStyle.EMPTY.set(
+                TextStylePropertyName.FONT_FAMILY,
+                FontFamily.with("Times")
+            ),
+            TextNodeBinaryWriter.VERSION,
+            1,
+            TextStylePropertyName.FONT_FAMILY.index(),
+            TextNodeBinaryWriter.JSON_STRING,
+            5,
+            'T',
+            'i',
+            'm',
+            'e',
+            's'
+        );
+    }
+
+    private void writeAndCheck(final TextNode node,
+                               final int... expected) {
+        assertArrayEquals(
+            bytes(expected),
+            this.writer()
+                .write(node),
+            node::toString
+        );
+    }
+
+    private void writeAndCheck(final TextStyle style,
+                               final int... expected) {
+        assertArrayEquals(
+            bytes(expected),
+            this.writer()
+                .write(style),
+            style::toString
+        );
+    }
+
+    private static byte[] bytes(final int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    private TextNodeBinaryWriter writer() {
+        return TextNodeBinaryWriter.with(CONTEXT);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.writer(),
+            CONTEXT.toString()
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeBinaryWriter> type() {
+        return TextNodeBinaryWriter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeChildrenListIteratorTest implements ClassTesting<TextNodeChildrenListIterator>,
+    ToStringTesting<TextNodeChildrenListIterator> {
+
+    private final static Text TEXT1 = TextNode.text("a1");
+
+    private final static Text TEXT2 = TextNode.text("b2");
+
+    @Test
+    public void testNextAndPrevious() {
+        final TextNodeChildrenListIterator iterator = this.createIterator(0);
+
+        this.checkEquals(
+            TEXT1,
+            iterator.next()
+        );
+        this.checkEquals(
+            TEXT2,
+            iterator.next()
+        );
+        this.checkEquals(
+            false,
+            iterator.hasNext(),
+            "hasNext"
+        );
+        this.checkEquals(
+            TEXT2,
+            iterator.previous()
+        );
+        this.checkEquals(
+            1,
+            iterator.nextIndex(),
+            "nextIndex"
+        );
+        this.checkEquals(
+            0,
+            iterator.previousIndex(),
+            "previousIndex"
+        );
+    }
+
+    @Test
+    public void testNextAfterLastFails() {
+        assertThrows(
+            NoSuchElementException.class,
+            () -> this.createIterator(2)
+                .next()
+        );
+    }
+
+    @Test
+    public void testPreviousBeforeFirstFails() {
+        assertThrows(
+            NoSuchElementException.class,
+            () -> this.createIterator(0)
+                .previous()
+        );
+    }
+
+    @Test
+    public void testRemoveFails() {
+        final TextNodeChildrenListIterator iterator = this.createIterator(0);
+        iterator.next();
+
+        assertThrows(
+            UnsupportedOperationException.class,
+            iterator::remove
+        );
+    }
+
+    @Test
+    public void testSetFails() {
+        final TextNodeChildrenListIterator iterator = this.createIterator(0);
+        iterator.next();
+
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> iterator.set(TEXT2)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createIterator(1),
+            "1 of 2"
+        );
+    }
+
+    private TextNodeChildrenListIterator createIterator(final int index) {
+        return TextNodeChildrenListIterator.with(
+            new TextNode[]{
+                TEXT1,
+                TEXT2
+            },
+            index
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeChildrenListIterator> type() {
+        return TextNodeChildrenListIterator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Iterator;
+import java.util.ListIterator;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeChildrenListTest implements ClassTesting<TextNodeChildrenList> {
+
+    private final static Text TEXT1 = TextNode.text("a1");
+
+    private final static Text TEXT2 = TextNode.text("b2");
+
+    @Test
+    public void testGet() {
+        final TextNodeChildrenList list = this.createList();
+
+        this.checkEquals(
+            TEXT1,
+            list.get(0)
+        );
+        this.checkEquals(
+            TEXT2,
+            list.get(1)
+        );
+    }
+
+    @Test
+    public void testSize() {
+        this.checkEquals(
+            2,
+            this.createList()
+                .size()
+        );
+    }
+
+    @Test
+    public void testIsEmpty() {
+        this.checkEquals(
+            false,
+            this.createList()
+                .isEmpty()
+        );
+        this.checkEquals(
+            true,
+            TextNodeChildrenList.with(new TextNode[0])
+                .isEmpty()
+        );
+    }
+
+    @Test
+    public void testIndexOfAndContains() {
+        final TextNodeChildrenList list = this.createList();
+
+        this.checkEquals(
+            1,
+            list.indexOf(TEXT2),
+            "indexOf"
+        );
+        this.checkEquals(
+            -1,
+            list.indexOf(TextNode.text("different")),
+            "indexOf different"
+        );
+        this.checkEquals(
+            1,
+            list.lastIndexOf(TEXT2),
+            "lastIndexOf"
+        );
+        this.checkEquals(
+            true,
+            list.contains(TEXT1),
+            "contains"
+        );
+        this.checkEquals(
+            true,
+            list.containsAll(Lists.of(TEXT2, TEXT1)),
+            "containsAll"
+        );
+    }
+
+    @Test
+    public void testIterator() {
+        final Iterator<TextNode> iterator = this.createList()
+            .iterator();
+
+        this.checkEquals(
+            TEXT1,
+            iterator.next()
+        );
+        this.checkEquals(
+            TEXT2,
+            iterator.next()
+        );
+        this.checkEquals(
+            false,
+            iterator.hasNext()
+        );
+    }
+
+    @Test
+    public void testListIteratorIndex() {
+        final ListIterator<TextNode> iterator = this.createList()
+            .listIterator(2);
+
+        this.checkEquals(
+            TEXT2,
+            iterator.previous()
+        );
+    }
+
+    @Test
+    public void testListIteratorInvalidIndexFails() {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> this.createList()
+                .listIterator(3)
+        );
+    }
+
+    @Test
+    public void testSubList() {
+        this.checkEquals(
+            Lists.of(TEXT2),
+            this.createList()
+                .subList(1, 2)
+        );
+    }
+
+    @Test
+    public void testSubListInvalidRangeFails() {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> this.createList()
+                .subList(1, 3)
+        );
+    }
+
+    @Test
+    public void testToArray() {
+        this.checkEquals(
+            Lists.of(TEXT1, TEXT2),
+            Lists.of(
+                this.createList()
+                    .toArray()
+            )
+        );
+    }
+
+    @Test
+    public void testToArrayTyped() {
+        final TextNode[] array = this.createList()
+            .toArray(new TextNode[0]);
+
+        this.checkEquals(
+            Lists.of(TEXT1, TEXT2),
+            Lists.of(array)
+        );
+    }
+
+    @Test
+    public void testAddFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> this.createList()
+                .add(TEXT1)
+        );
+    }
+
+    @Test
+    public void testSetFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> this.createList()
+                .set(0, TEXT2)
+        );
+    }
+
+    @Test
+    public void testRemoveFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> this.createList()
+                .remove(0)
+        );
+    }
+
+    @Test
+    public void testClearFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> this.createList()
+                .clear()
+        );
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        final TextNodeChildrenList list = this.createList();
+
+        this.checkEquals(
+            Lists.of(TEXT1, TEXT2),
+            list
+        );
+        this.checkEquals(
+            Lists.of(TEXT1, TEXT2).hashCode(),
+            list.hashCode()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            Lists.of(TEXT1, TEXT2).toString(),
+            this.createList()
+                .toString()
+        );
+    }
+
+    private TextNodeChildrenList createList() {
+        return TextNodeChildrenList.with(
+            new TextNode[]{
+                TEXT1,
+                TEXT2
+            }
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeChildrenList> type() {
+        return TextNodeChildrenList.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
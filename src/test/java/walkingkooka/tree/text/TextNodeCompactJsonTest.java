@@ -0,0 +1,409 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.currency.CurrencyLocaleContexts;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+
+import java.math.MathContext;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeCompactJsonTest implements ClassTesting<TextNodeCompactJson>,
+    ToStringTesting<TextNodeCompactJson> {
+
+    private final static TextNodeCompactJson FULL = TextNodeCompactJson.with(false);
+
+    private final static TextNodeCompactJson ABBREVIATED = TextNodeCompactJson.with(true);
+
+    @Test
+    public void testWithSame() {
+        assertSame(
+            ABBREVIATED,
+            TextNodeCompactJson.with(true)
+        );
+    }
+
+    @Test
+    public void testMarshallNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> FULL.marshall(
+                null,
+                this.marshallContext()
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> FULL.marshall(
+                TextNode.text("a"),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallText() {
+        this.marshallAndCheck(
+            FULL,
+            TextNode.text("abc"),
+            "\"abc\""
+        );
+    }
+
+    @Test
+    public void testMarshallHyperlink() {
+        this.marshallAndCheck(
+            FULL,
+            TextNode.hyperlink(
+                Url.parseAbsolute("https://example.com")
+            ).setChildren(
+                Lists.of(
+                    TextNode.text("abc")
+                )
+            ),
+            "[\"a\", \"https://example.com\", \"abc\"]"
+        );
+    }
+
+    @Test
+    public void testMarshallImage() {
+        this.marshallAndCheck(
+            FULL,
+            TextNode.image(
+                Url.parseAbsolute("https://example.com/image.gif")
+            ),
+            "[\"i\", \"https://example.com/image.gif\"]"
+        );
+    }
+
+    @Test
+    public void testMarshallStyleWithoutStyles() {
+        this.marshallAndCheck(
+            FULL,
+            this.style(),
+            "[\"s\", \"a\", [\"i\", \"https://example.com/image.gif\"]]"
+        );
+    }
+
+    @Test
+    public void testMarshallStyle() {
+        this.marshallAndCheck(
+            FULL,
+            this.styleTextAlign(),
+            "[\"s\", {\"textAlign\": \"LEFT\"}, \"a\", [\"i\", \"https://example.com/image.gif\"]]"
+        );
+    }
+
+    @Test
+    public void testMarshallStyleAbbreviated() {
+        this.marshallAndCheck(
+            ABBREVIATED,
+            this.styleTextAlign(),
+            "[\"s\", {\"ta\": \"LEFT\"}, \"a\", [\"i\", \"https://example.com/image.gif\"]]"
+        );
+    }
+
+    @Test
+    public void testAbbreviationEveryPropertyName() {
+        final Set<String> abbreviations = Sets.hash();
+
+        for (final TextStylePropertyName<?> name : TextStylePropertyName.NAMES) {
+            final String abbreviation = TextNodeCompactJson.abbreviation(name)
+                .value();
+            this.checkEquals(
+                true,
+                abbreviations.add(abbreviation),
+                () -> "Duplicate abbreviation " + abbreviation + " for " + name
+            );
+        }
+    }
+
+    @Test
+    public void testAbbreviationUnchanged() {
+        this.abbreviationAndCheck(TextStylePropertyName.BACKGROUND_COLOR, "bc");
+        this.abbreviationAndCheck(TextStylePropertyName.BORDER_COLLAPSE, "bco");
+        this.abbreviationAndCheck(TextStylePropertyName.BORDER_TOP_COLOR, "btc");
+        this.abbreviationAndCheck(TextStylePropertyName.COLOR, "c");
+        this.abbreviationAndCheck(TextStylePropertyName.FONT_STRETCH, "fst");
+        this.abbreviationAndCheck(TextStylePropertyName.FONT_STYLE, "fsty");
+        this.abbreviationAndCheck(TextStylePropertyName.MIN_HEIGHT, "mhe");
+        this.abbreviationAndCheck(TextStylePropertyName.OVERFLOW_WRAP, "owr");
+        this.abbreviationAndCheck(TextStylePropertyName.TEXT_ALIGN, "ta");
+        this.abbreviationAndCheck(TextStylePropertyName.WORD_SPACING, "wsp");
+        this.abbreviationAndCheck(TextStylePropertyName.WRITING_MODE, "wm");
+    }
+
+    private void abbreviationAndCheck(final TextStylePropertyName<?> name,
+                                      final String expected) {
+        this.checkEquals(
+            expected,
+            TextNodeCompactJson.abbreviation(name)
+                .value(),
+            () -> "abbreviation " + name
+        );
+    }
+
+    @Test
+    public void testUnmarshallNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> FULL.unmarshall(
+                null,
+                this.unmarshallContext()
+            )
+        );
+    }
+
+    @Test
+    public void testUnmarshallUnknownTypeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> FULL.unmarshall(
+                JsonNode.parse("[\"?\", \"abc\"]"),
+                this.unmarshallContext()
+            )
+        );
+    }
+
+    @Test
+    public void testUnmarshallMissingValueFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> FULL.unmarshall(
+                JsonNode.parse("[\"a\"]"),
+                this.unmarshallContext()
+            )
+        );
+    }
+
+    @Test
+    public void testUnmarshallUnknownAbbreviationFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ABBREVIATED.unmarshall(
+                JsonNode.parse("[\"s\", {\"textAlign\": \"LEFT\"}, \"a\"]"),
+                this.unmarshallContext()
+            )
+        );
+    }
+
+    @Test
+    public void testRoundtripFull() {
+        this.roundtripAndCheck(FULL);
+    }
+
+    @Test
+    public void testRoundtripAbbreviated() {
+        this.roundtripAndCheck(ABBREVIATED);
+    }
+
+    @Test
+    public void testRoundtripWithExistingFormat() {
+        final TextNode node = this.tree();
+        final JsonNode json = this.marshallContext()
+            .marshallWithType(node);
+        final TextNode unmarshalled = this.unmarshallContext()
+            .unmarshallWithType(json);
+
+        this.checkEquals(
+            node,
+            FULL.unmarshall(
+                FULL.marshall(
+                    unmarshalled,
+                    this.marshallContext()
+                ),
+                this.unmarshallContext()
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallSmallerThanExistingFormat() {
+        final TextNode node = this.tree();
+        final int existing = this.marshallContext()
+            .marshallWithType(node)
+            .toString()
+            .length();
+        final int compact = ABBREVIATED.marshall(
+            node,
+            this.marshallContext()
+        ).toString().length();
+
+        this.checkEquals(
+            true,
+            compact * 2 < existing,
+            () -> "compact " + compact + " existing " + existing
+        );
+    }
+
+    private void roundtripAndCheck(final TextNodeCompactJson json) {
+        final TextNode node = this.tree();
+
+        this.checkEquals(
+            node,
+            json.unmarshall(
+                json.marshall(
+                    node,
+                    this.marshallContext()
+                ),
+                this.unmarshallContext()
+            )
+        );
+    }
+
+    private void marshallAndCheck(final TextNodeCompactJson json,
+                                  final TextNode node,
+                                  final String expected) {
+        this.checkEquals(
+            JsonNode.parse(expected),
+            json.marshall(
+                node,
+                this.marshallContext()
+            ),
+            node::toString
+        );
+    }
+
+    private TextNode style() {
+        return TextNode.style(
+            Lists.of(
+                TextNode.text("a"),
+                TextNode.image(
+                    Url.parseAbsolute("https://example.com/image.gif")
+                )
+            )
+        );
+    }
+
+    private TextNode styleTextAlign() {
+        return this.style()
+            .setAttributes(
+                Maps.of(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.LEFT
+                )
+            );
+    }
+
+    /**
+     * A tree holding every type of {@link TextNode}.
+     */
+    private TextNode tree() {
+        return TextNode.style(
+            Lists.of(
+                TextNode.text("text-1"),
+                TextNode.badge("badge-1")
+                    .setChildren(
+                        Lists.of(
+                            TextNode.text("badge-text")
+                        )
+                    ),
+                TextNode.flag("AU"),
+                TextNode.hyperlink(
+                    Url.parseAbsolute("https://example.com")
+                ).setChildren(
+                    Lists.of(
+                        TextNode.text("link-text"),
+                        TextNode.image(
+                            Url.parseAbsolute("https://example.com/image.gif")
+                        )
+                    )
+                ),
+                TextNode.placeholder(
+                    TextPlaceholderName.with("placeholder-1")
+                ),
+                TextNode.styleName(
+                    TextStyleName.with("style-1")
+                ).setChildren(
+                    Lists.of(
+                        TextNode.text("style-name-text")
+                    )
+                ),
+                TextNode.style(
+                    Lists.of(
+                        TextNode.text("styled-1"),
+                        TextNode.text("styled-2")
+                    )
+                ).setAttributes(
+                    Maps.of(
+                        TextStylePropertyName.TEXT_ALIGN,
+                        TextAlign.LEFT,
+                        TextStylePropertyName.FONT_STYLE,
+                        FontStyle.ITALIC,
+                        TextStylePropertyName.BORDER_TOP_WIDTH,
+                        Length.pixel(1.0)
+                    )
+                )
+            )
+        );
+    }
+
+    private JsonNodeMarshallContext marshallContext() {
+        return JsonNodeMarshallContexts.basic();
+    }
+
+    private JsonNodeUnmarshallContext unmarshallContext() {
+        return JsonNodeUnmarshallContexts.basic(
+            ExpressionNumberKind.BIG_DECIMAL,
+            CurrencyLocaleContexts.fake(), // CurrencyCodeLanguageTagContext
+            MathContext.DECIMAL32
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            ABBREVIATED,
+            "abbreviated"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeCompactJson> type() {
+        return TextNodeCompactJson.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
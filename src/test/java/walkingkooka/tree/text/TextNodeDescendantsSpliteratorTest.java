@@ -0,0 +1,219 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.visit.Visiting;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public final class TextNodeDescendantsSpliteratorTest implements ClassTesting<TextNodeDescendantsSpliterator> {
+
+    private final static Url URL = Url.parseAbsolute("https://example.com");
+
+    private final static Function<TextNode, Visiting> CONTINUE = (n) -> Visiting.CONTINUE;
+
+    @Test
+    public void testTryAdvanceEmpty() {
+        this.textsAndCheck(
+            TextNodeDescendantsSpliterator.with(
+                TextNode.NO_CHILDREN,
+                CONTINUE
+            )
+        );
+    }
+
+    @Test
+    public void testTryAdvancePreOrder() {
+        this.textsAndCheck(
+            this.spliterator(CONTINUE),
+            "a",
+            "bc",
+            "b",
+            "c",
+            "d",
+            "e",
+            "f"
+        );
+    }
+
+    @Test
+    public void testTryAdvanceSkip() {
+        this.textsAndCheck(
+            this.spliterator(
+                (n) -> n.isHyperlink() ?
+                    Visiting.SKIP :
+                    Visiting.CONTINUE
+            ),
+            "a",
+            "bc",
+            "d",
+            "e",
+            "f"
+        );
+    }
+
+    @Test
+    public void testTrySplitSeveralPending() {
+        final TextNodeDescendantsSpliterator spliterator = this.spliterator(CONTINUE);
+        final Spliterator<TextNode> prefix = spliterator.trySplit();
+
+        this.textsAndCheck(
+            prefix,
+            "a",
+            "bc",
+            "b",
+            "c",
+            "d"
+        );
+        this.textsAndCheck(
+            spliterator,
+            "e",
+            "f"
+        );
+    }
+
+    @Test
+    public void testTrySplitSinglePending() {
+        final TextNodeDescendantsSpliterator spliterator = TextNodeDescendantsSpliterator.with(
+            Lists.of(
+                this.tree()
+            ),
+            CONTINUE
+        );
+        final Spliterator<TextNode> prefix = spliterator.trySplit();
+
+        this.textsAndCheck(
+            prefix,
+            "abcdef",
+            "a",
+            "bc",
+            "b",
+            "c"
+        );
+        this.textsAndCheck(
+            spliterator,
+            "d",
+            "e",
+            "f"
+        );
+    }
+
+    @Test
+    public void testTrySplitSinglePendingSkip() {
+        assertNull(
+            TextNodeDescendantsSpliterator.with(
+                Lists.of(
+                    this.tree()
+                ),
+                (n) -> Visiting.SKIP
+            ).trySplit()
+        );
+    }
+
+    @Test
+    public void testTrySplitLeaf() {
+        assertNull(
+            TextNodeDescendantsSpliterator.with(
+                Lists.of(
+                    TextNode.text("a")
+                ),
+                CONTINUE
+            ).trySplit()
+        );
+    }
+
+    @Test
+    public void testParallelStream() {
+        this.checkEquals(
+            this.texts(
+                this.spliterator(CONTINUE)
+            ),
+            StreamSupport.stream(
+                    this.spliterator(CONTINUE),
+                    true // parallel
+                ).map(TextNode::text)
+                .collect(Collectors.toList())
+        );
+    }
+
+    private TextNodeDescendantsSpliterator spliterator(final Function<TextNode, Visiting> visiting) {
+        return TextNodeDescendantsSpliterator.with(
+            this.tree()
+                .children(),
+            visiting
+        );
+    }
+
+    // "a" Hyperlink("b", "c") "d" "e" "f"
+    private TextNode tree() {
+        return TextNode.style(
+            Lists.of(
+                TextNode.text("a"),
+                TextNode.hyperlink(URL)
+                    .setChildren(
+                        Lists.of(
+                            TextNode.text("b"),
+                            TextNode.text("c")
+                        )
+                    ),
+                TextNode.text("d"),
+                TextNode.text("e"),
+                TextNode.text("f")
+            )
+        );
+    }
+
+    private void textsAndCheck(final Spliterator<TextNode> spliterator,
+                               final String... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            this.texts(spliterator),
+            spliterator::toString
+        );
+    }
+
+    private List<String> texts(final Spliterator<TextNode> spliterator) {
+        final List<String> texts = Lists.array();
+        while (spliterator.tryAdvance(n -> texts.add(n.text()))) {
+        }
+        return texts;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeDescendantsSpliterator> type() {
+        return TextNodeDescendantsSpliterator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,525 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+public final class TextNodeDiffTest implements ClassTesting<TextNodeDiff> {
+
+    private final static Url URL = Url.parseAbsolute("https://example.com");
+
+    private final static Url URL2 = Url.parseAbsolute("https://example.com/2");
+
+    @Test
+    public void testDiffSame() {
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                this.text("b")
+            ),
+            this.style(
+                this.text("a"),
+                this.text("b")
+            )
+        );
+    }
+
+    @Test
+    public void testDiffRootText() {
+        this.diffAndCheck(
+            this.text("a"),
+            this.text("b"),
+            TextNodeEdit.text(
+                Lists.empty(),
+                "b"
+            )
+        );
+    }
+
+    @Test
+    public void testDiffRootDifferentType() {
+        final Image image = TextNode.image(URL);
+
+        this.diffAndCheck(
+            this.text("a"),
+            image,
+            TextNodeEdit.replace(
+                Lists.empty(),
+                image
+            )
+        );
+    }
+
+    @Test
+    public void testDiffRootDifferentImage() {
+        final Image image = TextNode.image(URL2);
+
+        this.diffAndCheck(
+            TextNode.image(URL),
+            image,
+            TextNodeEdit.replace(
+                Lists.empty(),
+                image
+            )
+        );
+    }
+
+    @Test
+    public void testDiffChildText() {
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                this.text("b"),
+                this.text("c")
+            ),
+            this.style(
+                this.text("a"),
+                this.text("x"),
+                this.text("c")
+            ),
+            TextNodeEdit.text(
+                Lists.of(1),
+                "x"
+            )
+        );
+    }
+
+    @Test
+    public void testDiffChildTextHashCodeCollision() {
+        // "Aa" and "BB" have the same String#hashCode
+        final TextNode before = this.style(
+            this.text("Aa"),
+            this.text("c")
+        );
+        final TextNode after = this.style(
+            this.text("BB"),
+            this.text("c")
+        );
+        this.checkEquals(
+            before.hashCode(),
+            after.hashCode(),
+            "hashCode"
+        );
+
+        this.diffAndCheck(
+            before,
+            after,
+            TextNodeEdit.text(
+                Lists.of(0),
+                "BB"
+            )
+        );
+    }
+
+    @Test
+    public void testDiffInsertChild() {
+        final Text x = this.text("x");
+
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                this.text("b")
+            ),
+            this.style(
+                this.text("a"),
+                x,
+                this.text("b")
+            ),
+            TextNodeEdit.insert(
+                Lists.of(1),
+                x
+            )
+        );
+    }
+
+    @Test
+    public void testDiffInsertSeveralChildren() {
+        final Text b = this.text("b");
+        final Image c = TextNode.image(URL);
+
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                TextNode.image(URL2)
+            ),
+            this.style(
+                this.text("a"),
+                b,
+                c,
+                TextNode.image(URL2)
+            ),
+            TextNodeEdit.insert(
+                Lists.of(1),
+                b
+            ),
+            TextNodeEdit.insert(
+                Lists.of(2),
+                c
+            )
+        );
+    }
+
+    @Test
+    public void testDiffRemoveChild() {
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                TextNode.image(URL),
+                this.text("b")
+            ),
+            this.style(
+                this.text("a"),
+                this.text("b")
+            ),
+            TextNodeEdit.remove(
+                Lists.of(1)
+            )
+        );
+    }
+
+    @Test
+    public void testDiffRemoveSeveralChildren() {
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                TextNode.image(URL),
+                TextNode.image(URL2),
+                this.text("b")
+            ),
+            this.style(
+                this.text("a"),
+                this.text("b")
+            ),
+            TextNodeEdit.remove(
+                Lists.of(1)
+            ),
+            TextNodeEdit.remove(
+                Lists.of(1)
+            )
+        );
+    }
+
+    @Test
+    public void testDiffReplaceAndInsertChild() {
+        final Text x = this.text("x");
+        final Text y = this.text("y");
+
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                TextNode.image(URL),
+                TextNode.image(URL2)
+            ),
+            this.style(
+                this.text("a"),
+                x,
+                y,
+                TextNode.image(URL2)
+            ),
+            TextNodeEdit.replace(
+                Lists.of(1),
+                x
+            ),
+            TextNodeEdit.insert(
+                Lists.of(2),
+                y
+            )
+        );
+    }
+
+    @Test
+    public void testDiffStyle() {
+        final TextNode children = this.style(
+            this.text("a"),
+            this.text("b")
+        );
+
+        this.diffAndCheck(
+            children.setAttributes(
+                Maps.of(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.LEFT
+                )
+            ),
+            children.setAttributes(
+                Maps.of(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.RIGHT
+                )
+            ),
+            TextNodeEdit.style(
+                Lists.empty(),
+                Maps.of(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.RIGHT
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testDiffStyleAndChildText() {
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                this.text("b")
+            ).setAttributes(
+                Maps.of(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.LEFT
+                )
+            ),
+            this.style(
+                this.text("a"),
+                this.text("c")
+            ).setAttributes(
+                Maps.of(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.RIGHT
+                )
+            ),
+            TextNodeEdit.style(
+                Lists.empty(),
+                Maps.of(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.RIGHT
+                )
+            ),
+            TextNodeEdit.text(
+                Lists.of(1),
+                "c"
+            )
+        );
+    }
+
+    @Test
+    public void testDiffHyperlinkUrl() {
+        final Hyperlink after = this.hyperlink(URL2, "b");
+
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                this.hyperlink(URL, "b")
+            ),
+            this.style(
+                this.text("a"),
+                after
+            ),
+            TextNodeEdit.replace(
+                Lists.of(1),
+                after
+            )
+        );
+    }
+
+    @Test
+    public void testDiffNestedText() {
+        this.diffAndCheck(
+            this.style(
+                this.text("a"),
+                this.hyperlink(URL, "b"),
+                this.hyperlink(URL2, "c")
+            ),
+            this.style(
+                this.text("a"),
+                this.hyperlink(URL, "b"),
+                this.hyperlink(URL2, "x")
+            ),
+            TextNodeEdit.text(
+                Lists.of(2, 0),
+                "x"
+            )
+        );
+    }
+
+    @Test
+    public void testDiffNestedPairs() {
+        this.diffAndCheck(
+            this.style(
+                this.hyperlink(URL, "a"),
+                this.style(
+                    this.text("b"),
+                    TextNode.image(URL),
+                    this.text("c")
+                ),
+                TextNode.image(URL2)
+            ),
+            this.style(
+                this.hyperlink(URL, "a"),
+                this.style(
+                    this.text("x"),
+                    this.text("b"),
+                    this.text("c")
+                ),
+                TextNode.image(URL2)
+            ),
+            TextNodeEdit.text(
+                Lists.of(1, 0),
+                "x"
+            ),
+            TextNodeEdit.replace(
+                Lists.of(1, 1),
+                this.text("b")
+            )
+        );
+    }
+
+    private void diffAndCheck(final TextNode before,
+                              final TextNode after,
+                              final TextNodeEdit... expected) {
+        final List<TextNodeEdit> edits = before.diff(after);
+        this.checkEquals(
+            Lists.of(expected),
+            edits,
+            () -> before + " diff " + after
+        );
+        this.checkEquals(
+            after,
+            before.apply(edits),
+            () -> before + " apply " + edits
+        );
+    }
+
+    // same.............................................................................................................
+
+    @Test
+    public void testSameEqualParents() {
+        this.sameAndCheck(
+            this.style(
+                this.text("a"),
+                this.hyperlink(URL, "b")
+            ),
+            this.style(
+                this.text("a"),
+                this.hyperlink(URL, "b")
+            ),
+            true
+        );
+    }
+
+    @Test
+    public void testSameDifferentParents() {
+        this.sameAndCheck(
+            this.style(
+                this.text("Aa")
+            ),
+            this.style(
+                this.text("BB")
+            ),
+            false
+        );
+    }
+
+    @Test
+    public void testDiffSkipsUnchangedSubtreeWithoutWalking() throws Exception {
+        final TextNode before = this.style(
+            this.style(
+                this.text("unchanged")
+            ),
+            this.text("a")
+        );
+        final TextNode after = this.style(
+            this.style(
+                this.text("walked")
+            ),
+            this.text("b")
+        );
+
+        // forge the cached hashes of a different subtree, a walk would find "unchanged" differs from "walked"
+        final TextParentNode beforeChild = before.children()
+            .get(0)
+            .cast();
+        beforeChild.hashCode();
+        beforeChild.structuralHash();
+
+        final TextParentNode afterChild = after.children()
+            .get(0)
+            .cast();
+        for (final String name : new String[]{"hashCode", "structuralHash"}) {
+            final Field field = TextParentNode.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(
+                afterChild,
+                field.get(beforeChild)
+            );
+        }
+
+        this.checkEquals(
+            Lists.of(
+                TextNodeEdit.text(
+                    Lists.of(1),
+                    "b"
+                )
+            ),
+            before.diff(after)
+        );
+    }
+
+    private void sameAndCheck(final TextNode before,
+                              final TextNode after,
+                              final boolean expected) {
+        this.checkEquals(
+            expected,
+            TextNodeDiff.same(
+                before,
+                after
+            ),
+            () -> before + " same " + after
+        );
+    }
+
+    private TextNode style(final TextNode... children) {
+        return TextNode.style(
+            Lists.of(children)
+        );
+    }
+
+    private Hyperlink hyperlink(final Url url,
+                                final String text) {
+        return TextNode.hyperlink(url)
+            .setChildren(
+                Lists.of(
+                    this.text(text)
+                )
+            );
+    }
+
+    private Text text(final String text) {
+        return TextNode.text(text);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeDiff> type() {
+        return TextNodeDiff.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeEditInsertTest extends TextNodeEditTestCase<TextNodeEditInsert> {
+
+    private final static Text NODE = TextNode.text("x");
+
+    @Test
+    public void testWithEmptyPathFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNodeEdit.insert(
+                Lists.empty(),
+                NODE
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeEdit.insert(
+                PATH,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testApply() {
+        this.applyAndCheck(
+            this.createObject(),
+            this.tree(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    NODE,
+                    TextNode.hyperlink(URL)
+                        .setChildren(
+                            Lists.of(
+                                TextNode.text("b")
+                            )
+                        ),
+                    TextNode.text("c")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testApplyLast() {
+        this.applyAndCheck(
+            this.createEdit(
+                Lists.of(3)
+            ),
+            this.tree(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.hyperlink(URL)
+                        .setChildren(
+                            Lists.of(
+                                TextNode.text("b")
+                            )
+                        ),
+                    TextNode.text("c"),
+                    NODE
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testApplyNested() {
+        this.applyAndCheck(
+            this.createEdit(
+                Lists.of(1, 1)
+            ),
+            this.tree(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.hyperlink(URL)
+                        .setChildren(
+                            Lists.of(
+                                TextNode.text("b"),
+                                NODE
+                            )
+                        ),
+                    TextNode.text("c")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testApplyIndexTooLargeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createEdit(
+                Lists.of(4)
+            ).apply(
+                this.tree()
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentNode() {
+        this.checkNotEquals(
+            TextNodeEdit.insert(
+                PATH,
+                TextNode.text("different")
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "insert [1] " + NODE
+        );
+    }
+
+    @Override
+    TextNodeEditInsert createEdit(final List<Integer> path) {
+        return TextNodeEdit.insert(
+            path,
+            NODE
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeEditInsert> type() {
+        return TextNodeEditInsert.class;
+    }
+}
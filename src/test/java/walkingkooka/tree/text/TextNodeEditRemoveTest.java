@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeEditRemoveTest extends TextNodeEditTestCase<TextNodeEditRemove> {
+
+    @Test
+    public void testWithEmptyPathFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNodeEdit.remove(
+                Lists.empty()
+            )
+        );
+    }
+
+    @Test
+    public void testApply() {
+        this.applyAndCheck(
+            this.createObject(),
+            this.tree(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.text("c")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testApplyNested() {
+        this.applyAndCheck(
+            this.createEdit(
+                Lists.of(1, 0)
+            ),
+            this.tree(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.hyperlink(URL),
+                    TextNode.text("c")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testApplyIndexTooLargeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createEdit(
+                Lists.of(3)
+            ).apply(
+                this.tree()
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "remove [1]"
+        );
+    }
+
+    @Override
+    TextNodeEditRemove createEdit(final List<Integer> path) {
+        return TextNodeEdit.remove(path);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeEditRemove> type() {
+        return TextNodeEditRemove.class;
+    }
+}
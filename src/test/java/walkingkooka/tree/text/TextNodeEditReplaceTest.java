@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeEditReplaceTest extends TextNodeEditTestCase<TextNodeEditReplace> {
+
+    private final static Image NODE = TextNode.image(URL);
+
+    @Test
+    public void testWithNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeEdit.replace(
+                PATH,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testApply() {
+        this.applyAndCheck(
+            this.createObject(),
+            this.tree(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    NODE,
+                    TextNode.text("c")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testApplyEmptyPath() {
+        this.applyAndCheck(
+            this.createEdit(
+                Lists.empty()
+            ),
+            this.tree(),
+            NODE
+        );
+    }
+
+    @Test
+    public void testApplyNested() {
+        this.applyAndCheck(
+            this.createEdit(
+                Lists.of(1, 0)
+            ),
+            this.tree(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.hyperlink(URL)
+                        .setChildren(
+                            Lists.of(
+                                NODE
+                            )
+                        ),
+                    TextNode.text("c")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentNode() {
+        this.checkNotEquals(
+            TextNodeEdit.replace(
+                PATH,
+                TextNode.text("different")
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "replace [1] " + NODE
+        );
+    }
+
+    @Override
+    TextNodeEditReplace createEdit(final List<Integer> path) {
+        return TextNodeEdit.replace(
+            path,
+            NODE
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeEditReplace> type() {
+        return TextNodeEditReplace.class;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeEditStyleTest extends TextNodeEditTestCase<TextNodeEditStyle> {
+
+    private final static Map<TextStylePropertyName<?>, Object> ATTRIBUTES = Maps.of(
+        TextStylePropertyName.TEXT_ALIGN,
+        TextAlign.LEFT
+    );
+
+    @Test
+    public void testWithNullAttributesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeEdit.style(
+                PATH,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testApply() {
+        final TextNode tree = this.tree();
+
+        this.applyAndCheck(
+            this.createEdit(
+                Lists.empty()
+            ),
+            tree,
+            tree.setAttributes(ATTRIBUTES)
+        );
+    }
+
+    @Test
+    public void testApplyNested() {
+        final TextNode nested = TextNode.style(
+            Lists.of(
+                TextNode.text("b"),
+                TextNode.text("c")
+            )
+        );
+
+        this.applyAndCheck(
+            this.createObject(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    nested
+                )
+            ),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    nested.setAttributes(ATTRIBUTES)
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testApplyNotStyleFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createEdit(
+                Lists.of(0)
+            ).apply(
+                this.tree()
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentAttributes() {
+        this.checkNotEquals(
+            TextNodeEdit.style(
+                PATH,
+                Maps.of(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.RIGHT
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final TextNodeEditStyle edit = this.createObject();
+
+        this.toStringAndCheck(
+            edit,
+            "style [1] " + edit.attributes()
+        );
+    }
+
+    @Override
+    TextNodeEditStyle createEdit(final List<Integer> path) {
+        return TextNodeEdit.style(
+            path,
+            ATTRIBUTES
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeEditStyle> type() {
+        return TextNodeEditStyle.class;
+    }
+}
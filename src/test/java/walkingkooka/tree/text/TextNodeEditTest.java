@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class TextNodeEditTest implements ClassTesting<TextNodeEdit> {
+
+    @Test
+    public void testApplyDiff() {
+        final TextNode before = TextNode.style(
+            Lists.of(
+                TextNode.text("a"),
+                TextNode.text("b")
+            )
+        );
+        final TextNode after = TextNode.style(
+            Lists.of(
+                TextNode.text("a"),
+                TextNode.text("c"),
+                TextNode.text("d")
+            )
+        );
+
+        this.checkEquals(
+            after,
+            before.apply(
+                before.diff(after)
+            )
+        );
+    }
+
+    @Test
+    public void testApplyNoEdits() {
+        final TextNode node = TextNode.text("a");
+
+        this.checkEquals(
+            node,
+            node.apply(
+                Lists.empty()
+            )
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeEdit> type() {
+        return TextNodeEdit.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
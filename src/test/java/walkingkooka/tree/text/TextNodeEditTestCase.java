@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public abstract class TextNodeEditTestCase<T extends TextNodeEdit> implements ClassTesting2<T>,
+    HashCodeEqualsDefinedTesting2<T>,
+    ToStringTesting<T> {
+
+    final static List<Integer> PATH = Lists.of(1);
+
+    final static Url URL = Url.parseAbsolute("https://example.com");
+
+    TextNodeEditTestCase() {
+        super();
+    }
+
+    @Test
+    public final void testWithNullPathFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createEdit(null)
+        );
+    }
+
+    @Test
+    public final void testWithNegativePathFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createEdit(
+                Lists.of(1, -1)
+            )
+        );
+    }
+
+    @Test
+    public final void testWithPathCopied() {
+        final List<Integer> path = Lists.array();
+        path.add(1);
+
+        final T edit = this.createEdit(path);
+        path.add(2);
+
+        this.checkEquals(
+            PATH,
+            edit.path()
+        );
+    }
+
+    @Test
+    public final void testApplyNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createObject()
+                .apply(null)
+        );
+    }
+
+    @Test
+    public final void testApplyInvalidPathFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createEdit(
+                Lists.of(9, 0)
+            ).apply(
+                this.tree()
+            )
+        );
+    }
+
+    @Test
+    public final void testEqualsDifferentPath() {
+        this.checkNotEquals(
+            this.createEdit(
+                Lists.of(2)
+            )
+        );
+    }
+
+    final void applyAndCheck(final TextNodeEdit edit,
+                             final TextNode node,
+                             final TextNode expected) {
+        this.checkEquals(
+            expected,
+            edit.apply(node),
+            () -> edit + " apply " + node
+        );
+    }
+
+    abstract T createEdit(final List<Integer> path);
+
+    /**
+     * "a" Hyperlink("b") "c"
+     */
+    final TextNode tree() {
+        return TextNode.style(
+            Lists.of(
+                TextNode.text("a"),
+                TextNode.hyperlink(URL)
+                    .setChildren(
+                        Lists.of(
+                            TextNode.text("b")
+                        )
+                    ),
+                TextNode.text("c")
+            )
+        );
+    }
+
+    // HashCodeEqualsDefinedTesting2....................................................................................
+
+    @Override
+    public final T createObject() {
+        return this.createEdit(PATH);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public final JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeEditTextTest extends TextNodeEditTestCase<TextNodeEditText> {
+
+    @Test
+    public void testWithNullTextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeEdit.text(
+                PATH,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testApply() {
+        this.applyAndCheck(
+            this.createEdit(
+                Lists.of(2)
+            ),
+            this.tree(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.hyperlink(URL)
+                        .setChildren(
+                            Lists.of(
+                                TextNode.text("b")
+                            )
+                        ),
+                    TextNode.text("x")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testApplyEmptyPath() {
+        this.applyAndCheck(
+            this.createEdit(
+                Lists.empty()
+            ),
+            TextNode.text("a"),
+            TextNode.text("x")
+        );
+    }
+
+    @Test
+    public void testApplyNested() {
+        this.applyAndCheck(
+            this.createEdit(
+                Lists.of(1, 0)
+            ),
+            this.tree(),
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.hyperlink(URL)
+                        .setChildren(
+                            Lists.of(
+                                TextNode.text("x")
+                            )
+                        ),
+                    TextNode.text("c")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testApplyNotTextFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createObject()
+                .apply(
+                    this.tree()
+                )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentText() {
+        this.checkNotEquals(
+            TextNodeEdit.text(
+                PATH,
+                "different"
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "text [1] \"x\""
+        );
+    }
+
+    @Override
+    TextNodeEditText createEdit(final List<Integer> path) {
+        return TextNodeEdit.text(
+            path,
+            "x"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeEditText> type() {
+        return TextNodeEditText.class;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.Url;
+import walkingkooka.test.Testing;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Estimates the bytes retained by each {@link TextNode} excluding shared values such as the {@link String} text,
+ * {@link Url} and styles, assuming a 64 bit JVM with compressed references, much like JOL would report.
+ * The children of parents are counted as the {@link TextNodeChildrenList} and its array but not the children themselves,
+ * along with the lazily computed child text offsets array, which is forced before measuring.
+ */
+public final class TextNodeFootprintTest implements Testing {
+
+    private final static int OBJECT_HEADER = 12;
+
+    private final static int ARRAY_HEADER = 16;
+
+    private final static int REFERENCE = 4;
+
+    private final static int ALIGNMENT = 8;
+
+    @Test
+    public void testTextNodeChildrenList() {
+        this.checkEquals(
+            16L,
+            shallowSize(TextNodeChildrenList.class),
+            "TextNodeChildrenList holds only its array"
+        );
+    }
+
+    @Test
+    public void testText() {
+        this.footprintAndCheck(
+            TextNode.text("abc"),
+            24
+        );
+    }
+
+    @Test
+    public void testTextStyleNode() {
+        this.footprintAndCheck(
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("abc")
+                )
+            ),
+            112
+        );
+    }
+
+    @Test
+    public void testHyperlink() {
+        this.footprintAndCheck(
+            TextNode.hyperlink(
+                Url.parseAbsolute("https://example.com")
+            ).setChildren(
+                Lists.of(
+                    TextNode.text("abc")
+                )
+            ),
+            112
+        );
+    }
+
+    @Test
+    public void testTextStyleNodeManyChildren() {
+        this.footprintAndCheck(
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.text("b"),
+                    TextNode.text("c"),
+                    TextNode.text("d")
+                )
+            ),
+            136
+        );
+    }
+
+    private void footprintAndCheck(final TextNode node,
+                                   final long expected) {
+        this.checkEquals(
+            expected,
+            this.footprint(node),
+            () -> node.getClass().getSimpleName() + " bytes"
+        );
+    }
+
+    private long footprint(final TextNode node) {
+        long bytes = shallowSize(node.getClass());
+
+        if (node instanceof TextParentNode) {
+            final int count = node.children().size();
+
+            bytes += shallowSize(TextNodeChildrenList.class) +
+                align(ARRAY_HEADER + REFERENCE * count);
+
+            // childTextOffsets holds one more element than the children
+            this.checkEquals(
+                count + 1,
+                ((TextParentNode) node).childTextOffsets().length
+            );
+            bytes += align(ARRAY_HEADER + 4 * (count + 1));
+        }
+
+        return bytes;
+    }
+
+    private static long shallowSize(final Class<?> type) {
+        long size = OBJECT_HEADER;
+
+        for (Class<?> c = type; null != c; c = c.getSuperclass()) {
+            for (final Field field : c.getDeclaredFields()) {
+                if (false == Modifier.isStatic(field.getModifiers())) {
+                    size += fieldSize(field.getType());
+                }
+            }
+        }
+
+        return align(size);
+    }
+
+    private static int fieldSize(final Class<?> type) {
+        final int size;
+
+        if (long.class == type || double.class == type) {
+            size = 8;
+        } else if (int.class == type || float.class == type) {
+            size = 4;
+        } else if (short.class == type || char.class == type) {
+            size = 2;
+        } else if (byte.class == type || boolean.class == type) {
+            size = 1;
+        } else {
+            size = REFERENCE;
+        }
+
+        return size;
+    }
+
+    private static long align(final long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+public final class TextNodeHtmlBatchRenderTest implements ClassTesting<TextNodeHtmlBatchRender>,
+    ToStringTesting<TextNodeHtmlBatchRender> {
+
+    @Test
+    public void testRenderOutOfOrder() {
+        final TextNode[] cells = new TextNode[TextNodeHtmlBatch.CELLS_PER_TASK + 1];
+        final String[] expected = new String[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = TextNode.text("cell-" + i);
+            expected[i] = "cell-" + i;
+        }
+
+        final List<String[]> fragments = Lists.array();
+
+        final TextNodeHtmlBatchRender render = TextNodeHtmlBatchRender.with(
+            cells,
+            HtmlOptions.MINIFIED,
+            fragments::add,
+            (t) -> {
+                throw new AssertionError(t);
+            }
+        );
+
+        render.render(
+            TextNodeHtmlBatch.CELLS_PER_TASK,
+            cells.length
+        );
+
+        this.checkEquals(
+            0,
+            fragments.size(),
+            "fragments before last task"
+        );
+
+        render.render(
+            0,
+            TextNodeHtmlBatch.CELLS_PER_TASK
+        );
+
+        this.checkEquals(
+            Lists.of(expected),
+            Lists.of(
+                fragments.get(0)
+            ),
+            "fragments"
+        );
+    }
+
+    @Test
+    public void testUnscheduled() {
+        final TextNode[] cells = new TextNode[TextNodeHtmlBatch.CELLS_PER_TASK * 2 + 1];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = TextNode.text("cell-" + i);
+        }
+
+        final List<Throwable> failures = Lists.array();
+
+        final TextNodeHtmlBatchRender render = TextNodeHtmlBatchRender.with(
+            cells,
+            HtmlOptions.MINIFIED,
+            (f) -> {
+                throw new AssertionError("fragments " + f);
+            },
+            failures::add
+        );
+
+        render.render(
+            0,
+            TextNodeHtmlBatch.CELLS_PER_TASK
+        );
+
+        this.checkEquals(
+            0,
+            failures.size(),
+            "failures before unscheduled"
+        );
+
+        final IllegalStateException cause = new IllegalStateException("Rejected");
+        render.unscheduled(
+            2,
+            cause
+        );
+
+        this.checkEquals(
+            Lists.of(cause),
+            failures,
+            "failures"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            TextNodeHtmlBatchRender.with(
+                new TextNode[]{
+                    TextNode.text("a"),
+                    TextNode.text("b")
+                },
+                HtmlOptions.MINIFIED,
+                (f) -> {
+                },
+                (t) -> {
+                }
+            ),
+            "2 cells 1 tasks remaining"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TextNodeHtmlBatchRender> type() {
+        return TextNodeHtmlBatchRender.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
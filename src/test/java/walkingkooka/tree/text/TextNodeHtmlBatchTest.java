@@ -0,0 +1,454 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.color.Color;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeHtmlBatchTest implements ClassTesting<TextNodeHtmlBatch>,
+    ToStringTesting<TextNodeHtmlBatch> {
+
+    private final static Executor DIRECT = Runnable::run;
+
+    private final static TextStyle STYLE = TextStyle.EMPTY.set(
+        TextStylePropertyName.COLOR,
+        Color.parse("#111")
+    );
+
+    @Test
+    public void testWithNullOptionsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeHtmlBatch.with(
+                null,
+                DIRECT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeHtmlBatch.with(
+                HtmlOptions.MINIFIED,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testFragmentsWithNullCellsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeHtmlBatch.with(
+                HtmlOptions.MINIFIED,
+                DIRECT
+            ).fragments(
+                null,
+                (f) -> {
+                },
+                (t) -> {
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testFragmentsEmpty() {
+        final List<List<String>> fragments = Lists.array();
+
+        TextNodeHtmlBatch.with(
+            HtmlOptions.MINIFIED,
+            DIRECT
+        ).fragments(
+            Lists.empty(),
+            fragments::add,
+            (t) -> {
+                throw new AssertionError(t);
+            }
+        );
+
+        this.checkEquals(
+            Lists.of(
+                Lists.empty()
+            ),
+            fragments
+        );
+    }
+
+    @Test
+    public void testFragments() {
+        final List<List<String>> fragments = Lists.array();
+
+        TextNodeHtmlBatch.with(
+            HtmlOptions.MINIFIED,
+            DIRECT
+        ).fragments(
+            Lists.of(
+                TextNode.text("a"),
+                cell(1)
+            ),
+            fragments::add,
+            (t) -> {
+                throw new AssertionError(t);
+            }
+        );
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of(
+                    "a",
+                    "<SPAN style=\"color: #111;\">cell-1</SPAN>"
+                )
+            ),
+            fragments
+        );
+    }
+
+    @Test
+    public void testFragmentsFailure() {
+        final List<Throwable> failures = Lists.array();
+
+        TextNodeHtmlBatch.with(
+            HtmlOptions.MINIFIED,
+            DIRECT
+        ).fragments(
+            Lists.of(
+                TextNode.text("a"),
+                TextNode.placeholder(
+                    TextPlaceholderName.with("placeholder1")
+                )
+            ),
+            (f) -> {
+                throw new AssertionError("fragments " + f);
+            },
+            failures::add
+        );
+
+        this.checkEquals(
+            1,
+            failures.size(),
+            "failures"
+        );
+        this.checkEquals(
+            UnsupportedOperationException.class,
+            failures.get(0).getClass(),
+            "failure"
+        );
+    }
+
+    @Test
+    public void testFragmentsExecutorRejects() {
+        final List<TextNode> cells = Lists.array();
+        for (int i = 0; i < TextNodeHtmlBatch.CELLS_PER_TASK * 3; i++) {
+            cells.add(
+                cell(i)
+            );
+        }
+
+        final RejectedExecutionException rejected = new RejectedExecutionException("Rejected");
+        final List<Throwable> failures = Lists.array();
+
+        TextNodeHtmlBatch.with(
+            HtmlOptions.MINIFIED,
+            new Executor() {
+                @Override
+                public void execute(final Runnable command) {
+                    if (this.executed > 0) {
+                        throw rejected;
+                    }
+                    this.executed++;
+                    command.run();
+                }
+
+                private int executed;
+            }
+        ).fragments(
+            cells,
+            (f) -> {
+                throw new AssertionError("fragments " + f);
+            },
+            failures::add
+        );
+
+        this.checkEquals(
+            Lists.of(rejected),
+            failures,
+            "failures"
+        );
+    }
+
+    @Test
+    public void testFragmentsStyleClassesAssignedBeforeTasks() {
+        final TextStyle style2 = TextStyle.EMPTY.set(
+            TextStylePropertyName.COLOR,
+            Color.parse("#222")
+        );
+
+        final List<TextNode> cells = Lists.array();
+        final List<String> expected = Lists.array();
+        for (int i = 0; i < TextNodeHtmlBatch.CELLS_PER_TASK * 2; i++) {
+            final boolean first = i < TextNodeHtmlBatch.CELLS_PER_TASK;
+
+            cells.add(
+                (first ? STYLE : style2).setChildren(
+                    Lists.of(
+                        TextNode.text("cell-" + i)
+                    )
+                )
+            );
+            expected.add(
+                "<SPAN class=\"c" + (first ? 0 : 1) + "\">cell-" + i + "</SPAN>"
+            );
+        }
+
+        final HtmlStyleClasses classes = HtmlStyleClasses.with(
+            "c",
+            100
+        );
+        final List<Runnable> tasks = Lists.array();
+        final List<List<String>> fragments = Lists.array();
+
+        TextNodeHtmlBatch.with(
+            HtmlOptions.MINIFIED.setStyleClasses(
+                Optional.of(classes)
+            ),
+            tasks::add
+        ).fragments(
+            cells,
+            fragments::add,
+            (t) -> {
+                throw new AssertionError(t);
+            }
+        );
+
+        // run the last task first
+        for (int i = tasks.size() - 1; i >= 0; i--) {
+            tasks.get(i)
+                .run();
+        }
+
+        this.checkEquals(
+            Lists.of(expected),
+            fragments,
+            "fragments"
+        );
+        this.checkEquals(
+            ".c0 {color: #111;}.c1 {color: #222;}",
+            classes.styleSheet(),
+            "styleSheet"
+        );
+    }
+
+    @Test
+    public void testFragmentsParallelOrder() throws InterruptedException, ExecutionException, TimeoutException {
+        final List<TextNode> cells = Lists.array();
+        final List<String> expected = Lists.array();
+
+        for (int i = 0; i < 1000; i++) {
+            final TextNode cell = cell(i);
+            cells.add(cell);
+            expected.add(cell.toHtml());
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final CompletableFuture<List<String>> future = new CompletableFuture<>();
+
+            TextNodeHtmlBatch.with(
+                HtmlOptions.INDENTED,
+                executor
+            ).fragments(
+                cells,
+                future::complete,
+                future::completeExceptionally
+            );
+
+            this.checkEquals(
+                expected,
+                future.get(10, TimeUnit.SECONDS)
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // table............................................................................................................
+
+    @Test
+    public void testTableWithNullRowsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeHtmlBatch.with(
+                HtmlOptions.MINIFIED,
+                DIRECT
+            ).table(
+                null,
+                (t) -> {
+                },
+                (t) -> {
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testTable() {
+        final List<String> tables = Lists.array();
+
+        TextNodeHtmlBatch.with(
+            HtmlOptions.MINIFIED,
+            DIRECT
+        ).table(
+            Lists.of(
+                Lists.of(
+                    cell(1),
+                    TextNode.text("b")
+                ),
+                Lists.empty(),
+                Lists.of(
+                    TextNode.text("c")
+                )
+            ),
+            tables::add,
+            (t) -> {
+                throw new AssertionError(t);
+            }
+        );
+
+        this.checkEquals(
+            Lists.of(
+                "<TABLE>" +
+                    "<TR><TD><SPAN style=\"color: #111;\">cell-1</SPAN></TD><TD>b</TD></TR>" +
+                    "<TR></TR>" +
+                    "<TR><TD>c</TD></TR>" +
+                    "</TABLE>"
+            ),
+            tables
+        );
+    }
+
+    @Test
+    public void testTableParallel() throws InterruptedException, ExecutionException, TimeoutException {
+        final List<List<TextNode>> rows = Lists.array();
+        final StringBuilder expected = new StringBuilder();
+        expected.append("<TABLE>");
+
+        int i = 0;
+        for (int r = 0; r < 50; r++) {
+            final List<TextNode> row = Lists.array();
+            expected.append("<TR>");
+
+            for (int c = 0; c < 20; c++) {
+                final TextNode cell = cell(i++);
+                row.add(cell);
+                expected.append("<TD>")
+                    .append(cell.toHtml())
+                    .append("</TD>");
+            }
+
+            rows.add(row);
+            expected.append("</TR>");
+        }
+        expected.append("</TABLE>");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final CompletableFuture<String> future = new CompletableFuture<>();
+
+            TextNodeHtmlBatch.with(
+                HtmlOptions.INDENTED,
+                executor
+            ).table(
+                rows,
+                future::complete,
+                future::completeExceptionally
+            );
+
+            this.checkEquals(
+                expected.toString(),
+                future.get(10, TimeUnit.SECONDS)
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TextNode cell(final int i) {
+        return STYLE.setChildren(
+            Lists.of(
+                TextNode.text("cell-" + i)
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final Executor executor = new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                command.run();
+            }
+
+            @Override
+            public String toString() {
+                return "Executor123";
+            }
+        };
+
+        this.toStringAndCheck(
+            TextNodeHtmlBatch.with(
+                HtmlOptions.MINIFIED,
+                executor
+            ),
+            "minified Executor123"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TextNodeHtmlBatch> type() {
+        return TextNodeHtmlBatch.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
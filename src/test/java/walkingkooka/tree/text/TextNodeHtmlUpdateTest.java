@@ -0,0 +1,445 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeHtmlUpdateTest implements ClassTesting2<TextNodeHtmlUpdate>,
+    HashCodeEqualsDefinedTesting2<TextNodeHtmlUpdate>,
+    ToStringTesting<TextNodeHtmlUpdate> {
+
+    private final static Url URL = Url.parseAbsolute("https://example.com");
+
+    private final static Url URL2 = Url.parseAbsolute("https://example.com/2");
+
+    @Test
+    public void testToHtmlUpdatesNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.text("a")
+                .toHtmlUpdates(null)
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesSame() {
+        this.toHtmlUpdatesAndCheck(
+            this.tree("b", "c"),
+            this.tree("b", "c")
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesRootText() {
+        this.toHtmlUpdatesAndCheck(
+            TextNode.text("a"),
+            TextNode.text("b"),
+            Lists.empty(),
+            "b"
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesElement() {
+        this.toHtmlUpdatesAndCheck(
+            this.tree("b", "c"),
+            this.tree("b", "x"),
+            Lists.of(1),
+            "<A href=\"https://example.com/2\">x</A>"
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesSeveralElements() {
+        this.toHtmlUpdatesAndCheck(
+            this.tree("b", "c"),
+            this.tree("x", "y"),
+            Lists.of(0),
+            "<A href=\"https://example.com\">x</A>",
+            Lists.of(1),
+            "<A href=\"https://example.com/2\">y</A>"
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesNestedElement() {
+        final TextNode before = this.style(
+            this.text("a"),
+            this.hyperlink(
+                URL,
+                this.text("b"),
+                this.hyperlink(
+                    URL2,
+                    this.text("c")
+                )
+            )
+        );
+        final TextNode after = this.style(
+            this.text("a"),
+            this.hyperlink(
+                URL,
+                this.text("b"),
+                this.hyperlink(
+                    URL2,
+                    this.text("x")
+                )
+            )
+        );
+
+        this.toHtmlUpdatesAndCheck(
+            before,
+            after,
+            Lists.of(0, 0),
+            "<A href=\"https://example.com/2\">x</A>"
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesElementUrl() {
+        final TextNode before = this.tree("b", "c");
+        final TextNode after = this.style(
+            this.text("a"),
+            this.hyperlink(
+                URL2,
+                this.text("b")
+            ),
+            this.hyperlink(
+                URL2,
+                this.text("c")
+            )
+        );
+
+        this.toHtmlUpdatesAndCheck(
+            before,
+            after,
+            Lists.of(0),
+            "<A href=\"https://example.com/2\">b</A>"
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesElementAfterImage() {
+        final Image image = TextNode.image(URL);
+
+        this.toHtmlUpdatesAndCheck(
+            this.style(
+                this.text("a"),
+                image,
+                this.text("b"),
+                this.hyperlink(
+                    URL2,
+                    this.text("c")
+                )
+            ),
+            this.style(
+                this.text("a"),
+                image,
+                this.text("b"),
+                this.hyperlink(
+                    URL2,
+                    this.text("x")
+                )
+            ),
+            Lists.of(1),
+            "<A href=\"https://example.com/2\">x</A>"
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesImage() {
+        this.toHtmlUpdatesAndCheck(
+            this.style(
+                this.text("a"),
+                TextNode.image(URL),
+                this.hyperlink(
+                    URL2,
+                    this.text("b")
+                )
+            ),
+            this.style(
+                this.text("a"),
+                TextNode.image(URL2),
+                this.hyperlink(
+                    URL2,
+                    this.text("b")
+                )
+            ),
+            Lists.of(0),
+            "<IMG src=\"https://example.com/2\"/>"
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesElementReplacedByTextReplacesParent() {
+        final TextNode after = this.style(
+            this.text("a"),
+            this.text("b"),
+            this.hyperlink(
+                URL2,
+                this.text("c")
+            )
+        );
+
+        this.toHtmlUpdatesAndCheck(
+            this.tree("b", "c"),
+            after,
+            Lists.empty(),
+            this.minified(after)
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesIndentedParentUsesMinifiedHtml() {
+        final TextNode after = this.hyperlink(
+            URL,
+            this.text("a"),
+            this.hyperlink(
+                URL2,
+                this.text("x")
+            )
+        );
+
+        this.toHtmlUpdatesAndCheck(
+            this.hyperlink(
+                URL,
+                this.text("b"),
+                this.hyperlink(
+                    URL2,
+                    this.text("x")
+                )
+            ),
+            after,
+            Lists.empty(),
+            "<A href=\"https://example.com\">a<A href=\"https://example.com/2\">x</A></A>"
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesTextChildReplacesParent() {
+        final TextNode after = this.style(
+            this.text("x"),
+            this.hyperlink(
+                URL,
+                this.text("b")
+            ),
+            this.hyperlink(
+                URL2,
+                this.text("c")
+            )
+        );
+
+        this.toHtmlUpdatesAndCheck(
+            this.tree("b", "c"),
+            after,
+            Lists.empty(),
+            this.minified(after)
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesChildCountReplacesParent() {
+        final TextNode after = this.hyperlink(
+            URL,
+            this.text("a"),
+            this.hyperlink(
+                URL2,
+                this.text("b")
+            ),
+            this.text("c")
+        );
+
+        this.toHtmlUpdatesAndCheck(
+            this.hyperlink(
+                URL,
+                this.text("a"),
+                this.hyperlink(
+                    URL2,
+                    this.text("b")
+                )
+            ),
+            after,
+            Lists.empty(),
+            "<A href=\"https://example.com\">a<A href=\"https://example.com/2\">b</A>c</A>"
+        );
+    }
+
+    @Test
+    public void testToHtmlUpdatesAttributesReplacesParent() {
+        final TextNode before = this.tree("b", "c");
+        final TextNode after = before.setAttributes(
+            Maps.of(
+                TextStylePropertyName.TEXT_ALIGN,
+                TextAlign.LEFT
+            )
+        );
+
+        this.toHtmlUpdatesAndCheck(
+            before,
+            after,
+            Lists.empty(),
+            this.minified(after)
+        );
+    }
+
+    /**
+     * Accepts pairs of path and html.
+     */
+    private void toHtmlUpdatesAndCheck(final TextNode before,
+                                       final TextNode after,
+                                       final Object... pathAndHtml) {
+        final List<TextNodeHtmlUpdate> expected = Lists.array();
+
+        for (int i = 0; i < pathAndHtml.length; i += 2) {
+            expected.add(
+                this.update(
+                    Cast.to(pathAndHtml[i]),
+                    (String) pathAndHtml[i + 1]
+                )
+            );
+        }
+
+        this.checkEquals(
+            expected,
+            before.toHtmlUpdates(after),
+            () -> before + " toHtmlUpdates " + after
+        );
+    }
+
+    private String minified(final TextNode node) {
+        final StringBuilder html = new StringBuilder();
+        try {
+            node.toHtml(
+                html,
+                HtmlOptions.MINIFIED
+            );
+        } catch (final IOException cause) {
+            throw new AssertionError(cause);
+        }
+        return html.toString();
+    }
+
+    // "a" Hyperlink(b) Hyperlink(c)
+    private TextNode tree(final String b,
+                          final String c) {
+        return this.style(
+            this.text("a"),
+            this.hyperlink(
+                URL,
+                this.text(b)
+            ),
+            this.hyperlink(
+                URL2,
+                this.text(c)
+            )
+        );
+    }
+
+    private TextNode style(final TextNode... children) {
+        return TextNode.style(
+            Lists.of(children)
+        );
+    }
+
+    private Hyperlink hyperlink(final Url url,
+                                final TextNode... children) {
+        return TextNode.hyperlink(url)
+            .setChildren(
+                Lists.of(children)
+            );
+    }
+
+    private Text text(final String text) {
+        return TextNode.text(text);
+    }
+
+    private TextNodeHtmlUpdate update(final List<Integer> path,
+                                      final String html) {
+        return TextNodeHtmlUpdate.with(
+            path,
+            html
+        );
+    }
+
+    // hashCode/equals..................................................................................................
+
+    @Test
+    public void testEqualsDifferentPath() {
+        this.checkNotEquals(
+            this.update(
+                Lists.of(1),
+                "html"
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentHtml() {
+        this.checkNotEquals(
+            this.update(
+                Lists.empty(),
+                "different"
+            )
+        );
+    }
+
+    @Override
+    public TextNodeHtmlUpdate createObject() {
+        return this.update(
+            Lists.empty(),
+            "html"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.update(
+                Lists.of(1, 2),
+                "<A href=\"https://example.com\">a</A>"
+            ),
+            "[1, 2] \"<A href=\\\"https://example.com\\\">a</A>\""
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeHtmlUpdate> type() {
+        return TextNodeHtmlUpdate.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.color.Color;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeHtmlUtf8WriterTest implements ClassTesting<TextNodeHtmlUtf8Writer>,
+    ToStringTesting<TextNodeHtmlUtf8Writer> {
+
+    private final static TextStyle STYLE = TextStyle.EMPTY.set(
+        TextStylePropertyName.COLOR,
+        Color.parse("#111")
+    );
+
+    @Test
+    public void testWithNullOutputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeHtmlUtf8Writer.with(
+                null,
+                HtmlOptions.MINIFIED
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullOptionsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeHtmlUtf8Writer.with(
+                new ByteArrayOutputStream(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWriteNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeHtmlUtf8Writer.with(
+                new ByteArrayOutputStream(),
+                HtmlOptions.MINIFIED
+            ).write(null)
+        );
+    }
+
+    @Test
+    public void testWriteMinified() throws IOException {
+        this.writeAndCheck(
+            tree(),
+            HtmlOptions.MINIFIED
+        );
+    }
+
+    @Test
+    public void testWriteMinifiedEscapedAndEncoded() throws IOException {
+        this.writeAndCheck(
+            TextNode.text("a&b <c> \u00e9\u4e2d\uD83D\uDE00"),
+            HtmlOptions.MINIFIED,
+            "a&amp;b&nbsp;&lt;c&gt;&nbsp;\u00e9\u4e2d\uD83D\uDE00"
+        );
+    }
+
+    @Test
+    public void testWriteMinifiedQuote() throws IOException {
+        this.writeAndCheck(
+            TextNode.text("\"quoted\""),
+            HtmlOptions.MINIFIED,
+            "&quot;quoted&quot;"
+        );
+    }
+
+    @Test
+    public void testWriteMinifiedStyleClasses() throws IOException {
+        final HtmlStyleClasses classes = HtmlStyleClasses.with(
+            "c",
+            100
+        );
+        classes.className(STYLE);
+
+        this.writeAndCheck(
+            tree(),
+            HtmlOptions.MINIFIED.setStyleClasses(
+                Optional.of(classes)
+            )
+        );
+    }
+
+    @Test
+    public void testWriteMinifiedLongText() throws IOException {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            b.append("ab\u00e9");
+        }
+
+        this.writeAndCheck(
+            STYLE.setChildren(
+                Lists.of(
+                    TextNode.text(b.toString())
+                )
+            ),
+            HtmlOptions.MINIFIED
+        );
+    }
+
+    @Test
+    public void testWriteMinifiedPlaceholderFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> TextNodeHtmlUtf8Writer.with(
+                new ByteArrayOutputStream(),
+                HtmlOptions.MINIFIED
+            ).write(
+                TextNode.placeholder(
+                    TextPlaceholderName.with("placeholder123")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testWriteIndented() throws IOException {
+        this.writeAndCheck(
+            tree(),
+            HtmlOptions.INDENTED
+        );
+    }
+
+    @Test
+    public void testWriteMinifiedFragmentCache() throws IOException {
+        this.writeAndCheck(
+            tree(),
+            HtmlOptions.MINIFIED.setFragmentCache(
+                Optional.of(
+                    HtmlFragmentCache.with(1000)
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testWriteSeveral() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final TextNodeHtmlUtf8Writer writer = TextNodeHtmlUtf8Writer.with(
+            bytes,
+            HtmlOptions.MINIFIED
+        );
+
+        writer.append("<DIV>");
+        writer.write(
+            STYLE.setChildren(
+                Lists.of(
+                    TextNode.text("a")
+                )
+            )
+        );
+        writer.write(
+            STYLE.setChildren(
+                Lists.of(
+                    TextNode.text("b")
+                )
+            )
+        );
+        writer.append("</DIV>");
+
+        this.checkEquals(
+            0,
+            bytes.size(),
+            "bytes should be buffered until flush"
+        );
+
+        writer.flush();
+
+        this.checkEquals(
+            "<DIV><SPAN style=\"color: #111;\">a</SPAN><SPAN style=\"color: #111;\">b</SPAN></DIV>",
+            new String(
+                bytes.toByteArray(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Test
+    public void testAppendUnpairedSurrogates() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final TextNodeHtmlUtf8Writer writer = TextNodeHtmlUtf8Writer.with(
+            bytes,
+            HtmlOptions.MINIFIED
+        );
+
+        writer.append("a\uDE00b\uD83Dc\uD83D");
+        writer.flush();
+
+        this.checkEquals(
+            "a?b?c?",
+            new String(
+                bytes.toByteArray(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Test
+    public void testAppendSurrogatePairSplit() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final TextNodeHtmlUtf8Writer writer = TextNodeHtmlUtf8Writer.with(
+            bytes,
+            HtmlOptions.MINIFIED
+        );
+
+        writer.append('\uD83D');
+        writer.append('\uDE00');
+        writer.flush();
+
+        this.checkEquals(
+            "\uD83D\uDE00",
+            new String(
+                bytes.toByteArray(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    private static TextNode tree() {
+        return STYLE.setChildren(
+            Lists.of(
+                TextNode.text("before & after"),
+                TextNode.hyperlink(
+                    Url.parseAbsolute("https://example.com/link")
+                ).setChildren(
+                    Lists.of(
+                        TextNode.text("link-text")
+                    )
+                ),
+                TextNode.hyperlink(
+                    Url.parseAbsolute("https://example.com/empty")
+                ),
+                TextNode.styleName(
+                    TextStyleName.with("name1")
+                ).setChildren(
+                    Lists.of(
+                        TextNode.image(
+                            Url.parseAbsolute("https://example.com/image.png")
+                        ),
+                        TextNode.flag("AU")
+                    )
+                ),
+                TextNode.badge("badge-text")
+                    .setChildren(
+                        Lists.of(
+                            TextNode.text("\u00e9\u4e2d")
+                        )
+                    ),
+                TextStyle.EMPTY.set(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.LEFT
+                ).setChildren(
+                    Lists.of(
+                        TextNode.text("nested")
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * Writes the {@link TextNode} and compares the UTF-8 bytes with {@link TextNode#toHtml(Appendable, HtmlOptions)}.
+     */
+    private void writeAndCheck(final TextNode node,
+                               final HtmlOptions options) throws IOException {
+        final StringBuilder html = new StringBuilder();
+        node.toHtml(
+            html,
+            options
+        );
+
+        this.writeAndCheck(
+            node,
+            options,
+            html.toString()
+        );
+    }
+
+    private void writeAndCheck(final TextNode node,
+                               final HtmlOptions options,
+                               final String expected) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final TextNodeHtmlUtf8Writer writer = TextNodeHtmlUtf8Writer.with(
+            bytes,
+            options
+        );
+        writer.write(node);
+        writer.flush();
+
+        this.checkEquals(
+            expected,
+            new String(
+                bytes.toByteArray(),
+                StandardCharsets.UTF_8
+            ),
+            () -> node + " " + options
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() throws IOException {
+        final TextNodeHtmlUtf8Writer writer = TextNodeHtmlUtf8Writer.with(
+            new ByteArrayOutputStream(),
+            HtmlOptions.MINIFIED
+        );
+        writer.append("abc");
+
+        this.toStringAndCheck(
+            writer,
+            "minified 3 byte(s)"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TextNodeHtmlUtf8Writer> type() {
+        return TextNodeHtmlUtf8Writer.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.currency.CurrencyLocaleContexts;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+
+import java.io.IOException;
+import java.math.MathContext;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeJsonReaderTest implements ClassTesting<TextNodeJsonReader>,
+    ToStringTesting<TextNodeJsonReader> {
+
+    private final static JsonNodeMarshallContext MARSHALL_CONTEXT = JsonNodeMarshallContexts.basic();
+
+    private final static JsonNodeUnmarshallContext CONTEXT = JsonNodeUnmarshallContexts.basic(
+        ExpressionNumberKind.BIG_DECIMAL,
+        CurrencyLocaleContexts.fake(), // CurrencyCodeLanguageTagContext
+        MathContext.DECIMAL32
+    );
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeJsonReader.with(null)
+        );
+    }
+
+    @Test
+    public void testReadWithTypeNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.reader()
+                .readWithType(null)
+        );
+    }
+
+    @Test
+    public void testReadTextStyleNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.reader()
+                .readTextStyle(null)
+        );
+    }
+
+    @Test
+    public void testReadWithTypeUnknownTypeFails() {
+        this.readWithTypeFails(
+            "{\"type\": \"unknown\", \"value\": 1}",
+            "Unknown type \"unknown\""
+        );
+    }
+
+    @Test
+    public void testReadWithTypeMissingTypeFails() {
+        this.readWithTypeFails(
+            "{\"value\": \"abc\"}",
+            "Missing property \"type\""
+        );
+    }
+
+    @Test
+    public void testReadWithTypeMissingValueFails() {
+        this.readWithTypeFails(
+            "{\"type\": \"text\"}",
+            "Missing property \"value\""
+        );
+    }
+
+    @Test
+    public void testReadWithTypeHyperlinkMissingUrlFails() {
+        this.readWithTypeFails(
+            "{\"type\": \"hyperlink\", \"value\": {}}",
+            "Missing property \"url\""
+        );
+    }
+
+    @Test
+    public void testReadWithTypeUnknownPropertyFails() {
+        this.readWithTypeFails(
+            "{\"type\": \"text-style-node\", \"value\": {\"unknown\": 1}}",
+            "Unknown property \"unknown\""
+        );
+    }
+
+    @Test
+    public void testReadWithTypeUnterminatedFails() {
+        this.readWithTypeFails(
+            "{\"type\": \"text\", \"value\": \"abc",
+            "Unexpected end of json"
+        );
+    }
+
+    @Test
+    public void testReadWithTypeTrailingTextFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.reader()
+                .readWithType("{\"type\": \"text\", \"value\": \"abc\"} !")
+        );
+    }
+
+    @Test
+    public void testReadWithTypeText() {
+        this.readWithTypeAndCheck(
+            "{\"type\": \"text\", \"value\": \"abc\"}",
+            TextNode.text("abc")
+        );
+    }
+
+    @Test
+    public void testReadWithTypeTextEscaped() {
+        this.readWithTypeAndCheck(
+            "{\"type\": \"text\", \"value\": \"a\\\"b\\\\c\\nd\\u0041\"}",
+            TextNode.text("a\"b\\c\ndA")
+        );
+    }
+
+    @Test
+    public void testReadWithTypeValueBeforeType() {
+        this.readWithTypeAndCheck(
+            "{\"value\": {\"children\": [{\"value\": \"a\", \"type\": \"text\"}]}, \"type\": \"text-style-node\"}",
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testReadWithTypeMarshalled() {
+        final TextNode node = TextNodeJsonWriterTest.tree();
+
+        this.readWithTypeAndCheck(
+            MARSHALL_CONTEXT.marshallWithType(node)
+                .toString(),
+            node
+        );
+    }
+
+    @Test
+    public void testReadWithTypeWritten() throws IOException {
+        final TextNode node = TextNodeJsonWriterTest.tree();
+        final StringBuilder b = new StringBuilder();
+
+        TextNodeJsonWriter.with(MARSHALL_CONTEXT)
+            .writeWithType(
+                node,
+                b
+            );
+
+        this.readWithTypeAndCheck(
+            b,
+            node
+        );
+    }
+
+    @Test
+    public void testReadWithStyleTableMissingStylesFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.reader()
+                .readWithStyleTable("{\"node\": {\"type\": \"text\", \"value\": \"a\"}}")
+        );
+        this.checkEquals(
+            "Missing property \"styles\"",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadWithStyleTableUnknownStyleIdFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.reader()
+                .readWithStyleTable("{\"styles\": [], \"node\": {\"type\": \"text-style-node\", \"value\": {\"styleId\": 0}}}")
+        );
+        this.checkEquals(
+            "Unknown styleId 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadWithTypeStyleIdWithoutStyleTableFails() {
+        this.readWithTypeFails(
+            "{\"type\": \"text-style-node\", \"value\": {\"styleId\": 0}}",
+            "Unknown property \"styleId\""
+        );
+    }
+
+    @Test
+    public void testReadWithStyleTable() throws IOException {
+        final TextNode node = TextNodeJsonWriterTest.styledTree();
+        final StringBuilder b = new StringBuilder();
+
+        TextNodeJsonWriter.with(MARSHALL_CONTEXT)
+            .writeWithStyleTable(
+                node,
+                b
+            );
+
+        final TextNode read = this.reader()
+            .readWithStyleTable(b);
+        this.checkEquals(
+            node,
+            read
+        );
+
+        // both runs with the same style share the same properties
+        assertSame(
+            read.children()
+                .get(0)
+                .attributes(),
+            read.children()
+                .get(2)
+                .attributes()
+        );
+    }
+
+    @Test
+    public void testReadWithStyleTableNodeBeforeStyles() {
+        this.checkEquals(
+            TextNode.text("a")
+                .setAttributes(
+                    Maps.of(
+                        TextStylePropertyName.TEXT_ALIGN,
+                        TextAlign.LEFT
+                    )
+                ),
+            this.reader()
+                .readWithStyleTable(
+                    "{\"node\": {\"type\": \"text-style-node\", \"value\": {\"styleId\": 0, \"children\": [{\"type\": \"text\", \"value\": \"a\"}]}}, \"styles\": [{\"textAlign\": \"LEFT\"}]}"
+                )
+        );
+    }
+
+    @Test
+    public void testReadListWithStyleTable() throws IOException {
+        final TextNodeList nodes = TextNodeList.with(
+            TextNodeJsonWriterTest.styledTree()
+                .children()
+        );
+        final StringBuilder b = new StringBuilder();
+
+        TextNodeJsonWriter.with(MARSHALL_CONTEXT)
+            .writeWithStyleTable(
+                nodes,
+                b
+            );
+
+        this.checkEquals(
+            nodes,
+            this.reader()
+                .readListWithStyleTable(b)
+        );
+    }
+
+    @Test
+    public void testReadTextStyle() {
+        final TextStyle style = TextStyle.parse("text-align: LEFT; color: #123456; border-top-width: 1px;");
+
+        this.checkEquals(
+            style,
+            this.reader()
+                .readTextStyle(
+                    MARSHALL_CONTEXT.marshall(style)
+                        .toString()
+                )
+        );
+    }
+
+    @Test
+    public void testReadTextStyleEmpty() {
+        this.checkEquals(
+            TextStyle.EMPTY,
+            this.reader()
+                .readTextStyle(" { } ")
+        );
+    }
+
+    private void readWithTypeAndCheck(final CharSequence json,
+                                      final TextNode expected) {
+        this.checkEquals(
+            expected,
+            this.reader()
+                .readWithType(json),
+            json::toString
+        );
+    }
+
+    private void readWithTypeFails(final String json,
+                                   final String expected) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.reader()
+                .readWithType(json)
+        );
+        this.checkEquals(
+            expected,
+            thrown.getMessage(),
+            json
+        );
+    }
+
+    private TextNodeJsonReader reader() {
+        return TextNodeJsonReader.with(CONTEXT);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.reader(),
+            CONTEXT.toString()
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeJsonReader> type() {
+        return TextNodeJsonReader.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
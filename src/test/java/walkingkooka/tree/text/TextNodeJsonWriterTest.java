@@ -0,0 +1,404 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeJsonWriterTest implements ClassTesting<TextNodeJsonWriter>,
+    ToStringTesting<TextNodeJsonWriter> {
+
+    private final static JsonNodeMarshallContext CONTEXT = JsonNodeMarshallContexts.basic();
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeJsonWriter.with(null)
+        );
+    }
+
+    @Test
+    public void testWriteWithTypeNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeJsonWriter.with(CONTEXT)
+                .writeWithType(
+                    null,
+                    new StringBuilder()
+                )
+        );
+    }
+
+    @Test
+    public void testWriteWithTypeNullOutputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeJsonWriter.with(CONTEXT)
+                .writeWithType(
+                    TextNode.text("abc"),
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testWriteNullTextStyleFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeJsonWriter.with(CONTEXT)
+                .write(
+                    null,
+                    new StringBuilder()
+                )
+        );
+    }
+
+    @Test
+    public void testWriteWithTypeText() throws IOException {
+        this.writeWithTypeAndCheck(
+            TextNode.text("abc"),
+            "{\"type\":\"text\",\"value\":\"abc\"}"
+        );
+    }
+
+    @Test
+    public void testWriteWithTypeTextEscaped() throws IOException {
+        this.writeWithTypeAndCheck(
+            TextNode.text("a\"b\\c\nd\u0001")
+        );
+    }
+
+    @Test
+    public void testWriteWithTypeStyleNodeWithoutStyles() throws IOException {
+        this.writeWithTypeAndCheck(
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("a"),
+                    TextNode.text("b")
+                )
+            ),
+            "{\"type\":\"text-style-node\",\"value\":{\"children\":[{\"type\":\"text\",\"value\":\"a\"},{\"type\":\"text\",\"value\":\"b\"}]}}"
+        );
+    }
+
+    @Test
+    public void testWriteWithTypeStyleNode() throws IOException {
+        this.writeWithTypeAndCheck(
+            TextNode.text("a")
+                .setAttributes(
+                    Maps.of(
+                        TextStylePropertyName.TEXT_ALIGN,
+                        TextAlign.LEFT
+                    )
+                ),
+            "{\"type\":\"text-style-node\",\"value\":{\"styles\":{\"textAlign\":\"LEFT\"},\"children\":[{\"type\":\"text\",\"value\":\"a\"}]}}"
+        );
+    }
+
+    @Test
+    public void testWriteWithTypeHyperlinkWithoutChildren() throws IOException {
+        this.writeWithTypeAndCheck(
+            TextNode.hyperlink(
+                Url.parseAbsolute("https://example.com")
+            ),
+            "{\"type\":\"hyperlink\",\"value\":{\"url\":\"https://example.com\"}}"
+        );
+    }
+
+    @Test
+    public void testWriteWithTypeTree() throws IOException {
+        this.writeWithTypeAndCheck(
+            tree()
+        );
+    }
+
+    @Test
+    public void testWriteTextStyle() throws IOException {
+        final TextStyle style = TextStyle.parse("text-align: LEFT; color: #123456; border-top-width: 1px;");
+        final StringBuilder b = new StringBuilder();
+
+        TextNodeJsonWriter.with(CONTEXT)
+            .write(
+                style,
+                b
+            );
+
+        this.checkEquals(
+            CONTEXT.marshall(style),
+            JsonNode.parse(b.toString()),
+            b::toString
+        );
+    }
+
+    @Test
+    public void testWriteTextStyleNumbers() throws IOException {
+        final FontSize fontSize = FontSize.with(12);
+        final Opacity opacity = Opacity.with(0.5);
+
+        final TextStyle style = TextStyle.EMPTY.set(
+            TextStylePropertyName.FONT_SIZE,
+            fontSize
+        ).set(
+            TextStylePropertyName.OPACITY,
+            opacity
+        );
+        final StringBuilder b = new StringBuilder();
+
+        TextNodeJsonWriter.with(CONTEXT)
+            .write(
+                style,
+                b
+            );
+
+        this.checkEquals(
+            "{\"fontSize\":" + CONTEXT.marshall(fontSize).toString() +
+                ",\"opacity\":" + CONTEXT.marshall(opacity).toString() +
+                "}",
+            b.toString()
+        );
+        this.checkEquals(
+            "{\"fontSize\":12,\"opacity\":0.5}",
+            b.toString()
+        );
+    }
+
+    @Test
+    public void testWriteTextStyleEmpty() throws IOException {
+        final StringBuilder b = new StringBuilder();
+
+        TextNodeJsonWriter.with(CONTEXT)
+            .write(
+                TextStyle.EMPTY,
+                b
+            );
+
+        this.checkEquals(
+            "{}",
+            b.toString()
+        );
+    }
+
+    @Test
+    public void testWriteWithStyleTable() throws IOException {
+        final StringBuilder b = new StringBuilder();
+
+        TextNodeJsonWriter.with(CONTEXT)
+            .writeWithStyleTable(
+                styledTree(),
+                b
+            );
+
+        this.checkEquals(
+            "{\"styles\":[{\"textAlign\":\"LEFT\"},{\"textAlign\":\"RIGHT\"}],\"node\":" +
+                "{\"type\":\"text-style-node\",\"value\":{\"children\":[" +
+                "{\"type\":\"text-style-node\",\"value\":{\"styleId\":0,\"children\":[{\"type\":\"text\",\"value\":\"a\"}]}}," +
+                "{\"type\":\"text-style-node\",\"value\":{\"styleId\":1,\"children\":[{\"type\":\"text\",\"value\":\"b\"}]}}," +
+                "{\"type\":\"text-style-node\",\"value\":{\"styleId\":0,\"children\":[{\"type\":\"text\",\"value\":\"c\"}]}}" +
+                "]}}}",
+            b.toString()
+        );
+    }
+
+    @Test
+    public void testWriteWithStyleTableTextNodeList() throws IOException {
+        final StringBuilder b = new StringBuilder();
+
+        TextNodeJsonWriter.with(CONTEXT)
+            .writeWithStyleTable(
+                TextNodeList.with(
+                    Lists.of(
+                        styled("a", TextAlign.LEFT),
+                        styled("b", TextAlign.LEFT)
+                    )
+                ),
+                b
+            );
+
+        this.checkEquals(
+            "{\"styles\":[{\"textAlign\":\"LEFT\"}],\"nodes\":[" +
+                "{\"type\":\"text-style-node\",\"value\":{\"styleId\":0,\"children\":[{\"type\":\"text\",\"value\":\"a\"}]}}," +
+                "{\"type\":\"text-style-node\",\"value\":{\"styleId\":0,\"children\":[{\"type\":\"text\",\"value\":\"b\"}]}}" +
+                "]}",
+            b.toString()
+        );
+    }
+
+    @Test
+    public void testWriteWithStyleTableWithoutStyles() throws IOException {
+        final StringBuilder b = new StringBuilder();
+
+        TextNodeJsonWriter.with(CONTEXT)
+            .writeWithStyleTable(
+                TextNode.text("a"),
+                b
+            );
+
+        this.checkEquals(
+            "{\"styles\":[],\"node\":{\"type\":\"text\",\"value\":\"a\"}}",
+            b.toString()
+        );
+    }
+
+    /**
+     * Three styled runs sharing two distinct styles.
+     */
+    static TextNode styledTree() {
+        return TextNode.style(
+            Lists.of(
+                styled("a", TextAlign.LEFT),
+                styled("b", TextAlign.RIGHT),
+                styled("c", TextAlign.LEFT)
+            )
+        );
+    }
+
+    private static TextNode styled(final String text,
+                                   final TextAlign textAlign) {
+        return TextNode.text(text)
+            .setAttributes(
+                Maps.of(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    textAlign
+                )
+            );
+    }
+
+    private void writeWithTypeAndCheck(final TextNode node) throws IOException {
+        this.checkEquals(
+            CONTEXT.marshallWithType(node),
+            JsonNode.parse(
+                this.writeWithType(node)
+            ),
+            node::toString
+        );
+    }
+
+    private void writeWithTypeAndCheck(final TextNode node,
+                                       final String expected) throws IOException {
+        final String written = this.writeWithType(node);
+
+        this.checkEquals(
+            expected,
+            written,
+            node::toString
+        );
+        this.checkEquals(
+            CONTEXT.marshallWithType(node),
+            JsonNode.parse(written),
+            node::toString
+        );
+    }
+
+    private String writeWithType(final TextNode node) throws IOException {
+        final StringBuilder b = new StringBuilder();
+        TextNodeJsonWriter.with(CONTEXT)
+            .writeWithType(
+                node,
+                b
+            );
+        return b.toString();
+    }
+
+    /**
+     * A tree holding every type of {@link TextNode}.
+     */
+    static TextNode tree() {
+        return TextNode.style(
+            Lists.of(
+                TextNode.text("text-1"),
+                TextNode.badge("badge-1")
+                    .setChildren(
+                        Lists.of(
+                            TextNode.text("badge-text")
+                        )
+                    ),
+                TextNode.flag("AU"),
+                TextNode.hyperlink(
+                    Url.parseAbsolute("https://example.com")
+                ).setChildren(
+                    Lists.of(
+                        TextNode.text("link-text"),
+                        TextNode.image(
+                            Url.parseAbsolute("https://example.com/image.gif")
+                        )
+                    )
+                ),
+                TextNode.placeholder(
+                    TextPlaceholderName.with("placeholder-1")
+                ),
+                TextNode.styleName(
+                    TextStyleName.with("style-1")
+                ).setChildren(
+                    Lists.of(
+                        TextNode.text("style-name-text")
+                    )
+                ),
+                TextNode.style(
+                    Lists.of(
+                        TextNode.text("styled-1"),
+                        TextNode.text("styled-2")
+                    )
+                ).setAttributes(
+                    Maps.of(
+                        TextStylePropertyName.TEXT_ALIGN,
+                        TextAlign.LEFT,
+                        TextStylePropertyName.FONT_STYLE,
+                        FontStyle.ITALIC,
+                        TextStylePropertyName.BORDER_TOP_WIDTH,
+                        Length.pixel(1.0)
+                    )
+                )
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            TextNodeJsonWriter.with(CONTEXT),
+            CONTEXT.toString()
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeJsonWriter> type() {
+        return TextNodeJsonWriter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.currency.CurrencyLocaleContexts;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+
+import java.lang.reflect.Field;
+import java.math.MathContext;
+
+public final class TextNodeListLazyTest implements ClassTesting<TextNodeListLazy> {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = JsonNodeUnmarshallContexts.basic(
+        ExpressionNumberKind.BIG_DECIMAL,
+        CurrencyLocaleContexts.fake(), // CurrencyCodeLanguageTagContext
+        MathContext.DECIMAL32
+    );
+
+    @Test
+    public void testGet() {
+        final TextNodeListLazy list = this.createList();
+
+        this.checkEquals(
+            TextNode.text("Hello"),
+            list.get(0)
+        );
+        this.checkEquals(
+            TextNode.text("World"),
+            list.get(1)
+        );
+    }
+
+    @Test
+    public void testContextReleasedOnceAllRequested() throws Exception {
+        final TextNodeListLazy list = this.createList();
+
+        list.get(1);
+        this.checkEquals(
+            CONTEXT,
+            field(list, "context"),
+            "context kept until all elements requested"
+        );
+
+        list.get(0);
+        this.checkEquals(
+            null,
+            field(list, "context"),
+            "context"
+        );
+        this.checkEquals(
+            null,
+            field(list, "json"),
+            "json"
+        );
+    }
+
+    private TextNodeListLazy createList() {
+        return TextNodeListLazy.with(
+            JsonNode.parse(
+                "[\n" +
+                    "  {\n" +
+                    "    \"type\": \"text\",\n" +
+                    "    \"value\": \"Hello\"\n" +
+                    "  },\n" +
+                    "  {\n" +
+                    "    \"type\": \"text\",\n" +
+                    "    \"value\": \"World\"\n" +
+                    "  }\n" +
+                    "]"
+            ),
+            CONTEXT
+        );
+    }
+
+    private static Object field(final TextNodeListLazy list,
+                                final String name) throws Exception {
+        final Field field = TextNodeListLazy.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(list);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeListLazy> type() {
+        return TextNodeListLazy.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
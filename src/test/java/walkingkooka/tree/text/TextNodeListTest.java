@@ -168,6 +168,100 @@ public class TextNodeListTest implements ListTesting2<TextNodeList, TextNode>,
         );
     }
 
+    @Test
+    public void testUnmarshallLazyNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeList.unmarshallLazy(
+                null,
+                this.unmarshallContext()
+            )
+        );
+    }
+
+    @Test
+    public void testUnmarshallLazyNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeList.unmarshallLazy(
+                JsonNode.array(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testUnmarshallLazy() {
+        final TextNodeList list = this.createList();
+
+        final TextNodeList lazy = TextNodeList.unmarshallLazy(
+            this.marshallContext()
+                .marshall(list),
+            this.unmarshallContext()
+        );
+
+        this.checkEquals(
+            list,
+            lazy
+        );
+        this.checkEquals(
+            this.marshallContext()
+                .marshall(list),
+            this.marshallContext()
+                .marshall(lazy)
+        );
+    }
+
+    @Test
+    public void testUnmarshallLazyGetCached() {
+        final TextNodeList lazy = TextNodeList.unmarshallLazy(
+            this.marshallContext()
+                .marshall(this.createList()),
+            this.unmarshallContext()
+        );
+
+        assertSame(
+            lazy.get(1),
+            lazy.get(1)
+        );
+    }
+
+    @Test
+    public void testUnmarshallLazyOnlyRequestedElement() {
+        final TextNodeList lazy = TextNodeList.unmarshallLazy(
+            JsonNode.parse(
+                "[\n" +
+                    "  {\n" +
+                    "    \"type\": \"text\",\n" +
+                    "    \"value\": \"Hello\"\n" +
+                    "  },\n" +
+                    "  {\n" +
+                    "    \"type\": \"hyperlink\",\n" +
+                    "    \"value\": {}\n" +
+                    "  }\n" +
+                    "]"
+            ),
+            this.unmarshallContext()
+        );
+
+        this.checkEquals(
+            2,
+            lazy.size(),
+            "size"
+        );
+        this.getAndCheck(
+            lazy,
+            0,
+            NODE1
+        );
+
+        // invalid element only fails when requested
+        assertThrows(
+            RuntimeException.class,
+            () -> lazy.get(1)
+        );
+    }
+
     @Override
     public TextNodeList unmarshall(final JsonNode json,
                                    final JsonNodeUnmarshallContext context) {
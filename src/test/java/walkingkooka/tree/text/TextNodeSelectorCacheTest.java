@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextNodeSelectorCacheTest implements ClassTesting<TextNodeSelectorCache>,
+    ToStringTesting<TextNodeSelectorCache> {
+
+    @Test
+    public void testWithNullFunctionsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeSelectorCache.with(
+                null,
+                () -> ExpressionNumberKind.DEFAULT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullHasExpressionNumberKindFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNodeSelectorCache.with(
+                (n) -> true,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testNodeSelectorWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCache()
+                .nodeSelector(null)
+        );
+    }
+
+    @Test
+    public void testToStringEmpty() {
+        this.toStringAndCheck(
+            this.createCache(),
+            "[]"
+        );
+    }
+
+    private TextNodeSelectorCache createCache() {
+        return TextNodeSelectorCache.with(
+            (n) -> true,
+            () -> ExpressionNumberKind.DEFAULT
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextNodeSelectorCache> type() {
+        return TextNodeSelectorCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
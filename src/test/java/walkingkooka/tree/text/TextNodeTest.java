@@ -18,6 +18,7 @@
 package walkingkooka.tree.text;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
 import walkingkooka.ToStringTesting;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
@@ -26,8 +27,15 @@ import walkingkooka.net.Url;
 import walkingkooka.net.header.HasContentTypeTesting;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.tree.expression.ExpressionEvaluationContexts;
+import walkingkooka.visit.Visiting;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class TextNodeTest extends TextNodeTestCase<TextNode> implements HasContentTypeTesting,
     ToStringTesting<TextNode> {
@@ -166,6 +174,768 @@ public final class TextNodeTest extends TextNodeTestCase<TextNode> implements Ha
         );
     }
 
+    // nodeAtOffset.....................................................................................................
+
+    @Test
+    public void testNodeAtOffsetWithNegativeOffsetFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNode.EMPTY_TEXT.nodeAtOffset(-1)
+        );
+    }
+
+    @Test
+    public void testNodeAtOffsetWithText() {
+        final Text text = TextNode.text("abc");
+
+        this.nodeAtOffsetAndCheck(
+            text,
+            2,
+            text
+        );
+    }
+
+    @Test
+    public void testNodeAtOffsetWithTextPastEnd() {
+        this.nodeAtOffsetAndCheck(
+            TextNode.text("abc"),
+            3
+        );
+    }
+
+    @Test
+    public void testNodeAtOffsetWithStyleNode() {
+        final TextNode root = this.offsetTree();
+
+        this.nodeAtOffsetAndCheck(
+            root,
+            0,
+            root.children()
+                .get(0)
+        );
+        this.nodeAtOffsetAndCheck(
+            root,
+            1,
+            root.children()
+                .get(0)
+        );
+    }
+
+    @Test
+    public void testNodeAtOffsetSkipsEmptyNodes() {
+        final TextNode root = this.offsetTree();
+
+        this.nodeAtOffsetAndCheck(
+            root,
+            2,
+            root.children()
+                .get(2)
+                .children()
+                .get(0)
+        );
+    }
+
+    @Test
+    public void testNodeAtOffsetWithDescendant() {
+        final TextNode root = this.offsetTree();
+
+        this.nodeAtOffsetAndCheck(
+            root,
+            6,
+            root.children()
+                .get(2)
+                .children()
+                .get(1)
+        );
+    }
+
+    @Test
+    public void testNodeAtOffsetPastEnd() {
+        final TextNode root = this.offsetTree();
+
+        this.nodeAtOffsetAndCheck(
+            root,
+            root.textLength()
+        );
+    }
+
+    @Test
+    public void testNodeAtOffsetAfterSetChild() {
+        final TextNode root = this.offsetTree();
+        final TextNode edited = root.children()
+            .get(0)
+            .setText("wxyz")
+            .root();
+
+        this.nodeAtOffsetAndCheck(
+            edited,
+            8,
+            edited.children()
+                .get(2)
+                .children()
+                .get(1)
+        );
+    }
+
+    private void nodeAtOffsetAndCheck(final TextNode node,
+                                      final int offset) {
+        this.checkEquals(
+            Optional.empty(),
+            node.nodeAtOffset(offset),
+            () -> node + " nodeAtOffset " + offset
+        );
+    }
+
+    private void nodeAtOffsetAndCheck(final TextNode node,
+                                      final int offset,
+                                      final TextNode expected) {
+        final TextNode found = node.nodeAtOffset(offset)
+            .orElse(null);
+        assertSame(
+            expected,
+            found,
+            () -> node + " nodeAtOffset " + offset
+        );
+    }
+
+    // offsetOf.........................................................................................................
+
+    @Test
+    public void testOffsetOfWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.EMPTY_TEXT.offsetOf(null)
+        );
+    }
+
+    @Test
+    public void testOffsetOfWithSelf() {
+        final TextNode root = this.offsetTree();
+
+        this.offsetOfAndCheck(
+            root,
+            root,
+            0
+        );
+    }
+
+    @Test
+    public void testOffsetOfWithChild() {
+        final TextNode root = this.offsetTree();
+
+        this.offsetOfAndCheck(
+            root,
+            root.children()
+                .get(2),
+            2
+        );
+    }
+
+    @Test
+    public void testOffsetOfWithDescendant() {
+        final TextNode root = this.offsetTree();
+
+        this.offsetOfAndCheck(
+            root,
+            root.children()
+                .get(2)
+                .children()
+                .get(1),
+            5
+        );
+    }
+
+    @Test
+    public void testOffsetOfWithDescendantOfChild() {
+        final TextNode root = this.offsetTree();
+        final TextNode child = root.children()
+            .get(2);
+
+        this.offsetOfAndCheck(
+            child,
+            child.children()
+                .get(1),
+            3
+        );
+    }
+
+    @Test
+    public void testOffsetOfWithNotDescendantFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.offsetTree()
+                .offsetOf(
+                    this.offsetTree()
+                        .children()
+                        .get(0)
+                )
+        );
+    }
+
+    @Test
+    public void testTextOffsetWithDescendant() {
+        this.checkEquals(
+            5,
+            this.offsetTree()
+                .children()
+                .get(2)
+                .children()
+                .get(1)
+                .textOffset()
+        );
+    }
+
+    private void offsetOfAndCheck(final TextNode node,
+                                  final TextNode descendant,
+                                  final int expected) {
+        this.checkEquals(
+            expected,
+            node.offsetOf(descendant),
+            () -> node + " offsetOf " + descendant
+        );
+    }
+
+    // "ab" Image "cde" "fgh"
+    private TextNode offsetTree() {
+        return TextNode.style(
+            Lists.of(
+                TextNode.text("ab"),
+                TextNode.image(Url.parseAbsolute("https://example.com/image.gif")),
+                TextNode.hyperlink(Url.parseAbsolute("https://example.com"))
+                    .setChildren(
+                        Lists.of(
+                            TextNode.text("cde"),
+                            TextNode.text("fgh")
+                        )
+                    )
+            )
+        );
+    }
+
+    // descendants......................................................................................................
+
+    @Test
+    public void testDescendantsWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.EMPTY_TEXT.descendants(null)
+        );
+    }
+
+    @Test
+    public void testDescendantsLeaf() {
+        this.checkEquals(
+            0L,
+            TextNode.text("abc")
+                .descendants()
+                .count()
+        );
+    }
+
+    @Test
+    public void testDescendants() {
+        final TextNode root = this.offsetTree();
+        final TextNode hyperlink = root.children()
+            .get(2);
+
+        this.checkEquals(
+            Lists.of(
+                root.children().get(0),
+                root.children().get(1),
+                hyperlink,
+                hyperlink.children().get(0),
+                hyperlink.children().get(1)
+            ),
+            root.descendants()
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testDescendantsSkip() {
+        final TextNode root = this.offsetTree();
+
+        this.checkEquals(
+            root.children(),
+            root.descendants(
+                (n) -> n.isHyperlink() ?
+                    Visiting.SKIP :
+                    Visiting.CONTINUE
+            ).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testDescendantsParallel() {
+        final TextNode root = this.offsetTree();
+
+        this.checkEquals(
+            root.descendants()
+                .collect(Collectors.toList()),
+            root.descendants()
+                .parallel()
+                .collect(Collectors.toList())
+        );
+    }
+
+    // descendantsNamed.................................................................................................
+
+    @Test
+    public void testDescendantsNamedWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.EMPTY_TEXT.descendantsNamed(null)
+        );
+    }
+
+    @Test
+    public void testDescendantsNamedLeaf() {
+        this.descendantsNamedAndCheck(
+            TextNode.text("abc"),
+            Text.NAME
+        );
+    }
+
+    @Test
+    public void testDescendantsNamedUnknown() {
+        this.descendantsNamedAndCheck(
+            this.offsetTree(),
+            TextNodeName.with("Unknown")
+        );
+    }
+
+    @Test
+    public void testDescendantsNamedMissing() {
+        this.descendantsNamedAndCheck(
+            this.offsetTree(),
+            TextPlaceholderNode.NAME
+        );
+    }
+
+    @Test
+    public void testDescendantsNamedText() {
+        final TextNode root = this.offsetTree();
+        final TextNode hyperlink = root.children()
+            .get(2);
+
+        this.descendantsNamedAndCheck(
+            root,
+            Text.NAME,
+            root.children()
+                .get(0),
+            hyperlink.children()
+                .get(0),
+            hyperlink.children()
+                .get(1)
+        );
+    }
+
+    @Test
+    public void testDescendantsNamedHyperlink() {
+        final TextNode root = this.offsetTree();
+
+        this.descendantsNamedAndCheck(
+            root,
+            Hyperlink.NAME,
+            root.children()
+                .get(2)
+        );
+    }
+
+    @Test
+    public void testDescendantsNamedMatchesDescendants() {
+        final TextNode root = this.offsetTree();
+
+        this.checkEquals(
+            root.descendants()
+                .filter(n -> n.name().equals(Image.NAME))
+                .collect(Collectors.toList()),
+            root.descendantsNamed(Image.NAME)
+        );
+    }
+
+    @Test
+    public void testDescendantsNamedAfterReplaceChild() {
+        final TextNode root = this.offsetTree();
+        final TextNode hyperlink = root.children()
+            .get(2);
+        final TextNode placeholder = TextNode.placeholder(TextPlaceholderName.with("placeholder1"));
+
+        final TextNode edited = hyperlink.replaceChild(
+            hyperlink.children()
+                .get(1),
+            placeholder
+        ).root();
+
+        this.descendantsNamedAndCheck(
+            edited,
+            TextPlaceholderNode.NAME,
+            edited.children()
+                .get(2)
+                .children()
+                .get(1)
+        );
+        this.descendantsNamedAndCheck(
+            edited,
+            Text.NAME,
+            edited.children()
+                .get(0),
+            edited.children()
+                .get(2)
+                .children()
+                .get(0)
+        );
+    }
+
+    private void descendantsNamedAndCheck(final TextNode node,
+                                          final TextNodeName name,
+                                          final TextNode... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            node.descendantsNamed(name),
+            () -> node + " descendantsNamed " + name
+        );
+    }
+
+    // firstDescendantNamed.............................................................................................
+
+    @Test
+    public void testFirstDescendantNamedWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.EMPTY_TEXT.firstDescendantNamed(null)
+        );
+    }
+
+    @Test
+    public void testFirstDescendantNamedMissing() {
+        this.checkEquals(
+            Optional.empty(),
+            this.offsetTree()
+                .firstDescendantNamed(Badge.NAME)
+        );
+    }
+
+    @Test
+    public void testFirstDescendantNamed() {
+        final TextNode root = this.offsetTree();
+
+        assertSame(
+            root.children()
+                .get(2)
+                .children()
+                .get(0),
+            root.children()
+                .get(2)
+                .firstDescendantNamed(Text.NAME)
+                .get()
+        );
+    }
+
+    // descendantsOfType................................................................................................
+
+    @Test
+    public void testDescendantsOfTypeWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.EMPTY_TEXT.descendantsOfType(null)
+        );
+    }
+
+    @Test
+    public void testDescendantsOfTypeWithUnknownTypeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNode.EMPTY_TEXT.descendantsOfType(Cast.to(Object.class))
+        );
+        this.checkEquals(
+            "Unknown type java.lang.Object",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testDescendantsOfTypeTextNode() {
+        final TextNode root = this.offsetTree();
+        final TextNode hyperlink = root.children()
+            .get(2);
+
+        this.checkEquals(
+            Lists.of(
+                root.children()
+                    .get(0),
+                root.children()
+                    .get(1),
+                hyperlink,
+                hyperlink.children()
+                    .get(0),
+                hyperlink.children()
+                    .get(1)
+            ),
+            root.descendantsOfType(TextNode.class)
+        );
+    }
+
+    @Test
+    public void testDescendantsOfTypeTextParentNode() {
+        final TextNode root = this.offsetTree();
+
+        this.checkEquals(
+            Lists.of(
+                root.children()
+                    .get(2)
+            ),
+            root.descendantsOfType(TextParentNode.class)
+        );
+    }
+
+    @Test
+    public void testDescendantsOfTypeImage() {
+        final TextNode root = this.offsetTree();
+
+        this.checkEquals(
+            Lists.of(
+                root.children()
+                    .get(1)
+            ),
+            root.descendantsOfType(Image.class)
+        );
+    }
+
+    @Test
+    public void testFirstDescendantOfTypeWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.EMPTY_TEXT.firstDescendantOfType(null)
+        );
+    }
+
+    @Test
+    public void testFirstDescendantOfType() {
+        final TextNode root = this.offsetTree();
+        final Optional<Text> first = root.firstDescendantOfType(Text.class);
+
+        assertSame(
+            root.children()
+                .get(0),
+            first.get()
+        );
+    }
+
+    // diff.............................................................................................................
+
+    @Test
+    public void testDiffNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.text("a")
+                .diff(null)
+        );
+    }
+
+    @Test
+    public void testApplyNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.text("a")
+                .apply(null)
+        );
+    }
+
+    @Test
+    public void testDiffAndApplyUnchangedSubtrees() {
+        final TextNode before = this.offsetTree();
+        final TextNode after = before.children()
+            .get(2)
+            .children()
+            .get(1)
+            .setText("xyz")
+            .root();
+
+        final List<TextNodeEdit> edits = before.diff(after);
+        this.checkEquals(
+            Lists.of(
+                TextNodeEdit.text(
+                    Lists.of(2, 1),
+                    "xyz"
+                )
+            ),
+            edits
+        );
+        this.checkEquals(
+            after,
+            before.apply(edits)
+        );
+    }
+
+    // transform........................................................................................................
+
+    @Test
+    public void testTransformWithNullFunctionFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextNode.EMPTY_TEXT.transform(null)
+        );
+    }
+
+    @Test
+    public void testTransformWithInvalidParallelThresholdFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TextNode.EMPTY_TEXT.transform(
+                (n) -> n,
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testTransformReturnsNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.offsetTree()
+                .transform((n) -> null)
+        );
+    }
+
+    @Test
+    public void testTransformUnchanged() {
+        final TextNode root = this.offsetTree();
+
+        assertSame(
+            root,
+            root.transform((n) -> n)
+        );
+    }
+
+    @Test
+    public void testTransformText() {
+        this.transformAndCheck(
+            Integer.MAX_VALUE
+        );
+    }
+
+    @Test
+    public void testTransformTextParallel() {
+        this.transformAndCheck(
+            1
+        );
+    }
+
+    private void transformAndCheck(final int parallelThreshold) {
+        final TextNode root = this.offsetTree();
+
+        this.checkEquals(
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("AB"),
+                    TextNode.image(Url.parseAbsolute("https://example.com/image.gif")),
+                    TextNode.hyperlink(Url.parseAbsolute("https://example.com"))
+                        .setChildren(
+                            Lists.of(
+                                TextNode.text("CDE"),
+                                TextNode.text("FGH")
+                            )
+                        )
+                )
+            ),
+            root.transform(
+                (n) -> n.isText() ?
+                    n.setText(n.text().toUpperCase()) :
+                    n,
+                parallelThreshold
+            )
+        );
+    }
+
+    @Test
+    public void testTransformCopiesUnchangedSibling() {
+        final TextNode root = this.offsetTree();
+        final TextNode image = root.children()
+            .get(1);
+
+        final TextNode transformed = root.transform(
+            (n) -> n.isHyperlink() ?
+                n.removeChild(0) :
+                n
+        );
+
+        // the unchanged sibling is copied because it is given the new root as its parent
+        final TextNode transformedImage = transformed.children()
+            .get(1);
+        this.checkEquals(
+            image,
+            transformedImage
+        );
+        assertNotSame(
+            image,
+            transformedImage
+        );
+        this.checkEquals(
+            "abfgh",
+            transformed.text()
+        );
+    }
+
+    @Test
+    public void testTransformChildUnchangedReturnsRoot() {
+        final TextNode child = this.offsetTree()
+            .children()
+            .get(2);
+
+        final TextNode transformed = child.transform((n) -> n);
+
+        this.checkEquals(
+            child.removeParent(),
+            transformed
+        );
+        this.checkEquals(
+            true,
+            transformed.isRoot()
+        );
+    }
+
+    @Test
+    public void testTransformChildChangedReturnsRoot() {
+        final TextNode child = this.offsetTree()
+            .children()
+            .get(2);
+
+        final TextNode transformed = child.transform(
+            (n) -> n.isText() ?
+                n.setText(n.text().toUpperCase()) :
+                n
+        );
+
+        this.checkEquals(
+            "CDEFGH",
+            transformed.text()
+        );
+        this.checkEquals(
+            true,
+            transformed.isRoot()
+        );
+    }
+
+    @Test
+    public void testTransformDeepTree() {
+        TextNode node = TextNode.text("a");
+        for (int i = 0; i < 1_000; i++) {
+            node = TextNode.style(
+                Lists.of(node)
+            );
+        }
+
+        this.checkEquals(
+            "A",
+            node.transform(
+                (n) -> n.isText() ?
+                    n.setText(n.text().toUpperCase()) :
+                    n
+            ).text()
+        );
+    }
+
     // HasContentType...................................................................................................
 
     @Test
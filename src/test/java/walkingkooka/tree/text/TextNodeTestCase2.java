@@ -29,6 +29,7 @@ import walkingkooka.tree.HasTextOffsetTesting;
 import walkingkooka.tree.NodeTesting;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallingTesting;
 
+import java.io.IOException;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertNotSame;
@@ -179,6 +180,26 @@ public abstract class TextNodeTestCase2<N extends TextNode> extends TextNodeTest
         );
     }
 
+    final void toHtmlAndCheck(final TextNode node,
+                              final HtmlOptions options,
+                              final String html) {
+        final StringBuilder b = new StringBuilder();
+        try {
+            node.toHtml(
+                b,
+                options
+            );
+        } catch (final IOException cause) {
+            throw new AssertionError(cause);
+        }
+
+        this.checkEquals(
+            html,
+            b.toString(),
+            () -> node + " toHtml " + options
+        );
+    }
+
     // TextNodeVisitor..................................................................................................
 
     @Test
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import walkingkooka.Cast;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
+import walkingkooka.net.Url;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 import walkingkooka.visit.Visiting;
@@ -266,6 +267,24 @@ public final class TextStyleNameNodeTest extends TextParentNodeTestCase<TextStyl
         );
     }
 
+    @Test
+    public void testToHtmlWithAppendableMinified() {
+        this.toHtmlAndCheck(
+            TextStyleNameNode.with(
+                TextStyleName.with(STYLE_NAME)
+            ).setChildren(
+                Lists.of(
+                    TextNode.text("abc"),
+                    TextNode.hyperlink(
+                        Url.parseAbsolute("https://example.com/abc")
+                    )
+                )
+            ),
+            HtmlOptions.MINIFIED,
+            "<SPAN class=\"styleName123\">abc<A href=\"https://example.com/abc\"/></SPAN>"
+        );
+    }
+
     // TreePrintable....................................................................................................
 
     @Test
@@ -22,11 +22,14 @@ import walkingkooka.Cast;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.color.Color;
+import walkingkooka.net.Url;
+import walkingkooka.text.Indentation;
 import walkingkooka.text.LineEnding;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 import walkingkooka.visit.Visiting;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -483,6 +486,139 @@ public final class TextStyleNodeTest extends TextParentNodeTestCase<TextStyleNod
         );
     }
 
+    @Test
+    public void testToHtmlWithAppendableMinified() {
+        this.toHtmlAndCheck(
+            TextStyleNode.with(
+                Lists.of(
+                    TextStyleNode.with(
+                        Lists.of(
+                            TextNode.text("middle1")
+                        ),
+                        TextStylePropertiesMap.with(
+                            Maps.of(
+                                TextStylePropertyName.COLOR,
+                                Color.parse("#222")
+                            )
+                        )
+                    ),
+                    TextStyleNode.with(
+                        Lists.of(
+                            TextNode.text("middle2")
+                        ),
+                        TextStylePropertiesMap.with(
+                            Maps.of(
+                                TextStylePropertyName.COLOR,
+                                Color.parse("#333")
+                            )
+                        )
+                    )
+                ),
+                TextStylePropertiesMap.with(
+                    Maps.of(
+                        TextStylePropertyName.COLOR,
+                        Color.parse("#111")
+                    )
+                )
+            ),
+            HtmlOptions.MINIFIED,
+            "<SPAN style=\"color: #111;\">" +
+                "<SPAN style=\"color: #222;\">middle1</SPAN>" +
+                "<SPAN style=\"color: #333;\">middle2</SPAN>" +
+                "</SPAN>"
+        );
+    }
+
+    @Test
+    public void testToHtmlWithAppendableIndented() {
+        this.toHtmlAndCheck(
+            TextStyleNode.with(
+                Lists.of(
+                    TextStyleNode.with(
+                        Lists.of(
+                            TextNode.text("middle1")
+                        ),
+                        TextStylePropertiesMap.with(
+                            Maps.of(
+                                TextStylePropertyName.COLOR,
+                                Color.parse("#222")
+                            )
+                        )
+                    ),
+                    TextStyleNode.with(
+                        Lists.of(
+                            TextNode.text("middle2")
+                        ),
+                        TextStylePropertiesMap.with(
+                            Maps.of(
+                                TextStylePropertyName.COLOR,
+                                Color.parse("#333")
+                            )
+                        )
+                    )
+                ),
+                TextStylePropertiesMap.with(
+                    Maps.of(
+                        TextStylePropertyName.COLOR,
+                        Color.parse("#111")
+                    )
+                )
+            ),
+            HtmlOptions.indented(
+                Indentation.SPACES2,
+                LineEnding.CRNL
+            ),
+            "<SPAN style=\"color: #111;\">" + LineEnding.CRNL +
+                "  <SPAN style=\"color: #222;\">middle1</SPAN>" + LineEnding.CRNL +
+                "  <SPAN style=\"color: #333;\">middle2</SPAN>" + LineEnding.CRNL +
+                "</SPAN>"
+        );
+    }
+
+    @Test
+    public void testToHtmlWithAppendableIndentedIOExceptionFails() {
+        final IOException cause = new IOException("Closed");
+
+        final IOException thrown = assertThrows(
+            IOException.class,
+            () -> TextStyleNode.with(
+                Lists.of(
+                    TextNode.text("middle1")
+                ),
+                TextStylePropertiesMap.with(
+                    Maps.of(
+                        TextStylePropertyName.COLOR,
+                        Color.parse("#111")
+                    )
+                )
+            ).toHtml(
+                new Appendable() {
+                    @Override
+                    public Appendable append(final CharSequence chars) throws IOException {
+                        throw cause;
+                    }
+
+                    @Override
+                    public Appendable append(final CharSequence chars,
+                                             final int start,
+                                             final int end) throws IOException {
+                        throw cause;
+                    }
+
+                    @Override
+                    public Appendable append(final char c) throws IOException {
+                        throw cause;
+                    }
+                },
+                HtmlOptions.INDENTED
+            )
+        );
+        assertSame(
+            cause,
+            thrown
+        );
+    }
+
     @Test
     public void testToHtmlWithTextAndTextStyleAndText() {
         this.toHtmlAndCheck(
@@ -531,6 +667,40 @@ public final class TextStyleNodeTest extends TextParentNodeTestCase<TextStyleNod
         );
     }
 
+    // textStyle........................................................................................................
+
+    @Test
+    public void testTextStyleSharedByNodesWithSameTextStyle() {
+        final TextStyle textStyle = TextStyle.EMPTY.set(
+            TextStylePropertyName.COLOR,
+            Color.parse("#123")
+        );
+
+        final TextStyle textStyle1 = textStyle.setChildren(
+            Lists.of(
+                TextNode.text("a")
+            )
+        ).textStyle();
+        final TextStyle textStyle2 = textStyle.setChildren(
+            Lists.of(
+                TextNode.text("b")
+            )
+        ).textStyle();
+
+        this.checkEquals(
+            textStyle,
+            textStyle1
+        );
+        assertSame(
+            textStyle1,
+            textStyle2
+        );
+        assertSame(
+            textStyle1.text(),
+            textStyle2.text()
+        );
+    }
+
     // Styleable........................................................................................................
 
     @Test
@@ -646,6 +816,207 @@ public final class TextStyleNodeTest extends TextParentNodeTestCase<TextStyleNod
         );
     }
 
+    // Styleable deep...................................................................................................
+
+    @Test
+    public void testReplaceIfDeep() {
+        this.checkEquals(
+            this.deepTree(
+                Color.parse("#00f"),
+                Color.parse("#00f")
+            ),
+            this.deepTree(
+                Color.parse("#f00"),
+                Color.parse("#f00")
+            ).replaceIfDeep(
+                TextStylePropertyName.COLOR,
+                Color.parse("#f00"),
+                Color.parse("#00f")
+            )
+        );
+    }
+
+    @Test
+    public void testReplaceIfDeepNothingMatched() {
+        final TextNode tree = this.deepTree(
+            Color.parse("#f00"),
+            Color.parse("#0f0")
+        );
+
+        assertSame(
+            tree,
+            tree.replaceIfDeep(
+                TextStylePropertyName.COLOR,
+                Color.parse("#123"),
+                Color.parse("#00f")
+            )
+        );
+    }
+
+    @Test
+    public void testReplaceIfDeepNothingMatchedChild() {
+        final TextNode child = this.deepTree(
+            Color.parse("#f00"),
+            Color.parse("#0f0")
+        ).children()
+            .get(1);
+
+        assertSame(
+            child,
+            child.replaceIfDeep(
+                TextStylePropertyName.COLOR,
+                Color.parse("#123"),
+                Color.parse("#00f")
+            )
+        );
+    }
+
+    @Test
+    public void testMergeDeepNothingChangedChild() {
+        final TextStyle merge = TextStyle.EMPTY.set(
+            TextStylePropertyName.TEXT_ALIGN,
+            TextAlign.LEFT
+        );
+
+        final TextNode child = this.deepTree(
+            Color.parse("#f00"),
+            Color.parse("#0f0")
+        ).children()
+            .get(1);
+
+        assertSame(
+            child,
+            child.mergeDeep(merge)
+        );
+    }
+
+    @Test
+    public void testMergeDeepChildChangedReturnsRoot() {
+        final TextStyle merge = TextStyle.EMPTY.set(
+            TextStylePropertyName.TEXT_ALIGN,
+            TextAlign.RIGHT
+        );
+
+        final TextNode merged = this.deepTree(
+            Color.parse("#f00"),
+            Color.parse("#0f0")
+        ).children()
+            .get(1)
+            .mergeDeep(merge);
+
+        this.checkEquals(
+            true,
+            merged.isRoot(),
+            "isRoot"
+        );
+        this.checkEquals(
+            TextAlign.RIGHT,
+            merged.textStyle()
+                .getOrFail(TextStylePropertyName.TEXT_ALIGN)
+        );
+    }
+
+    @Test
+    public void testRemoveIfDeep() {
+        final TextStyle style = TextStyle.EMPTY.set(
+            TextStylePropertyName.TEXT_ALIGN,
+            TextAlign.LEFT
+        );
+
+        this.checkEquals(
+            this.deepTree(
+                style,
+                style.set(
+                    TextStylePropertyName.COLOR,
+                    Color.parse("#0f0")
+                )
+            ),
+            this.deepTree(
+                Color.parse("#f00"),
+                Color.parse("#0f0")
+            ).removeIfDeep(
+                TextStylePropertyName.COLOR,
+                Color.parse("#f00")
+            )
+        );
+    }
+
+    @Test
+    public void testRemoveDeep() {
+        final TextStyle style = TextStyle.EMPTY.set(
+            TextStylePropertyName.TEXT_ALIGN,
+            TextAlign.LEFT
+        );
+
+        this.checkEquals(
+            this.deepTree(
+                style,
+                style
+            ),
+            this.deepTree(
+                Color.parse("#f00"),
+                Color.parse("#0f0")
+            ).removeDeep(TextStylePropertyName.COLOR)
+        );
+    }
+
+    @Test
+    public void testMergeDeep() {
+        final TextStyle merge = TextStyle.EMPTY.set(
+            TextStylePropertyName.TEXT_ALIGN,
+            TextAlign.RIGHT
+        );
+        final TextStyle style = merge.set(
+            TextStylePropertyName.COLOR,
+            Color.parse("#f00")
+        );
+
+        this.checkEquals(
+            this.deepTree(
+                style,
+                style
+            ),
+            this.deepTree(
+                Color.parse("#f00"),
+                Color.parse("#f00")
+            ).mergeDeep(merge)
+        );
+    }
+
+    private TextNode deepTree(final Color outer,
+                              final Color inner) {
+        final TextStyle style = TextStyle.EMPTY.set(
+            TextStylePropertyName.TEXT_ALIGN,
+            TextAlign.LEFT
+        );
+
+        return this.deepTree(
+            style.set(
+                TextStylePropertyName.COLOR,
+                outer
+            ),
+            style.set(
+                TextStylePropertyName.COLOR,
+                inner
+            )
+        );
+    }
+
+    private TextNode deepTree(final TextStyle outer,
+                              final TextStyle inner) {
+        return outer.setChildren(
+            Lists.of(
+                TextNode.text("text-1a"),
+                inner.setChildren(
+                    Lists.of(
+                        TextNode.text("text-2b")
+                    )
+                ),
+                TextNode.image(Url.parseAbsolute("https://example.com/image.gif"))
+            )
+        );
+    }
+
     // HasJsonNode .....................................................................................................
 
     @Test
@@ -967,6 +1338,59 @@ public final class TextStyleNodeTest extends TextParentNodeTestCase<TextStyleNod
             "visited");
     }
 
+    // hashCode/equals..................................................................................................
+
+    @Test
+    public void testHashCodeDifferentAttributes() {
+        final TextStyleNode node = this.createTextNode();
+
+        this.checkNotEquals(
+            node.hashCode(),
+            node.setAttributes(
+                Maps.of(
+                    TextStylePropertyName.COLOR,
+                    Color.parse("#123")
+                )
+            ).hashCode()
+        );
+    }
+
+    @Test
+    public void testHashCodeWithParent() {
+        final TextStyleNode node = this.createTextNode();
+        final TextNode child = textStyleNode(
+            node,
+            text3()
+        ).children()
+            .get(0);
+
+        this.checkEquals(
+            node.hashCode(),
+            child.hashCode()
+        );
+        this.checkEquals(
+            node,
+            child
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentDescendant() {
+        this.checkNotEquals(
+            textStyleNode(
+                this.createTextNode(),
+                text3()
+            ),
+            textStyleNode(
+                textStyleNode(
+                    text1(),
+                    different()
+                ),
+                text3()
+            )
+        );
+    }
+
     // toString.........................................................................................................
 
     @Test
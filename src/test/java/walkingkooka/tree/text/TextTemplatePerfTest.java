@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.Url;
+
+import java.util.List;
+
+/**
+ * Compares substituting every placeholder with {@link TextNode#replaceChild(TextNode, TextNode)}, which rebuilds the
+ * root once per placeholder, against {@link TextTemplate#apply(java.util.function.Function)}, which rebuilds each
+ * parent once. Both still copy every node of the tree per iteration, because re-attaching children copies them.
+ */
+public final class TextTemplatePerfTest {
+
+    public static void main(final String[] args) {
+        final TextNode node = template();
+        final TextTemplate template = TextTemplate.with(node);
+
+        final int loop = 123456;
+
+        replaceChildLoop(node, loop);
+        templateLoop(template, loop);
+
+        replaceChildLoop(node, loop);
+        templateLoop(template, loop);
+
+        replaceChildLoop(node, loop);
+        templateLoop(template, loop);
+    }
+
+    // 20 paragraphs each with some text, a placeholder and a hyperlink
+    private static TextNode template() {
+        final List<TextNode> paragraphs = Lists.array();
+
+        for (int i = 0; i < 20; i++) {
+            paragraphs.add(
+                TextNode.style(
+                    Lists.of(
+                        TextNode.text("Paragraph " + i + " "),
+                        TextNode.placeholder(TextPlaceholderName.with("placeholder" + i)),
+                        TextNode.hyperlink(Url.parseAbsolute("https://example.com/" + i))
+                            .setChildren(
+                                Lists.of(
+                                    TextNode.text("link " + i)
+                                )
+                            )
+                    )
+                ).setTextStyle(
+                    TextStyle.EMPTY.set(
+                        TextStylePropertyName.TEXT_ALIGN,
+                        TextAlign.LEFT
+                    )
+                )
+            );
+        }
+
+        return TextNode.style(paragraphs);
+    }
+
+    private static void replaceChildLoop(final TextNode node,
+                                         final int count) {
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < count; i++) {
+            TextNode replaced = node;
+
+            for (int j = 0; j < 20; j++) {
+                final TextNode paragraph = replaced.children()
+                    .get(j);
+                final TextNode placeholder = paragraph.children()
+                    .get(1);
+                replaced = paragraph.replaceChild(
+                    placeholder,
+                    TextNode.text("value" + i)
+                ).root();
+            }
+        }
+
+        final long stop = System.nanoTime();
+
+        System.out.println("replaceChild:\t" + (stop - start));
+    }
+
+    private static void templateLoop(final TextTemplate template,
+                                     final int count) {
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < count; i++) {
+            final String value = "value" + i;
+            template.apply(
+                (n) -> TextNode.text(value)
+            );
+        }
+
+        final long stop = System.nanoTime();
+
+        System.out.println("TextTemplate:\t" + (stop - start));
+    }
+}
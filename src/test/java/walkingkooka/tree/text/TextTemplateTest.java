@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.text;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TextTemplateTest implements ClassTesting<TextTemplate> {
+
+    private final static TextPlaceholderName NAME1 = TextPlaceholderName.with("name1");
+
+    private final static TextPlaceholderName NAME2 = TextPlaceholderName.with("name2");
+
+    private final static Url URL = Url.parseAbsolute("https://example.com");
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextTemplate.with(null)
+        );
+    }
+
+    @Test
+    public void testApplyWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TextTemplate.with(TextNode.EMPTY_TEXT)
+                .apply(null)
+        );
+    }
+
+    @Test
+    public void testApplyMissingValueFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TextTemplate.with(this.template())
+                .apply((n) -> null)
+        );
+        this.checkEquals(
+            "Missing value for placeholder name1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testPlaceholderNames() {
+        this.checkEquals(
+            Sets.of(
+                NAME1,
+                NAME2
+            ),
+            TextTemplate.with(this.template())
+                .placeholderNames()
+        );
+    }
+
+    @Test
+    public void testApplyWithoutPlaceholders() {
+        final TextNode node = TextNode.style(
+            Lists.of(
+                TextNode.text("text-1a"),
+                TextNode.text("text-2b")
+            )
+        );
+
+        assertSame(
+            node,
+            TextTemplate.with(node)
+                .apply((n) -> {
+                    throw new UnsupportedOperationException();
+                })
+        );
+    }
+
+    @Test
+    public void testApplyRootPlaceholder() {
+        final Text text = TextNode.text("value1");
+
+        assertSame(
+            text,
+            TextTemplate.with(TextNode.placeholder(NAME1))
+                .apply((n) -> text)
+        );
+    }
+
+    @Test
+    public void testApply() {
+        this.applyAndCheck(
+            "value1",
+            "value2"
+        );
+    }
+
+    @Test
+    public void testApplyTwice() {
+        final TextTemplate template = TextTemplate.with(this.template());
+        this.applyAndCheck(
+            template,
+            "value1",
+            "value2"
+        );
+        this.applyAndCheck(
+            template,
+            "value3",
+            "value4"
+        );
+    }
+
+    @Test
+    public void testApplyMatchesSetChild() {
+        final TextNode template = this.template();
+        final TextNode root = template.replaceChild(
+            template.children()
+                .get(1),
+            TextNode.text("value1")
+        );
+        final TextNode hyperlink = root.children()
+            .get(2);
+        final TextNode expected = hyperlink.replaceChild(
+            hyperlink.children()
+                .get(1),
+            TextNode.text("value2")
+        ).root();
+
+        this.checkEquals(
+            expected,
+            TextTemplate.with(template)
+                .apply(this.values("value1", "value2"))
+        );
+    }
+
+    private void applyAndCheck(final String value1,
+                               final String value2) {
+        this.applyAndCheck(
+            TextTemplate.with(this.template()),
+            value1,
+            value2
+        );
+    }
+
+    private void applyAndCheck(final TextTemplate template,
+                               final String value1,
+                               final String value2) {
+        this.checkEquals(
+            TextNode.style(
+                Lists.of(
+                    TextNode.text("text-1a"),
+                    TextNode.text(value1),
+                    TextNode.hyperlink(URL)
+                        .setChildren(
+                            Lists.of(
+                                TextNode.text("text-2b"),
+                                TextNode.text(value2)
+                            )
+                        ),
+                    TextNode.image(URL)
+                )
+            ),
+            template.apply(
+                this.values(
+                    value1,
+                    value2
+                )
+            )
+        );
+    }
+
+    private Function<TextPlaceholderName, TextNode> values(final String value1,
+                                                           final String value2) {
+        return (n) -> TextNode.text(
+            n.equals(NAME1) ?
+                value1 :
+                value2
+        );
+    }
+
+    // "text-1a" $name1 Hyperlink("text-2b" $name2) Image
+    private TextNode template() {
+        return TextNode.style(
+            Lists.of(
+                TextNode.text("text-1a"),
+                TextNode.placeholder(NAME1),
+                TextNode.hyperlink(URL)
+                    .setChildren(
+                        Lists.of(
+                            TextNode.text("text-2b"),
+                            TextNode.placeholder(NAME2)
+                        )
+                    ),
+                TextNode.image(URL)
+            )
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TextTemplate> type() {
+        return TextTemplate.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
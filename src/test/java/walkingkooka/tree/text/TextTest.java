@@ -291,7 +291,27 @@ public final class TextTest extends TextLeafNodeTestCase<Text, String> {
 
         this.toHtmlAndCheck(
             Text.with(text),
-            "abc&nbsp;123&lt;&gt;&amp;&amp;quot;'"
+            "abc&nbsp;123&lt;&gt;&amp;&quot;'"
+        );
+    }
+
+    @Test
+    public void testToHtmlNothingEscapedSame() {
+        final String text = "abc123";
+
+        assertSame(
+            text,
+            Text.with(text)
+                .toHtml()
+        );
+    }
+
+    @Test
+    public void testToHtmlWithAppendableMinifiedEscaped() {
+        this.toHtmlAndCheck(
+            Text.with("abc 123<>&\"'"),
+            HtmlOptions.MINIFIED,
+            "abc&nbsp;123&lt;&gt;&amp;&quot;'"
         );
     }
 